@@ -0,0 +1,120 @@
+package com.carlosarroyoam.rest.books.book;
+
+import com.carlosarroyoam.rest.books.book.dto.BookResponse;
+import com.carlosarroyoam.rest.books.book.dto.BookSpecs;
+import com.carlosarroyoam.rest.books.book.entity.Book;
+import com.carlosarroyoam.rest.books.book.entity.BookStatus;
+import com.carlosarroyoam.rest.books.book.entity.Book_;
+import com.carlosarroyoam.rest.books.common.BenchmarkContext;
+import com.carlosarroyoam.rest.books.core.cache.ResponseCache;
+import com.carlosarroyoam.rest.books.core.dto.PagedResponse;
+import com.carlosarroyoam.rest.books.core.specification.SpecificationBuilder;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BookServiceBenchmark {
+  private static final Pageable FIRST_PAGE = PageRequest.of(0, 25);
+
+  @Param({"10000", "100000", "1000000"})
+  private int rows;
+
+  private ConfigurableApplicationContext context;
+  private BookService bookService;
+  private BookRepository bookRepository;
+  private ResponseCache<Long, BookResponse> bookResponseCache;
+  private BookSpecs statusAndPriceSpecs;
+  private BookSpecs titleSpecs;
+  private Long bookId;
+  private String title;
+
+  @Setup(Level.Trial)
+  @SuppressWarnings("unchecked")
+  public void setUp() {
+    context = BenchmarkContext.start(rows);
+    bookService = context.getBean(BookService.class);
+    bookRepository = context.getBean(BookRepository.class);
+    bookResponseCache = context.getBean("bookResponseCache", ResponseCache.class);
+    statusAndPriceSpecs =
+        BookSpecs.builder()
+            .status(BookStatus.ACTIVE)
+            .minPrice(new BigDecimal("10.00"))
+            .maxPrice(new BigDecimal("20.00"))
+            .build();
+    bookId = BenchmarkContext.activeBookId(rows / 2);
+    title = "Book " + bookId;
+    titleSpecs = BookSpecs.builder().title(title).build();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @State(Scope.Thread)
+  public static class EvictedBook {
+    @Setup(Level.Invocation)
+    public void evict(BookServiceBenchmark benchmark) {
+      benchmark.bookResponseCache.evict(benchmark.bookId);
+    }
+  }
+
+  @Benchmark
+  public PagedResponse<BookResponse> findAll() {
+    return bookService.findAll(BookSpecs.builder().build(), FIRST_PAGE);
+  }
+
+  @Benchmark
+  public PagedResponse<BookResponse> findAllByStatusAndPrice() {
+    return bookService.findAll(statusAndPriceSpecs, FIRST_PAGE);
+  }
+
+  @Benchmark
+  public PagedResponse<BookResponse> findAllByTitleWithSearchIndex() {
+    return bookService.findAll(titleSpecs, FIRST_PAGE);
+  }
+
+  @Benchmark
+  public List<Book> findAllByTitleWithLike() {
+    Page<Book> books =
+        bookRepository.findAll(
+            SpecificationBuilder.<Book>builder()
+                .likeIfPresent(root -> root.get(Book_.titleLower), title)
+                .build(),
+            FIRST_PAGE);
+    return books.getContent();
+  }
+
+  @Benchmark
+  public BookResponse findByIdCacheMiss(EvictedBook evictedBook) {
+    return bookService.findById(bookId);
+  }
+
+  @Benchmark
+  public BookResponse findByIdCacheHit() {
+    return bookService.findById(bookId);
+  }
+}
@@ -0,0 +1,62 @@
+package com.carlosarroyoam.rest.books.cart;
+
+import com.carlosarroyoam.rest.books.cart.dto.CartResponse;
+import com.carlosarroyoam.rest.books.cart.dto.UpdateCartItemRequest;
+import com.carlosarroyoam.rest.books.common.BenchmarkContext;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CartServiceBenchmark {
+  @Param({"10000", "100000", "1000000"})
+  private int rows;
+
+  private ConfigurableApplicationContext context;
+  private CartService cartService;
+  private int quantity;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = BenchmarkContext.start(rows);
+    cartService = context.getBean(CartService.class);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public CartResponse findByCustomerId() {
+    return cartService.findByCustomerId(BenchmarkContext.FIRST_ID);
+  }
+
+  @Benchmark
+  public void updateCartItem() {
+    quantity = quantity % 9 + 1;
+    cartService.updateCartItem(
+        BenchmarkContext.FIRST_ID,
+        UpdateCartItemRequest.builder()
+            .bookId(BenchmarkContext.FIRST_ID + BenchmarkContext.CART_ITEMS / 2)
+            .quantity(quantity)
+            .build());
+  }
+}
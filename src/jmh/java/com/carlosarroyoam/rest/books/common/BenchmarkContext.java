@@ -0,0 +1,131 @@
+package com.carlosarroyoam.rest.books.common;
+
+import com.carlosarroyoam.rest.books.BookServiceApplication;
+import com.carlosarroyoam.rest.books.book.BookIsbnFilter;
+import com.carlosarroyoam.rest.books.book.BookSearchIndex;
+import com.carlosarroyoam.rest.books.customer.CustomerIdentityFilter;
+import java.util.List;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public final class BenchmarkContext {
+  public static final long FIRST_ID = 1_001L;
+  public static final int CART_ITEMS = 250;
+
+  private static final List<String> SEQUENCES =
+      List.of("authors", "books", "customers", "carts", "cart_items", "orders", "order_items");
+
+  private BenchmarkContext() {}
+
+  public static ConfigurableApplicationContext start(int rows) {
+    ConfigurableApplicationContext context =
+        new SpringApplicationBuilder(BookServiceApplication.class)
+            .profiles("test")
+            .run(
+                "--spring.datasource.url=jdbc:h2:mem:benchmark-"
+                    + rows
+                    + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "--server.port=0",
+                "--spring.jpa.properties.hibernate.generate_statistics=false",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN");
+
+    generate(context.getBean(JdbcTemplate.class), rows);
+    context.getBean(BookSearchIndex.class).rebuild();
+    context.getBean(BookIsbnFilter.class).rebuild();
+    context.getBean(CustomerIdentityFilter.class).rebuild();
+    return context;
+  }
+
+  public static int authors(int rows) {
+    return Math.max(rows / 10, 1);
+  }
+
+  public static int customers(int rows) {
+    return Math.max(rows / 10, 1);
+  }
+
+  public static long activeBookId(long offset) {
+    long bookId = FIRST_ID + offset;
+    return bookId % 10 == 0 ? bookId + 1 : bookId;
+  }
+
+  private static void generate(JdbcTemplate jdbcTemplate, int rows) {
+    long lastBookId = FIRST_ID + rows - 1;
+    long lastAuthorId = FIRST_ID + authors(rows) - 1;
+    long lastCustomerId = FIRST_ID + customers(rows) - 1;
+
+    jdbcTemplate.update(
+        "INSERT INTO authors(id, name, status, created_at, updated_at) "
+            + "SELECT X, 'Author ' || X, 'ACTIVE', TIMESTAMP '2025-01-01 00:00:00', "
+            + "TIMESTAMP '2025-01-01 00:00:00' FROM SYSTEM_RANGE(?, ?)",
+        FIRST_ID,
+        lastAuthorId);
+    jdbcTemplate.update(
+        "INSERT INTO books(id, isbn, title, cover_url, price, is_available_online, published_at,"
+            + " status, created_at, updated_at) "
+            + "SELECT X, 'BM-' || LPAD(X, 12, '0'), 'Benchmark Book ' || X,"
+            + " 'https://covers.test/' || X || '.jpg', 5 + MOD(X, 9500) / 100.0, MOD(X, 2) = 0,"
+            + " DATE '2020-01-01', CASE WHEN MOD(X, 10) = 0 THEN 'INACTIVE' ELSE 'ACTIVE' END,"
+            + " TIMESTAMP '2025-01-01 00:00:00', TIMESTAMP '2025-01-01 00:00:00' "
+            + "FROM SYSTEM_RANGE(?, ?)",
+        FIRST_ID,
+        lastBookId);
+    jdbcTemplate.update(
+        "INSERT INTO book_authors(book_id, author_id) "
+            + "SELECT X, ? + MOD(X, ?) FROM SYSTEM_RANGE(?, ?)",
+        FIRST_ID,
+        authors(rows),
+        FIRST_ID,
+        lastBookId);
+    jdbcTemplate.update(
+        "INSERT INTO customers(id, first_name, last_name, email, username, status, created_at,"
+            + " updated_at) "
+            + "SELECT X, 'First ' || X, 'Last ' || X, 'customer' || X || '@bench.test',"
+            + " 'customer' || X, 'ACTIVE', TIMESTAMP '2025-01-01 00:00:00',"
+            + " TIMESTAMP '2025-01-01 00:00:00' FROM SYSTEM_RANGE(?, ?)",
+        FIRST_ID,
+        lastCustomerId);
+    jdbcTemplate.update(
+        "INSERT INTO carts(id, customer_id, created_at, updated_at) "
+            + "VALUES (?, ?, TIMESTAMP '2025-01-01 00:00:00', TIMESTAMP '2025-01-01 00:00:00')",
+        FIRST_ID,
+        FIRST_ID);
+    jdbcTemplate.update(
+        "INSERT INTO cart_items(id, book_id, cart_id, quantity, added_at) "
+            + "SELECT X, X, ?, 1, TIMESTAMP '2025-01-01 00:00:00' FROM SYSTEM_RANGE(?, ?)",
+        FIRST_ID,
+        FIRST_ID,
+        FIRST_ID + Math.min(CART_ITEMS, rows) - 1);
+    jdbcTemplate.update(
+        "INSERT INTO orders(id, order_number, status, customer_id, subtotal, tax_amount,"
+            + " shipping_amount, total, shipping_address, billing_address, created_at, updated_at) "
+            + "SELECT X, 'BM-' || X,"
+            + " CASE MOD(X, 4) WHEN 0 THEN 'PENDING' WHEN 1 THEN 'CONFIRMED'"
+            + " WHEN 2 THEN 'SHIPPED' ELSE 'DELIVERED' END,"
+            + " ? + MOD(X, ?), 20.00, 3.20, 0.00, 23.20, X || ' Benchmark Street',"
+            + " X || ' Benchmark Street', DATEADD(SECOND, X, TIMESTAMP '2025-01-01 00:00:00'),"
+            + " DATEADD(SECOND, X, TIMESTAMP '2025-01-01 00:00:00') FROM SYSTEM_RANGE(?, ?)",
+        FIRST_ID,
+        customers(rows),
+        FIRST_ID,
+        lastBookId);
+    jdbcTemplate.update(
+        "INSERT INTO order_items(id, quantity, unit_price, total_price, order_id, book_id,"
+            + " created_at, updated_at) "
+            + "SELECT X, 1, 20.00, 20.00, X, X, TIMESTAMP '2025-01-01 00:00:00',"
+            + " TIMESTAMP '2025-01-01 00:00:00' FROM SYSTEM_RANGE(?, ?)",
+        FIRST_ID,
+        lastBookId);
+
+    for (String table : SEQUENCES) {
+      jdbcTemplate.execute(
+          "ALTER SEQUENCE "
+              + table
+              + "_seq RESTART WITH (SELECT MAX(id) + 1 FROM "
+              + table
+              + ")");
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package com.carlosarroyoam.rest.books.common;
+
+import com.carlosarroyoam.rest.books.core.filter.RequestLoggingFilter;
+import com.carlosarroyoam.rest.books.core.property.RequestMetricsProps;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestLoggingFilterBenchmark {
+  private RequestLoggingFilter requestLoggingFilter;
+  private MockHttpServletRequest request;
+  private MockHttpServletResponse response;
+  private FilterChain filterChain;
+
+  @Setup(Level.Trial)
+  public void setUp(Blackhole blackhole) {
+    RequestMetricsProps requestMetricsProps = new RequestMetricsProps();
+    requestMetricsProps.setSlo(
+        List.of(
+            Duration.ofMillis(50),
+            Duration.ofMillis(100),
+            Duration.ofMillis(250),
+            Duration.ofMillis(500),
+            Duration.ofSeconds(1)));
+    requestMetricsProps.setAccessLogSampleRate(0.0);
+    requestMetricsProps.setSlowRequestThreshold(Duration.ofSeconds(1));
+    requestLoggingFilter =
+        new RequestLoggingFilter(new SimpleMeterRegistry(), requestMetricsProps);
+
+    request = new MockHttpServletRequest("GET", "/books/1");
+    request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/books/{bookId}");
+    response = new MockHttpServletResponse();
+    filterChain = (servletRequest, servletResponse) -> blackhole.consume(servletRequest);
+  }
+
+  @Benchmark
+  public void withoutFilter() throws IOException, ServletException {
+    filterChain.doFilter(request, response);
+  }
+
+  @Benchmark
+  public void withFilter() throws IOException, ServletException {
+    requestLoggingFilter.doFilter(request, response, filterChain);
+  }
+}
@@ -0,0 +1,135 @@
+package com.carlosarroyoam.rest.books.common;
+
+import com.carlosarroyoam.rest.books.author.entity.Author;
+import com.carlosarroyoam.rest.books.author.entity.AuthorStatus;
+import com.carlosarroyoam.rest.books.book.dto.BookResponse;
+import com.carlosarroyoam.rest.books.book.dto.BookResponse.BookResponseMapper;
+import com.carlosarroyoam.rest.books.book.entity.Book;
+import com.carlosarroyoam.rest.books.book.entity.BookStatus;
+import com.carlosarroyoam.rest.books.customer.entity.Customer;
+import com.carlosarroyoam.rest.books.customer.entity.CustomerStatus;
+import com.carlosarroyoam.rest.books.order.dto.OrderResponse;
+import com.carlosarroyoam.rest.books.order.dto.OrderResponse.OrderResponseMapper;
+import com.carlosarroyoam.rest.books.order.entity.Order;
+import com.carlosarroyoam.rest.books.order.entity.OrderItem;
+import com.carlosarroyoam.rest.books.order.entity.OrderStatus;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseMapperBenchmark {
+  private static final int PAGE_SIZE = 25;
+  private static final int ORDER_ITEMS = 10;
+
+  private Book book;
+  private List<Book> books;
+  private Order order;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    LocalDateTime now = LocalDateTime.of(2025, 1, 1, 0, 0);
+    Author author =
+        Author.builder()
+            .id(1L)
+            .name("Yuval Noah Harari")
+            .status(AuthorStatus.ACTIVE)
+            .createdAt(now)
+            .updatedAt(now)
+            .build();
+    books = IntStream.range(0, PAGE_SIZE).mapToObj(i -> book(i, author, now)).toList();
+    book = books.get(0);
+
+    Customer customer =
+        Customer.builder()
+            .id(1L)
+            .firstName("Carlos Alberto")
+            .lastName("Arroyo Martínez")
+            .email("carroyom@mail.com")
+            .username("carroyom")
+            .status(CustomerStatus.ACTIVE)
+            .createdAt(now)
+            .updatedAt(now)
+            .build();
+    order =
+        Order.builder()
+            .id(1L)
+            .orderNumber("ORD-20250001")
+            .shippingAddress("123 Main Street, Springfield")
+            .billingAddress("123 Main Street, Springfield")
+            .subtotal(new BigDecimal("229.90"))
+            .taxAmount(new BigDecimal("36.78"))
+            .shippingAmount(BigDecimal.ZERO)
+            .total(new BigDecimal("266.68"))
+            .status(OrderStatus.PENDING)
+            .customer(customer)
+            .createdAt(now)
+            .updatedAt(now)
+            .build();
+    order.setItems(
+        books.subList(0, ORDER_ITEMS).stream()
+            .map(
+                item ->
+                    OrderItem.builder()
+                        .id(item.getId())
+                        .quantity(1)
+                        .unitPrice(item.getPrice())
+                        .totalPrice(item.getPrice())
+                        .book(item)
+                        .order(order)
+                        .createdAt(now)
+                        .updatedAt(now)
+                        .build())
+            .toList());
+  }
+
+  @Benchmark
+  public BookResponse bookToDto() {
+    return BookResponseMapper.INSTANCE.toDto(book);
+  }
+
+  @Benchmark
+  public List<BookResponse> bookPageToDtos() {
+    return BookResponseMapper.INSTANCE.toDtos(books);
+  }
+
+  @Benchmark
+  public OrderResponse orderToDto() {
+    return OrderResponseMapper.INSTANCE.toDto(order);
+  }
+
+  private static Book book(int index, Author author, LocalDateTime now) {
+    return Book.builder()
+        .id((long) index + 1)
+        .isbn(String.format("978-0-0001-%04d-0", index))
+        .title("Book " + index)
+        .coverUrl("https://covers.test/" + index + ".jpg")
+        .price(new BigDecimal("22.99"))
+        .isAvailableOnline(true)
+        .status(BookStatus.ACTIVE)
+        .authors(List.of(author))
+        .publishedAt(LocalDate.of(2020, 1, 1))
+        .createdAt(now)
+        .updatedAt(now)
+        .build();
+  }
+}
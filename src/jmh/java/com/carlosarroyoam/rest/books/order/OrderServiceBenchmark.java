@@ -0,0 +1,106 @@
+package com.carlosarroyoam.rest.books.order;
+
+import com.carlosarroyoam.rest.books.common.BenchmarkContext;
+import com.carlosarroyoam.rest.books.core.dto.PagedResponse;
+import com.carlosarroyoam.rest.books.order.dto.CreateOrderItemRequest;
+import com.carlosarroyoam.rest.books.order.dto.CreateOrderRequest;
+import com.carlosarroyoam.rest.books.order.dto.OrderResponse;
+import com.carlosarroyoam.rest.books.order.dto.OrderSpecs;
+import com.carlosarroyoam.rest.books.order.entity.OrderStatus;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class OrderServiceBenchmark {
+  private static final Pageable FIRST_PAGE = PageRequest.of(0, 25);
+
+  @Param({"10000", "100000", "1000000"})
+  private int rows;
+
+  private ConfigurableApplicationContext context;
+  private OrderService orderService;
+  private OrderSpecs statusSpecs;
+  private OrderSpecs customerSpecs;
+  private Long orderId;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = BenchmarkContext.start(rows);
+    orderService = context.getBean(OrderService.class);
+    statusSpecs = OrderSpecs.builder().status(OrderStatus.PENDING).build();
+    customerSpecs = OrderSpecs.builder().customerId(BenchmarkContext.FIRST_ID).build();
+    orderId = BenchmarkContext.FIRST_ID + rows / 2;
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public OrderResponse create(CreateOrderState state) {
+    return orderService.create(state.request);
+  }
+
+  @Benchmark
+  public PagedResponse<OrderResponse> findAllByStatus() {
+    return orderService.findAll(statusSpecs, FIRST_PAGE);
+  }
+
+  @Benchmark
+  public PagedResponse<OrderResponse> findAllByCustomer() {
+    return orderService.findAll(customerSpecs, FIRST_PAGE);
+  }
+
+  @Benchmark
+  public OrderResponse findById() {
+    return orderService.findById(orderId);
+  }
+
+  @State(Scope.Benchmark)
+  public static class CreateOrderState {
+    @Param({"1", "10", "100"})
+    private int items;
+
+    private CreateOrderRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      List<CreateOrderItemRequest> orderItems =
+          LongStream.range(0, items)
+              .map(offset -> BenchmarkContext.activeBookId(offset * 2))
+              .mapToObj(
+                  bookId -> CreateOrderItemRequest.builder().bookId(bookId).quantity(1).build())
+              .toList();
+      request =
+          CreateOrderRequest.builder()
+              .customerId(BenchmarkContext.FIRST_ID)
+              .shippingAddress("1001 Benchmark Street")
+              .billingAddress("1001 Benchmark Street")
+              .items(orderItems)
+              .build();
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package com.carlosarroyoam.rest.books.loadtest;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+public class EndpointStats {
+  private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+  private static final int SIGNIFICANT_DIGITS = 3;
+
+  private final String endpoint;
+  private final Recorder latencies = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+  private final LongAdder errors = new LongAdder();
+
+  public EndpointStats(String endpoint) {
+    this.endpoint = endpoint;
+  }
+
+  public void record(long latencyNanos, boolean success) {
+    latencies.recordValue(
+        Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS));
+    if (!success) {
+      errors.increment();
+    }
+  }
+
+  public void reset() {
+    latencies.reset();
+    errors.reset();
+  }
+
+  public Summary summarize(Duration elapsed) {
+    Histogram histogram = latencies.getIntervalHistogram();
+    long requests = histogram.getTotalCount();
+    return new Summary(
+        endpoint,
+        requests,
+        errors.sum(),
+        requests / (elapsed.toMillis() / 1_000.0),
+        micros(histogram.getValueAtPercentile(50)),
+        micros(histogram.getValueAtPercentile(99)),
+        micros(histogram.getValueAtPercentile(99.9)),
+        micros(histogram.getMaxValue()),
+        histogram);
+  }
+
+  private static Duration micros(long value) {
+    return Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(value));
+  }
+
+  public record Summary(
+      String endpoint,
+      long requests,
+      long errors,
+      double throughput,
+      Duration p50,
+      Duration p99,
+      Duration p999,
+      Duration max,
+      Histogram histogram) {
+    public double errorRate() {
+      return requests == 0 ? 0 : (double) errors / requests;
+    }
+  }
+}
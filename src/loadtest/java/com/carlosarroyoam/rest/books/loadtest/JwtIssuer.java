@@ -0,0 +1,125 @@
+package com.carlosarroyoam.rest.books.loadtest;
+
+import com.carlosarroyoam.rest.books.core.constant.CustomClaimNames;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateCrtKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import org.springframework.security.converter.RsaKeyConverters;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+public class JwtIssuer {
+  static final String PRIVATE_KEY_FILE = "jwt-private-key.pem";
+  static final String PUBLIC_KEY_FILE = "jwt-public-key.pem";
+  private static final Duration TOKEN_TTL = Duration.ofDays(1);
+  private static final String ADMIN_ROLE = "App/Admin";
+  private static final String CUSTOMER_ROLE = "App/Customer";
+
+  private final JwtEncoder jwtEncoder;
+  private final String issuer;
+  private final Path publicKeyFile;
+
+  private JwtIssuer(KeyPair keyPair, String issuer, Path publicKeyFile) {
+    RSAKey rsaKey =
+        new RSAKey.Builder((RSAPublicKey) keyPair.getPublic())
+            .privateKey((RSAPrivateKey) keyPair.getPrivate())
+            .build();
+    this.jwtEncoder = new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(rsaKey)));
+    this.issuer = issuer;
+    this.publicKeyFile = publicKeyFile;
+  }
+
+  public static JwtIssuer loadOrCreate(Path directory, String issuer)
+      throws IOException, GeneralSecurityException {
+    Path privateKeyFile = directory.resolve(PRIVATE_KEY_FILE);
+    Path publicKeyFile = directory.resolve(PUBLIC_KEY_FILE);
+
+    KeyPair keyPair;
+    if (Files.exists(privateKeyFile)) {
+      keyPair = readKeyPair(privateKeyFile);
+    } else {
+      KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+      generator.initialize(2048);
+      keyPair = generator.generateKeyPair();
+      Files.createDirectories(directory);
+      Files.writeString(privateKeyFile, pem("PRIVATE KEY", keyPair.getPrivate().getEncoded()));
+    }
+
+    Files.writeString(publicKeyFile, pem("PUBLIC KEY", keyPair.getPublic().getEncoded()));
+    return new JwtIssuer(keyPair, issuer, publicKeyFile);
+  }
+
+  public Path publicKeyFile() {
+    return publicKeyFile;
+  }
+
+  public String adminToken() {
+    return token("loadtest-admin", ADMIN_ROLE, Map.of());
+  }
+
+  public String customerToken(String username, Long customerId) {
+    return token(username, CUSTOMER_ROLE, Map.of(CustomClaimNames.CUSTOMER_ID, customerId));
+  }
+
+  private String token(String username, String role, Map<String, Object> claims) {
+    Instant now = Instant.now();
+    JwtClaimsSet claimsSet =
+        JwtClaimsSet.builder()
+            .issuer(issuer)
+            .subject(username)
+            .issuedAt(now)
+            .expiresAt(now.plus(TOKEN_TTL))
+            .claim("preferred_username", username)
+            .claim("realm_access", Map.of("roles", List.of(role)))
+            .claims(existingClaims -> existingClaims.putAll(claims))
+            .build();
+    return jwtEncoder
+        .encode(
+            JwtEncoderParameters.from(JwsHeader.with(SignatureAlgorithm.RS256).build(), claimsSet))
+        .getTokenValue();
+  }
+
+  private static KeyPair readKeyPair(Path privateKeyFile)
+      throws IOException, GeneralSecurityException {
+    RSAPrivateCrtKey privateKey;
+    try (InputStream inputStream = Files.newInputStream(privateKeyFile)) {
+      privateKey = (RSAPrivateCrtKey) RsaKeyConverters.pkcs8().convert(inputStream);
+    }
+
+    RSAPublicKey publicKey =
+        (RSAPublicKey)
+            KeyFactory.getInstance("RSA")
+                .generatePublic(
+                    new RSAPublicKeySpec(privateKey.getModulus(), privateKey.getPublicExponent()));
+    return new KeyPair(publicKey, privateKey);
+  }
+
+  private static String pem(String type, byte[] encoded) {
+    String body =
+        Base64.getMimeEncoder(64, "\n".getBytes(StandardCharsets.US_ASCII))
+            .encodeToString(encoded);
+    return "-----BEGIN " + type + "-----\n" + body + "\n-----END " + type + "-----\n";
+  }
+}
@@ -0,0 +1,421 @@
+package com.carlosarroyoam.rest.books.loadtest;
+
+import com.carlosarroyoam.rest.books.BookServiceApplication;
+import com.carlosarroyoam.rest.books.book.BookIsbnFilter;
+import com.carlosarroyoam.rest.books.book.BookSearchIndex;
+import com.carlosarroyoam.rest.books.customer.CustomerIdentityFilter;
+import com.carlosarroyoam.rest.books.loadtest.EndpointStats.Summary;
+import com.carlosarroyoam.rest.books.loadtest.TrafficMix.Scenario;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public class LoadTest {
+  private static final String DEFAULT_ISSUER = "http://localhost:8080/realms/spring-rest-books";
+  private static final long FIRST_SEEDED_ID = 10_001L;
+  private static final int PAGE_SIZE = 25;
+  private static final int BROWSED_PAGES = 4;
+  private static final String CHECKOUT_BODY =
+      "{\"shipping_address\":\"123 Load Test Street\",\"billing_address\":\"123 Load Test"
+          + " Street\"}";
+
+  private final LoadTestConfig config;
+  private final JwtIssuer jwtIssuer;
+  private final HttpClient httpClient;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final Map<Scenario, EndpointStats> stats = new EnumMap<>(Scenario.class);
+  private final Map<Long, String> customerTokens = new LinkedHashMap<>();
+  private final List<Long> bookIds = new ArrayList<>();
+  private List<Long> customerIds;
+  private String baseUrl;
+  private String adminToken;
+
+  LoadTest(LoadTestConfig config, JwtIssuer jwtIssuer) {
+    this.config = config;
+    this.jwtIssuer = jwtIssuer;
+    this.httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    for (Scenario scenario : Scenario.values()) {
+      stats.put(scenario, new EndpointStats(scenario.endpoint()));
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+    String issuer = System.getProperty("loadtest.issuer", DEFAULT_ISSUER);
+    JwtIssuer jwtIssuer = JwtIssuer.loadOrCreate(config.outputDirectory(), issuer);
+    LoadTest loadTest = new LoadTest(config, jwtIssuer);
+
+    ConfigurableApplicationContext context = null;
+    if (config.embedded()) {
+      context = loadTest.startEmbedded();
+    } else {
+      loadTest.useExternal(config.baseUrl());
+    }
+
+    boolean sustainable;
+    try {
+      sustainable = loadTest.run();
+    } finally {
+      if (context != null) {
+        context.close();
+      }
+    }
+
+    if (!sustainable && config.failOnSlo()) {
+      System.exit(1);
+    }
+    System.exit(0);
+  }
+
+  private ConfigurableApplicationContext startEmbedded() {
+    ConfigurableApplicationContext context =
+        new SpringApplicationBuilder(BookServiceApplication.class)
+            .profiles(profiles())
+            .run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT"
+                    + "=FALSE",
+                "--spring.jpa.properties.hibernate.generate_statistics=false",
+                "--spring.security.oauth2.resourceserver.jwt.issuer-uri=",
+                "--spring.security.oauth2.resourceserver.jwt.public-key-location="
+                    + jwtIssuer.publicKeyFile().toUri(),
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN");
+
+    seed(context.getBean(JdbcTemplate.class));
+    context.getBean(BookSearchIndex.class).rebuild();
+    context.getBean(BookIsbnFilter.class).rebuild();
+    context.getBean(CustomerIdentityFilter.class).rebuild();
+
+    baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    for (long customerId = FIRST_SEEDED_ID;
+        customerId < FIRST_SEEDED_ID + config.customers();
+        customerId++) {
+      customerTokens.put(customerId, jwtIssuer.customerToken("loadtest" + customerId, customerId));
+    }
+    return context;
+  }
+
+  private String[] profiles() {
+    List<String> profiles = new ArrayList<>();
+    profiles.add("test");
+    profiles.addAll(config.profiles());
+    return profiles.toArray(String[]::new);
+  }
+
+  private void useExternal(String externalBaseUrl) {
+    baseUrl = externalBaseUrl;
+    Arrays.stream(config.customerIds().split(","))
+        .map(String::trim)
+        .map(Long::valueOf)
+        .forEach(
+            customerId ->
+                customerTokens.put(
+                    customerId, jwtIssuer.customerToken("loadtest" + customerId, customerId)));
+    System.out.printf(
+        "Target must accept tokens signed by %s (spring.security.oauth2.resourceserver.jwt"
+            + ".public-key-location)%n",
+        jwtIssuer.publicKeyFile().toAbsolutePath());
+  }
+
+  private void seed(JdbcTemplate jdbcTemplate) {
+    long lastCustomerId = FIRST_SEEDED_ID + config.customers() - 1;
+    jdbcTemplate.update(
+        "INSERT INTO customers(id, first_name, last_name, email, username, status, created_at,"
+            + " updated_at) "
+            + "SELECT X, 'Load', 'Test', 'loadtest' || X || '@loadtest.test', 'loadtest' || X,"
+            + " 'ACTIVE', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP FROM SYSTEM_RANGE(?, ?)",
+        FIRST_SEEDED_ID,
+        lastCustomerId);
+    jdbcTemplate.update(
+        "INSERT INTO carts(id, customer_id, created_at, updated_at) "
+            + "SELECT X, X, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP FROM SYSTEM_RANGE(?, ?)",
+        FIRST_SEEDED_ID,
+        lastCustomerId);
+    jdbcTemplate.update(
+        "INSERT INTO books(id, isbn, title, cover_url, price, is_available_online, published_at,"
+            + " status, created_at, updated_at) "
+            + "SELECT X, 'LT-' || LPAD(X, 12, '0'), 'Load Test Book ' || X,"
+            + " 'https://covers.test/' || X || '.jpg', 5 + MOD(X, 5000) / 100.0, TRUE,"
+            + " DATE '2020-01-01', 'ACTIVE', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP "
+            + "FROM SYSTEM_RANGE(?, ?)",
+        FIRST_SEEDED_ID,
+        FIRST_SEEDED_ID + config.books() - 1);
+    jdbcTemplate.update(
+        "INSERT INTO book_authors(book_id, author_id) "
+            + "SELECT X, 1 + MOD(X, 2) FROM SYSTEM_RANGE(?, ?)",
+        FIRST_SEEDED_ID,
+        FIRST_SEEDED_ID + config.books() - 1);
+
+    for (String table : List.of("customers", "carts", "books")) {
+      jdbcTemplate.execute(
+          "ALTER SEQUENCE " + table + "_seq RESTART WITH (SELECT MAX(id) + 1 FROM " + table + ")");
+    }
+  }
+
+  boolean run() throws Exception {
+    adminToken = jwtIssuer.adminToken();
+    customerIds = List.copyOf(customerTokens.keySet());
+    discoverBooks();
+    TrafficMix trafficMix = TrafficMix.parse(config.mix());
+
+    List<Map<String, Object>> steps = new ArrayList<>();
+    Integer maxSustainableConcurrency = null;
+    for (int concurrency : config.concurrency()) {
+      List<String> violations = runStep(trafficMix, concurrency, steps);
+      if (!violations.isEmpty()) {
+        break;
+      }
+      maxSustainableConcurrency = concurrency;
+    }
+
+    writeSummary(steps, maxSustainableConcurrency);
+    return maxSustainableConcurrency != null;
+  }
+
+  private List<String> runStep(
+      TrafficMix trafficMix, int concurrency, List<Map<String, Object>> steps) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+    long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / config.userRate());
+    long start = System.nanoTime();
+    long warmupEnd = start + config.warmup().toNanos();
+    long end = warmupEnd + config.duration().toNanos();
+    for (int i = 0; i < concurrency; i++) {
+      long firstSend = start + intervalNanos * i / concurrency;
+      executor.submit(
+          () -> {
+            for (long intendedStart = firstSend;
+                intendedStart < end;
+                intendedStart += intervalNanos) {
+              TimeUnit.NANOSECONDS.sleep(Math.max(intendedStart - System.nanoTime(), 0));
+              execute(trafficMix.next(), intendedStart);
+            }
+            return null;
+          });
+    }
+
+    TimeUnit.NANOSECONDS.sleep(Math.max(warmupEnd - System.nanoTime(), 0));
+    stats.values().forEach(EndpointStats::reset);
+    long measurementStart = System.nanoTime();
+
+    executor.shutdown();
+    executor.awaitTermination(config.duration().toSeconds() + 60, TimeUnit.SECONDS);
+    Duration elapsed = Duration.ofNanos(System.nanoTime() - measurementStart);
+
+    List<Summary> summaries = new ArrayList<>();
+    for (EndpointStats endpointStats : stats.values()) {
+      Summary summary = endpointStats.summarize(elapsed);
+      if (summary.requests() > 0) {
+        summaries.add(summary);
+      }
+    }
+
+    List<String> violations = SloGate.load(config.sloFile()).check(summaries);
+    steps.add(report(concurrency, summaries, violations, elapsed));
+    return violations;
+  }
+
+  private void discoverBooks() throws IOException, InterruptedException {
+    for (int page = 0; page < BROWSED_PAGES && bookIds.size() < config.books(); page++) {
+      HttpResponse<String> response =
+          httpClient.send(
+              get("/books?size=100&page=" + page, null).build(),
+              HttpResponse.BodyHandlers.ofString());
+      JsonNode items = objectMapper.readTree(response.body()).path("items");
+      if (items.isEmpty()) {
+        break;
+      }
+      items.forEach(item -> bookIds.add(item.path("id").asLong()));
+    }
+
+    if (bookIds.isEmpty()) {
+      throw new IllegalStateException("No books found at " + baseUrl + "/books");
+    }
+  }
+
+  private void execute(Scenario scenario, long intendedStart) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    String customerToken = customerTokens.get(customerIds.get(random.nextInt(customerIds.size())));
+
+    switch (scenario) {
+      case BROWSE_BOOKS ->
+          send(
+              scenario,
+              get("/books?size=" + PAGE_SIZE + "&page=" + random.nextInt(BROWSED_PAGES), null),
+              intendedStart);
+      case VIEW_BOOK -> send(scenario, get("/books/" + randomBookId(), null), intendedStart);
+      case BROWSE_AUTHORS ->
+          send(scenario, get("/authors?size=" + PAGE_SIZE, null), intendedStart);
+      case EDIT_CART -> send(scenario, updateCartItem(customerToken), intendedStart);
+      case CHECKOUT -> {
+        send(Scenario.EDIT_CART, updateCartItem(customerToken), intendedStart);
+        send(
+            scenario,
+            request("/carts/checkout", customerToken)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofString(CHECKOUT_BODY)),
+            System.nanoTime());
+      }
+      case LIST_ORDERS ->
+          send(scenario, get("/orders?size=" + PAGE_SIZE, adminToken), intendedStart);
+      case LIST_PAYMENTS ->
+          send(scenario, get("/payments?size=" + PAGE_SIZE, adminToken), intendedStart);
+    }
+  }
+
+  private HttpRequest.Builder updateCartItem(String customerToken) {
+    String body =
+        String.format(
+            "{\"book_id\":%d,\"quantity\":%d}",
+            randomBookId(), ThreadLocalRandom.current().nextInt(1, 4));
+    return request("/carts/items", customerToken)
+        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+        .PUT(HttpRequest.BodyPublishers.ofString(body));
+  }
+
+  private long randomBookId() {
+    return bookIds.get(ThreadLocalRandom.current().nextInt(bookIds.size()));
+  }
+
+  private HttpRequest.Builder get(String path, String token) {
+    return request(path, token).GET();
+  }
+
+  private HttpRequest.Builder request(String path, String token) {
+    HttpRequest.Builder builder =
+        HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30));
+    if (token != null) {
+      builder.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+    }
+    return builder;
+  }
+
+  private void send(Scenario scenario, HttpRequest.Builder request, long intendedStart) {
+    boolean success;
+    try {
+      HttpResponse<Void> response =
+          httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding());
+      success = response.statusCode() < 400;
+    } catch (IOException ex) {
+      success = false;
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return;
+    }
+    stats.get(scenario).record(System.nanoTime() - intendedStart, success);
+  }
+
+  private Map<String, Object> report(
+      int concurrency, List<Summary> summaries, List<String> violations, Duration elapsed)
+      throws IOException {
+    PrintStream out = System.out;
+    out.printf(
+        "%nLoad test against %s: %d users at %.1f req/s offered, %ds measured after %ds warmup%n",
+        baseUrl,
+        concurrency,
+        offeredRate(concurrency),
+        elapsed.toSeconds(),
+        config.warmup().toSeconds());
+    out.printf(
+        "%-20s %9s %7s %9s %9s %9s %9s %9s%n",
+        "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+    for (Summary summary : summaries) {
+      out.printf(
+          "%-20s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+          summary.endpoint(),
+          summary.requests(),
+          summary.errors(),
+          summary.throughput(),
+          millis(summary.p50()),
+          millis(summary.p99()),
+          millis(summary.p999()),
+          millis(summary.max()));
+    }
+
+    Path stepDirectory = config.outputDirectory().resolve("concurrency-" + concurrency);
+    Files.createDirectories(stepDirectory);
+    List<Map<String, Object>> results = new ArrayList<>();
+    for (Summary summary : summaries) {
+      Path histogramFile = stepDirectory.resolve(summary.endpoint() + ".hgrm");
+      try (PrintStream histogramOut = new PrintStream(Files.newOutputStream(histogramFile))) {
+        summary.histogram().outputPercentileDistribution(histogramOut, 1_000.0);
+      }
+
+      Map<String, Object> result = new LinkedHashMap<>();
+      result.put("endpoint", summary.endpoint());
+      result.put("requests", summary.requests());
+      result.put("errors", summary.errors());
+      result.put("throughput", summary.throughput());
+      result.put("p50_ms", millis(summary.p50()));
+      result.put("p99_ms", millis(summary.p99()));
+      result.put("p999_ms", millis(summary.p999()));
+      result.put("max_ms", millis(summary.max()));
+      results.add(result);
+    }
+
+    if (violations.isEmpty()) {
+      out.println("All service level objectives met");
+    } else {
+      out.println("Service level objective violations:");
+      violations.forEach(violation -> out.println("  " + violation));
+    }
+
+    Map<String, Object> step = new LinkedHashMap<>();
+    step.put("concurrency", concurrency);
+    step.put("offered_rate", offeredRate(concurrency));
+    step.put("duration_s", elapsed.toSeconds());
+    step.put("endpoints", results);
+    step.put("slo_violations", violations);
+    return step;
+  }
+
+  private void writeSummary(List<Map<String, Object>> steps, Integer maxSustainableConcurrency)
+      throws IOException {
+    System.out.printf(
+        "%nMax sustainable concurrency: %s%n",
+        maxSustainableConcurrency != null ? maxSustainableConcurrency : "none");
+
+    Map<String, Object> report = new LinkedHashMap<>();
+    report.put("profiles", config.profiles());
+    report.put("mix", config.mix());
+    report.put("user_rate", config.userRate());
+    report.put("max_sustainable_concurrency", maxSustainableConcurrency);
+    report.put("steps", steps);
+    Files.createDirectories(config.outputDirectory());
+    objectMapper
+        .enable(SerializationFeature.INDENT_OUTPUT)
+        .writeValue(config.outputDirectory().resolve("summary.json").toFile(), report);
+  }
+
+  private double offeredRate(int concurrency) {
+    return concurrency * config.userRate();
+  }
+
+  private static double millis(Duration duration) {
+    return duration.toNanos() / 1_000_000.0;
+  }
+}
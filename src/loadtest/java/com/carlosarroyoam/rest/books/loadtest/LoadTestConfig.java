@@ -0,0 +1,62 @@
+package com.carlosarroyoam.rest.books.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import org.springframework.boot.convert.DurationStyle;
+
+public record LoadTestConfig(
+    String baseUrl,
+    List<String> profiles,
+    List<Integer> concurrency,
+    double userRate,
+    Duration warmup,
+    Duration duration,
+    int customers,
+    int books,
+    String customerIds,
+    String mix,
+    Path sloFile,
+    boolean failOnSlo,
+    Path outputDirectory) {
+  static final String DEFAULT_MIX =
+      "books.list=30,books.get=15,authors.list=10,carts.items.update=20,carts.checkout=5,"
+          + "orders.list=12,payments.list=8";
+
+  public static LoadTestConfig fromSystemProperties() {
+    return new LoadTestConfig(
+        System.getProperty("loadtest.base-url", ""),
+        list("loadtest.profiles", ""),
+        list("loadtest.concurrency", "16").stream().map(Integer::valueOf).sorted().toList(),
+        Double.parseDouble(System.getProperty("loadtest.user-rate", "10")),
+        duration("loadtest.warmup", "10s"),
+        duration("loadtest.duration", "60s"),
+        Integer.getInteger("loadtest.customers", 50),
+        Integer.getInteger("loadtest.books", 200),
+        System.getProperty("loadtest.customer-ids", "1,2"),
+        System.getProperty("loadtest.mix", DEFAULT_MIX),
+        path("loadtest.slo-file", "src/loadtest/resources/slo.properties"),
+        Boolean.getBoolean("loadtest.fail-on-slo"),
+        path("loadtest.output-directory", "target/loadtest"));
+  }
+
+  public boolean embedded() {
+    return baseUrl.isBlank();
+  }
+
+  private static Duration duration(String key, String defaultValue) {
+    return DurationStyle.detectAndParse(System.getProperty(key, defaultValue));
+  }
+
+  private static List<String> list(String key, String defaultValue) {
+    return Arrays.stream(System.getProperty(key, defaultValue).split(","))
+        .map(String::trim)
+        .filter(value -> !value.isEmpty())
+        .toList();
+  }
+
+  private static Path path(String key, String defaultValue) {
+    return Path.of(System.getProperty(key, defaultValue));
+  }
+}
@@ -0,0 +1,67 @@
+package com.carlosarroyoam.rest.books.loadtest;
+
+import com.carlosarroyoam.rest.books.loadtest.EndpointStats.Summary;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.Function;
+import org.springframework.boot.convert.DurationStyle;
+
+public class SloGate {
+  private static final Map<String, Function<Summary, Duration>> PERCENTILES =
+      Map.of("p50", Summary::p50, "p99", Summary::p99, "p999", Summary::p999);
+  private static final String ERROR_RATE = "error-rate";
+
+  private final Properties objectives;
+
+  private SloGate(Properties objectives) {
+    this.objectives = objectives;
+  }
+
+  public static SloGate load(Path sloFile) throws IOException {
+    Properties objectives = new Properties();
+    if (Files.exists(sloFile)) {
+      try (Reader reader = Files.newBufferedReader(sloFile)) {
+        objectives.load(reader);
+      }
+    }
+    return new SloGate(objectives);
+  }
+
+  public List<String> check(List<Summary> summaries) {
+    List<String> violations = new ArrayList<>();
+    for (Summary summary : summaries) {
+      PERCENTILES.forEach(
+          (percentile, value) -> {
+            String objective = objectives.getProperty(summary.endpoint() + "." + percentile);
+            if (objective == null) {
+              return;
+            }
+
+            Duration limit = DurationStyle.detectAndParse(objective.trim());
+            Duration actual = value.apply(summary);
+            if (actual.compareTo(limit) > 0) {
+              violations.add(
+                  String.format(
+                      "%s %s was %d ms, objective is %d ms",
+                      summary.endpoint(), percentile, actual.toMillis(), limit.toMillis()));
+            }
+          });
+
+      String errorRate = objectives.getProperty(summary.endpoint() + "." + ERROR_RATE);
+      if (errorRate != null && summary.errorRate() > Double.parseDouble(errorRate.trim())) {
+        violations.add(
+            String.format(
+                "%s error rate was %.4f, objective is %s",
+                summary.endpoint(), summary.errorRate(), errorRate.trim()));
+      }
+    }
+    return violations;
+  }
+}
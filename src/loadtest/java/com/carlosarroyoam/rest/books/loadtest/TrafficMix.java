@@ -0,0 +1,75 @@
+package com.carlosarroyoam.rest.books.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class TrafficMix {
+  private final List<Scenario> scenarios = new ArrayList<>();
+  private final List<Integer> cumulativeWeights = new ArrayList<>();
+  private int totalWeight;
+
+  public static TrafficMix parse(String mix) {
+    TrafficMix trafficMix = new TrafficMix();
+    for (String entry : mix.split(",")) {
+      String[] parts = entry.trim().split("=");
+      if (parts.length != 2) {
+        throw new IllegalArgumentException("Invalid traffic mix entry: " + entry);
+      }
+
+      int weight = Integer.parseInt(parts[1].trim());
+      if (weight > 0) {
+        trafficMix.add(Scenario.fromName(parts[0].trim()), weight);
+      }
+    }
+
+    if (trafficMix.totalWeight == 0) {
+      throw new IllegalArgumentException("Traffic mix has no weighted scenarios: " + mix);
+    }
+    return trafficMix;
+  }
+
+  public Scenario next() {
+    int value = ThreadLocalRandom.current().nextInt(totalWeight);
+    for (int i = 0; i < scenarios.size(); i++) {
+      if (value < cumulativeWeights.get(i)) {
+        return scenarios.get(i);
+      }
+    }
+    return scenarios.get(scenarios.size() - 1);
+  }
+
+  private void add(Scenario scenario, int weight) {
+    totalWeight += weight;
+    scenarios.add(scenario);
+    cumulativeWeights.add(totalWeight);
+  }
+
+  public enum Scenario {
+    BROWSE_BOOKS("books.list"),
+    VIEW_BOOK("books.get"),
+    BROWSE_AUTHORS("authors.list"),
+    EDIT_CART("carts.items.update"),
+    CHECKOUT("carts.checkout"),
+    LIST_ORDERS("orders.list"),
+    LIST_PAYMENTS("payments.list");
+
+    private final String endpoint;
+
+    Scenario(String endpoint) {
+      this.endpoint = endpoint;
+    }
+
+    public String endpoint() {
+      return endpoint;
+    }
+
+    static Scenario fromName(String endpoint) {
+      return Arrays.stream(values())
+          .filter(scenario -> scenario.endpoint.equals(endpoint))
+          .findFirst()
+          .orElseThrow(() -> new IllegalArgumentException("Unknown scenario: " + endpoint));
+    }
+  }
+}
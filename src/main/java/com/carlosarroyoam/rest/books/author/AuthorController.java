@@ -6,10 +6,13 @@ import com.carlosarroyoam.rest.books.author.dto.CreateAuthorRequest;
 import com.carlosarroyoam.rest.books.author.dto.UpdateAuthorRequest;
 import com.carlosarroyoam.rest.books.book.dto.BookResponse;
 import com.carlosarroyoam.rest.books.core.dto.PagedResponse;
+import com.carlosarroyoam.rest.books.core.etag.ETags;
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.stream.Stream;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -19,7 +22,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.util.UriComponents;
 import org.springframework.web.util.UriComponentsBuilder;
@@ -36,15 +41,24 @@ public class AuthorController {
   @GetMapping(produces = "application/json")
   public ResponseEntity<PagedResponse<AuthorResponse>> findAll(
       @Valid @ModelAttribute AuthorSpecs authorSpecs,
-      @PageableDefault(page = 0, size = 25, sort = "id") Pageable pageable) {
-    PagedResponse<AuthorResponse> authors = authorService.findAll(authorSpecs, pageable);
-    return ResponseEntity.ok(authors);
+      @PageableDefault(page = 0, size = 25, sort = "id") Pageable pageable,
+      @RequestParam(required = false) String cursor,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    PagedResponse<AuthorResponse> authors =
+        cursor == null
+            ? authorService.findAll(authorSpecs, pageable)
+            : authorService.findAllByCursor(authorSpecs, pageable, cursor);
+    String eTag = ETags.ofPage(authors, AuthorController::version);
+    return ETags.toResponse(eTag, ifNoneMatch, () -> authors);
   }
 
   @GetMapping(path = "/{authorId}", produces = "application/json")
-  public ResponseEntity<AuthorResponse> findById(@PathVariable Long authorId) {
-    AuthorResponse authorById = authorService.findById(authorId);
-    return ResponseEntity.ok(authorById);
+  public ResponseEntity<AuthorResponse> findById(
+      @PathVariable Long authorId,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    AuthorResponse author = authorService.findById(authorId);
+    String eTag = ETags.of(authorId, Stream.of(author.getUpdatedAt()));
+    return ETags.toResponse(eTag, ifNoneMatch, () -> author);
   }
 
   @PostMapping(consumes = "application/json")
@@ -77,4 +91,8 @@ public class AuthorController {
     List<BookResponse> books = authorService.findBooksByAuthorId(authorId);
     return ResponseEntity.ok(books);
   }
+
+  private static String version(AuthorResponse author) {
+    return ETags.version(author.getId(), Stream.of(author.getUpdatedAt()));
+  }
 }
@@ -12,10 +12,13 @@ import com.carlosarroyoam.rest.books.book.BookRepository;
 import com.carlosarroyoam.rest.books.book.dto.BookResponse;
 import com.carlosarroyoam.rest.books.book.dto.BookResponse.BookResponseMapper;
 import com.carlosarroyoam.rest.books.book.entity.Book;
+import com.carlosarroyoam.rest.books.core.cache.ResponseCache;
 import com.carlosarroyoam.rest.books.core.constant.AppMessages;
 import com.carlosarroyoam.rest.books.core.dto.PagedResponse;
 import com.carlosarroyoam.rest.books.core.dto.PagedResponse.PagedResponseMapper;
+import com.carlosarroyoam.rest.books.core.specification.KeysetPagination;
 import com.carlosarroyoam.rest.books.core.specification.SpecificationBuilder;
+import com.carlosarroyoam.rest.books.core.sql.SqlStatsSpecifications;
 import java.time.LocalDateTime;
 import java.util.List;
 import org.slf4j.Logger;
@@ -33,30 +36,42 @@ public class AuthorService {
   private static final Logger log = LoggerFactory.getLogger(AuthorService.class);
   private final AuthorRepository authorRepository;
   private final BookRepository bookRepository;
+  private final ResponseCache<Long, AuthorResponse> authorResponseCache;
+  private final ResponseCache<Long, BookResponse> bookResponseCache;
 
-  public AuthorService(AuthorRepository authorRepository, BookRepository bookRepository) {
+  public AuthorService(
+      AuthorRepository authorRepository,
+      BookRepository bookRepository,
+      ResponseCache<Long, AuthorResponse> authorResponseCache,
+      ResponseCache<Long, BookResponse> bookResponseCache) {
     this.authorRepository = authorRepository;
     this.bookRepository = bookRepository;
+    this.authorResponseCache = authorResponseCache;
+    this.bookResponseCache = bookResponseCache;
   }
 
   @Transactional(readOnly = true)
   public PagedResponse<AuthorResponse> findAll(AuthorSpecs authorSpecs, Pageable pageable) {
-    Specification<Author> spec =
-        SpecificationBuilder.<Author>builder()
-            .likeIfPresent(root -> root.get(Author_.name), authorSpecs.getName())
-            .equalsIfPresent(root -> root.get(Author_.status), authorSpecs.getStatus())
-            .build();
-
-    Page<Author> authors = authorRepository.findAll(spec, pageable);
+    Page<Author> authors = authorRepository.findAll(buildSpec(authorSpecs), pageable);
 
     return PagedResponseMapper.INSTANCE.toPagedResponse(
         authors.map(AuthorResponseMapper.INSTANCE::toDto));
   }
 
   @Transactional(readOnly = true)
+  public PagedResponse<AuthorResponse> findAllByCursor(
+      AuthorSpecs authorSpecs, Pageable pageable, String cursor) {
+    return KeysetPagination.findPage(
+        authorRepository,
+        buildSpec(authorSpecs),
+        pageable,
+        cursor,
+        AuthorResponseMapper.INSTANCE::toDto);
+  }
+
   public AuthorResponse findById(Long authorId) {
-    Author authorById = findAuthorByIdOrFail(authorId);
-    return AuthorResponseMapper.INSTANCE.toDto(authorById);
+    return authorResponseCache.get(
+        authorId, key -> AuthorResponseMapper.INSTANCE.toDto(findAuthorByIdOrFail(key)));
   }
 
   @Transactional
@@ -82,6 +97,7 @@ public class AuthorService {
     authorById.setBio(request.getBio());
     authorById.setUpdatedAt(now);
     authorRepository.save(authorById);
+    evictCachedResponses(authorId);
   }
 
   @Transactional
@@ -92,14 +108,29 @@ public class AuthorService {
     authorById.setUpdatedAt(now);
     authorById.setDeletedAt(now);
     authorRepository.save(authorById);
+    evictCachedResponses(authorId);
   }
 
   @Transactional(readOnly = true)
   public List<BookResponse> findBooksByAuthorId(Long authorId) {
+    if (!authorRepository.existsById(authorId)) {
+      log.warn(AppMessages.AUTHOR_NOT_FOUND_EXCEPTION);
+      throw new ResponseStatusException(
+          HttpStatus.NOT_FOUND, AppMessages.AUTHOR_NOT_FOUND_EXCEPTION);
+    }
+
     List<Book> booksByAuthorId = bookRepository.findByAuthorId(authorId);
     return BookResponseMapper.INSTANCE.toDtos(booksByAuthorId);
   }
 
+  private void evictCachedResponses(Long authorId) {
+    authorResponseCache.evict(authorId);
+    bookResponseCache.evictIf(
+        book ->
+            book.getAuthors() != null
+                && book.getAuthors().stream().anyMatch(author -> authorId.equals(author.getId())));
+  }
+
   private Author findAuthorByIdOrFail(Long authorId) {
     return authorRepository
         .findById(authorId)
@@ -110,4 +141,12 @@ public class AuthorService {
                   HttpStatus.NOT_FOUND, AppMessages.AUTHOR_NOT_FOUND_EXCEPTION);
             });
   }
+
+  private Specification<Author> buildSpec(AuthorSpecs authorSpecs) {
+    return SqlStatsSpecifications.capturing(
+        SpecificationBuilder.<Author>builder()
+            .likeIfPresent(root -> root.get(Author_.nameLower), authorSpecs.getName())
+            .equalsIfPresent(root -> root.get(Author_.status), authorSpecs.getStatus())
+            .build());
+  }
 }
@@ -9,7 +9,9 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -21,7 +23,9 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "authors")
+@Table(
+    name = "authors",
+    indexes = @Index(name = "idx_authors_status", columnList = "status"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -29,12 +33,20 @@ import lombok.Setter;
 @Builder
 public class Author {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "authors_seq")
+  @SequenceGenerator(name = "authors_seq", sequenceName = "authors_seq", allocationSize = 50)
   private Long id;
 
   @Column(name = "name", length = 128, nullable = false)
   private String name;
 
+  @Column(
+      name = "name_lower",
+      columnDefinition = "VARCHAR(128) GENERATED ALWAYS AS (LOWER(name))",
+      insertable = false,
+      updatable = false)
+  private String nameLower;
+
   @Column(name = "bio", length = 1024)
   private String bio;
 
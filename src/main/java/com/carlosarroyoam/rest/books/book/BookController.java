@@ -1,15 +1,21 @@
 package com.carlosarroyoam.rest.books.book;
 
 import com.carlosarroyoam.rest.books.author.dto.AuthorResponse;
+import com.carlosarroyoam.rest.books.book.dto.BookImportResponse;
 import com.carlosarroyoam.rest.books.book.dto.BookResponse;
 import com.carlosarroyoam.rest.books.book.dto.BookSpecs;
 import com.carlosarroyoam.rest.books.book.dto.CreateBookRequest;
 import com.carlosarroyoam.rest.books.book.dto.UpdateBookRequest;
 import com.carlosarroyoam.rest.books.core.dto.PagedResponse;
+import com.carlosarroyoam.rest.books.core.etag.ETags;
 import jakarta.validation.Valid;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -19,35 +25,46 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.util.UriComponents;
 import org.springframework.web.util.UriComponentsBuilder;
 
 @RestController
-@RequestMapping("/books")
 public class BookController {
   private final BookService bookService;
+  private final BookImportService bookImportService;
 
-  public BookController(BookService bookService) {
+  public BookController(BookService bookService, BookImportService bookImportService) {
     this.bookService = bookService;
+    this.bookImportService = bookImportService;
   }
 
-  @GetMapping(produces = "application/json")
+  @GetMapping(value = "/books", produces = "application/json")
   public ResponseEntity<PagedResponse<BookResponse>> findAll(
       @Valid @ModelAttribute BookSpecs bookSpecs,
-      @PageableDefault(page = 0, size = 25, sort = "id") Pageable pageable) {
-    PagedResponse<BookResponse> books = bookService.findAll(bookSpecs, pageable);
-    return ResponseEntity.ok(books);
+      @PageableDefault(page = 0, size = 25, sort = "id") Pageable pageable,
+      @RequestParam(required = false) String cursor,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    PagedResponse<BookResponse> books =
+        cursor == null
+            ? bookService.findAll(bookSpecs, pageable)
+            : bookService.findAllByCursor(bookSpecs, pageable, cursor);
+    String eTag = ETags.ofPage(books, BookController::version);
+    return ETags.toResponse(eTag, ifNoneMatch, () -> books);
   }
 
-  @GetMapping(value = "/{bookId}", produces = "application/json")
-  public ResponseEntity<BookResponse> findById(@PathVariable Long bookId) {
-    BookResponse bookById = bookService.findById(bookId);
-    return ResponseEntity.ok(bookById);
+  @GetMapping(value = "/books/{bookId}", produces = "application/json")
+  public ResponseEntity<BookResponse> findById(
+      @PathVariable Long bookId,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    BookResponse book = bookService.findById(bookId);
+    String eTag = ETags.of(bookId, updatedAts(book));
+    return ETags.toResponse(eTag, ifNoneMatch, () -> book);
   }
 
-  @PostMapping(consumes = "application/json")
+  @PostMapping(value = "/books", consumes = "application/json")
   @PreAuthorize("hasRole('App/Admin')")
   public ResponseEntity<Void> create(
       @Valid @RequestBody CreateBookRequest request, UriComponentsBuilder builder) {
@@ -57,7 +74,24 @@ public class BookController {
     return ResponseEntity.created(uriComponents.toUri()).build();
   }
 
-  @PutMapping(value = "/{bookId}", consumes = "application/json")
+  @PostMapping(
+      value = "/books:bulk",
+      consumes = "application/x-ndjson",
+      produces = "application/json")
+  @PreAuthorize("hasRole('App/Admin')")
+  public ResponseEntity<BookImportResponse> importNdjson(InputStream body) {
+    BookImportResponse importResult = bookImportService.importNdjson(body);
+    return ResponseEntity.ok(importResult);
+  }
+
+  @PostMapping(value = "/books:bulk", consumes = "text/csv", produces = "application/json")
+  @PreAuthorize("hasRole('App/Admin')")
+  public ResponseEntity<BookImportResponse> importCsv(InputStream body) {
+    BookImportResponse importResult = bookImportService.importCsv(body);
+    return ResponseEntity.ok(importResult);
+  }
+
+  @PutMapping(value = "/books/{bookId}", consumes = "application/json")
   @PreAuthorize("hasRole('App/Admin')")
   public ResponseEntity<Void> update(
       @PathVariable Long bookId, @Valid @RequestBody UpdateBookRequest request) {
@@ -65,16 +99,28 @@ public class BookController {
     return ResponseEntity.noContent().build();
   }
 
-  @DeleteMapping("/{bookId}")
+  @DeleteMapping("/books/{bookId}")
   @PreAuthorize("hasRole('App/Admin')")
   public ResponseEntity<Void> deleteById(@PathVariable Long bookId) {
     bookService.deleteById(bookId);
     return ResponseEntity.noContent().build();
   }
 
-  @GetMapping(path = "/{bookId}/authors", produces = "application/json")
+  @GetMapping(path = "/books/{bookId}/authors", produces = "application/json")
   public ResponseEntity<List<AuthorResponse>> findBookAuthors(@PathVariable Long bookId) {
     List<AuthorResponse> authors = bookService.findAuthorsByBookId(bookId);
     return ResponseEntity.ok(authors);
   }
+
+  private static String version(BookResponse book) {
+    return ETags.version(book.getId(), updatedAts(book));
+  }
+
+  private static Stream<LocalDateTime> updatedAts(BookResponse book) {
+    Stream<LocalDateTime> authorUpdatedAts =
+        book.getAuthors() == null
+            ? Stream.empty()
+            : book.getAuthors().stream().map(AuthorResponse::getUpdatedAt);
+    return Stream.concat(Stream.of(book.getUpdatedAt()), authorUpdatedAts);
+  }
 }
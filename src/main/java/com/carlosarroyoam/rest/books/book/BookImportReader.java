@@ -0,0 +1,167 @@
+package com.carlosarroyoam.rest.books.book;
+
+import com.carlosarroyoam.rest.books.book.dto.ImportBookRequest;
+import com.carlosarroyoam.rest.books.core.constant.AppMessages;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BookImportReader {
+  private static final String AUTHOR_IDS_COLUMN = "author_ids";
+  private static final String AUTHOR_IDS_SEPARATOR = ";";
+
+  private final ObjectMapper objectMapper;
+
+  public BookImportReader(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+  }
+
+  public Iterator<Row> readNdjson(InputStream inputStream) {
+    return new RowIterator(toReader(inputStream), 0, this::parseJson);
+  }
+
+  public Iterator<Row> readCsv(InputStream inputStream) {
+    BufferedReader reader = toReader(inputStream);
+    List<String> header = parseCsvLine(readLine(reader));
+    return new RowIterator(reader, 1, line -> parseCsv(header, line));
+  }
+
+  private ImportBookRequest parseJson(String line) {
+    try {
+      return objectMapper.readValue(line, ImportBookRequest.class);
+    } catch (JsonProcessingException ex) {
+      throw new IllegalArgumentException(AppMessages.MALFORMED_IMPORT_ROW_EXCEPTION, ex);
+    }
+  }
+
+  private ImportBookRequest parseCsv(List<String> header, String line) {
+    List<String> values = parseCsvLine(line);
+    if (values.size() != header.size()) {
+      throw new IllegalArgumentException(AppMessages.MALFORMED_IMPORT_ROW_EXCEPTION);
+    }
+
+    Map<String, Object> fields = new HashMap<>();
+    for (int i = 0; i < header.size(); i++) {
+      String value = values.get(i).trim();
+      if (value.isEmpty()) {
+        continue;
+      }
+
+      if (AUTHOR_IDS_COLUMN.equals(header.get(i))) {
+        fields.put(AUTHOR_IDS_COLUMN, Arrays.asList(value.split(AUTHOR_IDS_SEPARATOR)));
+      } else {
+        fields.put(header.get(i), value);
+      }
+    }
+
+    return objectMapper.convertValue(fields, ImportBookRequest.class);
+  }
+
+  private static List<String> parseCsvLine(String line) {
+    if (line == null) {
+      return List.of();
+    }
+
+    List<String> values = new ArrayList<>();
+    StringBuilder value = new StringBuilder();
+    boolean quoted = false;
+
+    for (int i = 0; i < line.length(); i++) {
+      char character = line.charAt(i);
+      if (quoted && character == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+        value.append('"');
+        i++;
+      } else if (character == '"') {
+        quoted = !quoted;
+      } else if (!quoted && character == ',') {
+        values.add(value.toString().trim());
+        value.setLength(0);
+      } else {
+        value.append(character);
+      }
+    }
+
+    if (quoted) {
+      throw new IllegalArgumentException(AppMessages.MALFORMED_IMPORT_ROW_EXCEPTION);
+    }
+
+    values.add(value.toString().trim());
+    return values;
+  }
+
+  private static BufferedReader toReader(InputStream inputStream) {
+    return new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+  }
+
+  private static String readLine(BufferedReader reader) {
+    try {
+      return reader.readLine();
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  public record Row(long number, ImportBookRequest request, String error) {}
+
+  private static class RowIterator implements Iterator<Row> {
+    private final BufferedReader reader;
+    private final Function<String, ImportBookRequest> parser;
+    private long lineNumber;
+    private String nextLine;
+
+    RowIterator(
+        BufferedReader reader, long lineNumber, Function<String, ImportBookRequest> parser) {
+      this.reader = reader;
+      this.lineNumber = lineNumber;
+      this.parser = parser;
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (nextLine == null) {
+        String line = readLine(reader);
+        if (line == null) {
+          return false;
+        }
+
+        lineNumber++;
+        if (!line.isBlank()) {
+          nextLine = line;
+        }
+      }
+
+      return true;
+    }
+
+    @Override
+    public Row next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+
+      String line = nextLine;
+      nextLine = null;
+
+      try {
+        return new Row(lineNumber, parser.apply(line), null);
+      } catch (IllegalArgumentException ex) {
+        return new Row(lineNumber, null, AppMessages.MALFORMED_IMPORT_ROW_EXCEPTION);
+      }
+    }
+  }
+}
@@ -0,0 +1,217 @@
+package com.carlosarroyoam.rest.books.book;
+
+import com.carlosarroyoam.rest.books.author.AuthorRepository;
+import com.carlosarroyoam.rest.books.author.entity.Author;
+import com.carlosarroyoam.rest.books.book.BookImportReader.Row;
+import com.carlosarroyoam.rest.books.book.dto.BookImportErrorResponse;
+import com.carlosarroyoam.rest.books.book.dto.BookImportResponse;
+import com.carlosarroyoam.rest.books.book.dto.ImportBookRequest;
+import com.carlosarroyoam.rest.books.book.entity.Book;
+import com.carlosarroyoam.rest.books.book.entity.BookStatus;
+import com.carlosarroyoam.rest.books.core.constant.AppMessages;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class BookImportService {
+  private static final Logger log = LoggerFactory.getLogger(BookImportService.class);
+  private static final int CHUNK_SIZE = 500;
+  private static final int MAX_REPORTED_ERRORS = 1_000;
+
+  private final BookRepository bookRepository;
+  private final AuthorRepository authorRepository;
+  private final BookSearchIndex bookSearchIndex;
+  private final BookIsbnFilter bookIsbnFilter;
+  private final BookImportReader bookImportReader;
+  private final Validator validator;
+  private final TransactionTemplate transactionTemplate;
+  private final EntityManager entityManager;
+
+  public BookImportService(
+      BookRepository bookRepository,
+      AuthorRepository authorRepository,
+      BookSearchIndex bookSearchIndex,
+      BookIsbnFilter bookIsbnFilter,
+      BookImportReader bookImportReader,
+      Validator validator,
+      TransactionTemplate transactionTemplate,
+      EntityManager entityManager) {
+    this.bookRepository = bookRepository;
+    this.authorRepository = authorRepository;
+    this.bookSearchIndex = bookSearchIndex;
+    this.bookIsbnFilter = bookIsbnFilter;
+    this.bookImportReader = bookImportReader;
+    this.validator = validator;
+    this.transactionTemplate = transactionTemplate;
+    this.entityManager = entityManager;
+  }
+
+  public BookImportResponse importNdjson(InputStream inputStream) {
+    return importRows(bookImportReader.readNdjson(inputStream));
+  }
+
+  public BookImportResponse importCsv(InputStream inputStream) {
+    return importRows(bookImportReader.readCsv(inputStream));
+  }
+
+  private BookImportResponse importRows(Iterator<Row> rows) {
+    long totalRows = 0;
+    long failedRows = 0;
+    List<BookImportErrorResponse> errors = new ArrayList<>();
+    List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+
+    while (rows.hasNext()) {
+      chunk.add(rows.next());
+
+      if (chunk.size() == CHUNK_SIZE || !rows.hasNext()) {
+        List<BookImportErrorResponse> chunkErrors = importChunk(chunk);
+        totalRows += chunk.size();
+        failedRows += chunkErrors.size();
+        chunkErrors.stream().limit(MAX_REPORTED_ERRORS - errors.size()).forEach(errors::add);
+        chunk.clear();
+      }
+    }
+
+    log.info("Imported {} of {} books", totalRows - failedRows, totalRows);
+    return BookImportResponse.builder()
+        .totalRows(totalRows)
+        .importedRows(totalRows - failedRows)
+        .failedRows(failedRows)
+        .errors(errors)
+        .build();
+  }
+
+  private List<BookImportErrorResponse> importChunk(List<Row> chunk) {
+    List<BookImportErrorResponse> errors = new ArrayList<>();
+    List<Row> validRows = new ArrayList<>();
+
+    for (Row row : chunk) {
+      List<String> messages = validate(row);
+      if (messages.isEmpty()) {
+        validRows.add(row);
+      } else {
+        errors.add(toError(row, messages));
+      }
+    }
+
+    if (validRows.isEmpty()) {
+      return errors;
+    }
+
+    try {
+      errors.addAll(transactionTemplate.execute(status -> insertChunk(validRows)));
+    } catch (DataAccessException ex) {
+      log.warn(AppMessages.BOOK_NOT_IMPORTED_EXCEPTION, ex);
+      validRows.forEach(
+          row -> errors.add(toError(row, List.of(AppMessages.BOOK_NOT_IMPORTED_EXCEPTION))));
+    }
+
+    errors.sort(Comparator.comparingLong(BookImportErrorResponse::getRow));
+    return errors;
+  }
+
+  private List<BookImportErrorResponse> insertChunk(List<Row> rows) {
+    Set<String> isbns =
+        rows.stream()
+            .map(row -> row.request().getIsbn())
+            .filter(bookIsbnFilter::mightContain)
+            .collect(Collectors.toSet());
+    Set<String> existingIsbns =
+        isbns.isEmpty() ? Set.of() : bookRepository.findIsbnsByIsbnIn(isbns);
+
+    Set<Long> authorIds =
+        rows.stream()
+            .flatMap(row -> authorIdsOf(row.request()).stream())
+            .collect(Collectors.toSet());
+    Map<Long, Author> authorsById =
+        authorRepository.findAllById(authorIds).stream()
+            .collect(Collectors.toMap(Author::getId, Function.identity()));
+
+    LocalDateTime now = LocalDateTime.now();
+    Set<String> importedIsbns = new HashSet<>();
+    List<BookImportErrorResponse> errors = new ArrayList<>();
+    List<Book> books = new ArrayList<>();
+
+    for (Row row : rows) {
+      ImportBookRequest request = row.request();
+      List<Long> missingAuthorIds =
+          authorIdsOf(request).stream()
+              .filter(authorId -> !authorsById.containsKey(authorId))
+              .toList();
+
+      if (existingIsbns.contains(request.getIsbn()) || !importedIsbns.add(request.getIsbn())) {
+        errors.add(toError(row, List.of(AppMessages.ISBN_ALREADY_EXISTS_EXCEPTION)));
+      } else if (!missingAuthorIds.isEmpty()) {
+        errors.add(
+            toError(
+                row,
+                List.of(String.format(AppMessages.AUTHORS_NOT_FOUND_EXCEPTION, missingAuthorIds))));
+      } else {
+        List<Author> authors = authorIdsOf(request).stream().map(authorsById::get).toList();
+        books.add(toBook(request, authors, now));
+      }
+    }
+
+    bookRepository.saveAll(books);
+    bookRepository.flush();
+    books.forEach(bookSearchIndex::index);
+    books.forEach(book -> bookIsbnFilter.add(book.getIsbn()));
+    entityManager.clear();
+    return errors;
+  }
+
+  private List<String> validate(Row row) {
+    if (row.error() != null) {
+      return List.of(row.error());
+    }
+
+    Set<ConstraintViolation<ImportBookRequest>> violations = validator.validate(row.request());
+    return violations.stream().map(ConstraintViolation::getMessage).sorted().toList();
+  }
+
+  private static List<Long> authorIdsOf(ImportBookRequest request) {
+    return request.getAuthorIds() == null
+        ? List.of()
+        : request.getAuthorIds().stream().distinct().toList();
+  }
+
+  private static Book toBook(ImportBookRequest request, List<Author> authors, LocalDateTime now) {
+    return Book.builder()
+        .isbn(request.getIsbn())
+        .title(request.getTitle())
+        .coverUrl(request.getCoverUrl())
+        .price(request.getPrice())
+        .isAvailableOnline(request.getIsAvailableOnline())
+        .status(BookStatus.ACTIVE)
+        .publishedAt(request.getPublishedAt())
+        .authors(new ArrayList<>(authors))
+        .createdAt(now)
+        .updatedAt(now)
+        .build();
+  }
+
+  private static BookImportErrorResponse toError(Row row, List<String> messages) {
+    return BookImportErrorResponse.builder()
+        .row(row.number())
+        .isbn(row.request() == null ? null : row.request().getIsbn())
+        .messages(messages)
+        .build();
+  }
+}
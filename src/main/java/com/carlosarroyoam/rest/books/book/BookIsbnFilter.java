@@ -0,0 +1,56 @@
+package com.carlosarroyoam.rest.books.book;
+
+import com.carlosarroyoam.rest.books.book.BookRepository.BookIsbnView;
+import com.carlosarroyoam.rest.books.core.bloom.BloomFilter;
+import com.carlosarroyoam.rest.books.core.property.BloomFilterProps;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BookIsbnFilter {
+  private static final Logger log = LoggerFactory.getLogger(BookIsbnFilter.class);
+  private static final int REBUILD_BATCH_SIZE = 1_000;
+
+  private final BookRepository bookRepository;
+  private final BloomFilter isbns;
+  private volatile boolean ready;
+
+  public BookIsbnFilter(BookRepository bookRepository, BloomFilterProps bloomFilterProps) {
+    this.bookRepository = bookRepository;
+    this.isbns =
+        new BloomFilter(
+            bloomFilterProps.getExpectedInsertions(), bloomFilterProps.getFalsePositiveRate());
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuild() {
+    long lastId = 0L;
+    int indexedBooks = 0;
+    List<BookIsbnView> batch;
+
+    do {
+      batch = bookRepository.findIsbnViewsAfter(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+      for (BookIsbnView book : batch) {
+        add(book.getIsbn());
+        lastId = book.getId();
+      }
+      indexedBooks += batch.size();
+    } while (batch.size() == REBUILD_BATCH_SIZE);
+
+    ready = true;
+    log.info("Book ISBN filter built with {} books", indexedBooks);
+  }
+
+  public void add(String isbn) {
+    isbns.put(isbn);
+  }
+
+  public boolean mightContain(String isbn) {
+    return !ready || isbns.mightContain(isbn);
+  }
+}
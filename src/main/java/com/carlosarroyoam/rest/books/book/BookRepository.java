@@ -1,7 +1,12 @@
 package com.carlosarroyoam.rest.books.book;
 
 import com.carlosarroyoam.rest.books.book.entity.Book;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -10,5 +15,36 @@ public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificat
   @Query("SELECT b FROM Book b JOIN b.authors a WHERE a.id = :authorId")
   List<Book> findByAuthorId(Long authorId);
 
+  @EntityGraph(attributePaths = "authors")
+  Optional<Book> findWithAuthorsById(Long id);
+
+  @Query("SELECT DISTINCT b FROM Book b LEFT JOIN FETCH b.authors WHERE b.id IN :bookIds")
+  List<Book> findAllWithAuthorsByIdIn(Collection<Long> bookIds);
+
   boolean existsByIsbn(String isbn);
+
+  @Query("SELECT b.isbn FROM Book b WHERE b.isbn IN :isbns")
+  Set<String> findIsbnsByIsbnIn(Collection<String> isbns);
+
+  @Query(
+      "SELECT b.id AS id, b.title AS title, b.isbn AS isbn FROM Book b"
+          + " WHERE b.id > :afterId ORDER BY b.id")
+  List<BookTextView> findTextViewsAfter(Long afterId, Pageable pageable);
+
+  @Query("SELECT b.id AS id, b.isbn AS isbn FROM Book b WHERE b.id > :afterId ORDER BY b.id")
+  List<BookIsbnView> findIsbnViewsAfter(Long afterId, Pageable pageable);
+
+  interface BookTextView {
+    Long getId();
+
+    String getTitle();
+
+    String getIsbn();
+  }
+
+  interface BookIsbnView {
+    Long getId();
+
+    String getIsbn();
+  }
 }
@@ -0,0 +1,207 @@
+package com.carlosarroyoam.rest.books.book;
+
+import com.carlosarroyoam.rest.books.book.BookRepository.BookTextView;
+import com.carlosarroyoam.rest.books.book.entity.Book;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+public class BookSearchIndex {
+  private static final Logger log = LoggerFactory.getLogger(BookSearchIndex.class);
+  private static final int TRIGRAM_LENGTH = 3;
+  private static final int MAX_MATCHES = 1_000;
+  private static final int REBUILD_BATCH_SIZE = 1_000;
+
+  private final BookRepository bookRepository;
+  private volatile FieldIndex titles = new FieldIndex();
+  private volatile FieldIndex isbns = new FieldIndex();
+  private FieldIndex pendingTitles;
+  private FieldIndex pendingIsbns;
+  private volatile boolean ready;
+
+  public BookSearchIndex(BookRepository bookRepository) {
+    this.bookRepository = bookRepository;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(
+      fixedDelayString = "${application.search-index.rebuild-interval}",
+      initialDelayString = "${application.search-index.rebuild-interval}")
+  public void rebuild() {
+    startRebuild();
+
+    long lastId = 0L;
+    int indexedBooks = 0;
+    List<BookTextView> batch;
+
+    do {
+      batch = bookRepository.findTextViewsAfter(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+      for (BookTextView book : batch) {
+        putPending(book.getId(), book.getTitle(), book.getIsbn());
+        lastId = book.getId();
+      }
+      indexedBooks += batch.size();
+    } while (batch.size() == REBUILD_BATCH_SIZE);
+
+    finishRebuild();
+    ready = true;
+    log.info("Book search index built with {} books", indexedBooks);
+  }
+
+  public void index(Book book) {
+    Long bookId = book.getId();
+    String title = book.getTitle();
+    String isbn = book.getIsbn();
+
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      put(bookId, title, isbn);
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            put(bookId, title, isbn);
+          }
+        });
+  }
+
+  public Optional<Set<Long>> search(String title, String isbn) {
+    boolean hasTitle = title != null && !title.isBlank();
+    boolean hasIsbn = isbn != null && !isbn.isBlank();
+
+    if (!ready || (!hasTitle && !hasIsbn)) {
+      return Optional.empty();
+    }
+
+    Optional<Set<Long>> titleMatches = hasTitle ? titles.search(title) : Optional.empty();
+    Optional<Set<Long>> isbnMatches = hasIsbn ? isbns.search(isbn) : Optional.empty();
+
+    if ((hasTitle && titleMatches.isEmpty()) || (hasIsbn && isbnMatches.isEmpty())) {
+      return Optional.empty();
+    }
+
+    if (!hasIsbn) {
+      return titleMatches;
+    }
+
+    if (!hasTitle) {
+      return isbnMatches;
+    }
+
+    Set<Long> matches = new HashSet<>(titleMatches.get());
+    matches.retainAll(isbnMatches.get());
+    return Optional.of(matches);
+  }
+
+  private synchronized void startRebuild() {
+    pendingTitles = new FieldIndex();
+    pendingIsbns = new FieldIndex();
+  }
+
+  private synchronized void finishRebuild() {
+    titles = pendingTitles;
+    isbns = pendingIsbns;
+    pendingTitles = null;
+    pendingIsbns = null;
+  }
+
+  private synchronized void putPending(Long bookId, String title, String isbn) {
+    pendingTitles.put(bookId, title);
+    pendingIsbns.put(bookId, isbn);
+  }
+
+  private synchronized void put(Long bookId, String title, String isbn) {
+    titles.put(bookId, title);
+    isbns.put(bookId, isbn);
+    if (pendingTitles != null) {
+      pendingTitles.put(bookId, title);
+      pendingIsbns.put(bookId, isbn);
+    }
+  }
+
+  private static String normalize(String value) {
+    return value.toLowerCase(Locale.ROOT);
+  }
+
+  private static Set<String> trigrams(String normalizedValue) {
+    Set<String> trigrams = new HashSet<>();
+    for (int i = 0; i + TRIGRAM_LENGTH <= normalizedValue.length(); i++) {
+      trigrams.add(normalizedValue.substring(i, i + TRIGRAM_LENGTH));
+    }
+    return trigrams;
+  }
+
+  private static class FieldIndex {
+    private final Map<Long, String> valuesById = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> idsByTrigram = new ConcurrentHashMap<>();
+
+    void put(Long id, String value) {
+      String previousValue = valuesById.remove(id);
+      if (previousValue != null) {
+        for (String trigram : trigrams(previousValue)) {
+          idsByTrigram.computeIfPresent(
+              trigram, (key, ids) -> ids.remove(id) && ids.isEmpty() ? null : ids);
+        }
+      }
+
+      if (value == null) {
+        return;
+      }
+
+      String normalizedValue = normalize(value);
+      for (String trigram : trigrams(normalizedValue)) {
+        idsByTrigram.computeIfAbsent(trigram, key -> ConcurrentHashMap.newKeySet()).add(id);
+      }
+      valuesById.put(id, normalizedValue);
+    }
+
+    Optional<Set<Long>> search(String value) {
+      String normalizedValue = normalize(value);
+      if (normalizedValue.length() < TRIGRAM_LENGTH
+          || normalizedValue.indexOf('%') >= 0
+          || normalizedValue.indexOf('_') >= 0) {
+        return Optional.empty();
+      }
+
+      Set<Long> candidates = null;
+      for (String trigram : trigrams(normalizedValue)) {
+        Set<Long> ids = idsByTrigram.get(trigram);
+        if (ids == null) {
+          return Optional.of(Set.of());
+        }
+        if (candidates == null || ids.size() < candidates.size()) {
+          candidates = ids;
+        }
+      }
+
+      Set<Long> matches = new HashSet<>();
+      for (Long id : candidates) {
+        String indexedValue = valuesById.get(id);
+        if (indexedValue != null && indexedValue.contains(normalizedValue)) {
+          matches.add(id);
+          if (matches.size() > MAX_MATCHES) {
+            return Optional.empty();
+          }
+        }
+      }
+
+      return Optional.of(matches);
+    }
+  }
+}
@@ -13,15 +13,22 @@ import com.carlosarroyoam.rest.books.book.dto.UpdateBookRequest;
 import com.carlosarroyoam.rest.books.book.entity.Book;
 import com.carlosarroyoam.rest.books.book.entity.BookStatus;
 import com.carlosarroyoam.rest.books.book.entity.Book_;
+import com.carlosarroyoam.rest.books.core.cache.ResponseCache;
 import com.carlosarroyoam.rest.books.core.constant.AppMessages;
 import com.carlosarroyoam.rest.books.core.dto.PagedResponse;
 import com.carlosarroyoam.rest.books.core.dto.PagedResponse.PagedResponseMapper;
+import com.carlosarroyoam.rest.books.core.exception.UniqueConstraints;
+import com.carlosarroyoam.rest.books.core.specification.KeysetPagination;
 import com.carlosarroyoam.rest.books.core.specification.SpecificationBuilder;
-import jakarta.persistence.criteria.JoinType;
+import com.carlosarroyoam.rest.books.core.sql.SqlStatsSpecifications;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -35,43 +42,54 @@ public class BookService {
   private static final Logger log = LoggerFactory.getLogger(BookService.class);
   private final BookRepository bookRepository;
   private final AuthorRepository authorRepository;
+  private final BookSearchIndex bookSearchIndex;
+  private final BookIsbnFilter bookIsbnFilter;
+  private final ResponseCache<Long, BookResponse> bookResponseCache;
 
-  public BookService(BookRepository bookRepository, AuthorRepository authorRepository) {
+  public BookService(
+      BookRepository bookRepository,
+      AuthorRepository authorRepository,
+      BookSearchIndex bookSearchIndex,
+      BookIsbnFilter bookIsbnFilter,
+      ResponseCache<Long, BookResponse> bookResponseCache) {
     this.bookRepository = bookRepository;
     this.authorRepository = authorRepository;
+    this.bookSearchIndex = bookSearchIndex;
+    this.bookIsbnFilter = bookIsbnFilter;
+    this.bookResponseCache = bookResponseCache;
   }
 
   @Transactional(readOnly = true)
   public PagedResponse<BookResponse> findAll(BookSpecs bookSpecs, Pageable pageable) {
-    Specification<Book> spec =
-        SpecificationBuilder.<Book>builder()
-            .likeIfPresent(root -> root.get(Book_.isbn), bookSpecs.getIsbn())
-            .likeIfPresent(root -> root.get(Book_.title), bookSpecs.getTitle())
-            .betweenIfPresent(
-                root -> root.get(Book_.price), bookSpecs.getMinPrice(), bookSpecs.getMaxPrice())
-            .equalsIfPresent(
-                root -> root.get(Book_.isAvailableOnline), bookSpecs.getIsAvailableOnline())
-            .equalsIfPresent(root -> root.get(Book_.status), bookSpecs.getStatus())
-            .inIfPresent(
-                root -> root.join(Book_.authors, JoinType.LEFT).get(Author_.id),
-                bookSpecs.getAuthorIds())
-            .build();
-
-    Page<Book> books = bookRepository.findAll(spec, pageable);
+    Page<Book> books = bookRepository.findAll(buildSpec(bookSpecs), pageable);
+    fetchAuthors(books.getContent());
 
     return PagedResponseMapper.INSTANCE.toPagedResponse(
         books.map(BookResponseMapper.INSTANCE::toDto));
   }
 
   @Transactional(readOnly = true)
+  public PagedResponse<BookResponse> findAllByCursor(
+      BookSpecs bookSpecs, Pageable pageable, String cursor) {
+    PagedResponse<Book> books =
+        KeysetPagination.findPage(
+            bookRepository, buildSpec(bookSpecs), pageable, cursor, Function.identity());
+    fetchAuthors(books.getItems());
+
+    return PagedResponse.<BookResponse>builder()
+        .items(BookResponseMapper.INSTANCE.toDtos(books.getItems()))
+        .pagination(books.getPagination())
+        .build();
+  }
+
   public BookResponse findById(Long bookId) {
-    Book bookById = findBookByIdOrFail(bookId);
-    return BookResponseMapper.INSTANCE.toDto(bookById);
+    return bookResponseCache.get(bookId, this::loadBookById);
   }
 
   @Transactional
   public BookResponse create(CreateBookRequest request) {
-    if (bookRepository.existsByIsbn(request.getIsbn())) {
+    if (bookIsbnFilter.mightContain(request.getIsbn())
+        && bookRepository.existsByIsbn(request.getIsbn())) {
       log.warn(AppMessages.ISBN_ALREADY_EXISTS_EXCEPTION);
       throw new ResponseStatusException(
           HttpStatus.BAD_REQUEST, AppMessages.ISBN_ALREADY_EXISTS_EXCEPTION);
@@ -91,7 +109,23 @@ public class BookService {
             .updatedAt(now)
             .build();
 
-    return BookResponseMapper.INSTANCE.toDto(bookRepository.save(book));
+    Book savedBook;
+    try {
+      savedBook = bookRepository.saveAndFlush(book);
+    } catch (DataIntegrityViolationException ex) {
+      if (!UniqueConstraints.isViolated(ex, Book.ISBN_UNIQUE_CONSTRAINT)) {
+        throw ex;
+      }
+
+      bookIsbnFilter.add(request.getIsbn());
+      log.warn(AppMessages.ISBN_ALREADY_EXISTS_EXCEPTION);
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, AppMessages.ISBN_ALREADY_EXISTS_EXCEPTION);
+    }
+
+    bookSearchIndex.index(savedBook);
+    bookIsbnFilter.add(savedBook.getIsbn());
+    return BookResponseMapper.INSTANCE.toDto(savedBook);
   }
 
   @Transactional
@@ -106,6 +140,9 @@ public class BookService {
     bookById.setIsAvailableOnline(request.getIsAvailableOnline());
     bookById.setUpdatedAt(now);
     bookRepository.save(bookById);
+    bookSearchIndex.index(bookById);
+    bookIsbnFilter.add(bookById.getIsbn());
+    bookResponseCache.evict(bookId);
   }
 
   @Transactional
@@ -116,14 +153,33 @@ public class BookService {
     bookById.setUpdatedAt(now);
     bookById.setDeletedAt(now);
     bookRepository.save(bookById);
+    bookResponseCache.evict(bookId);
   }
 
   @Transactional(readOnly = true)
   public List<AuthorResponse> findAuthorsByBookId(Long bookId) {
+    if (!bookRepository.existsById(bookId)) {
+      log.warn(AppMessages.BOOK_NOT_FOUND_EXCEPTION);
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, AppMessages.BOOK_NOT_FOUND_EXCEPTION);
+    }
+
     List<Author> authorsByBookId = authorRepository.findByBookId(bookId);
     return AuthorResponseMapper.INSTANCE.toDtos(authorsByBookId);
   }
 
+  private BookResponse loadBookById(Long bookId) {
+    Book bookById =
+        bookRepository
+            .findWithAuthorsById(bookId)
+            .orElseThrow(
+                () -> {
+                  log.warn(AppMessages.BOOK_NOT_FOUND_EXCEPTION);
+                  return new ResponseStatusException(
+                      HttpStatus.NOT_FOUND, AppMessages.BOOK_NOT_FOUND_EXCEPTION);
+                });
+    return BookResponseMapper.INSTANCE.toDto(bookById);
+  }
+
   private Book findBookByIdOrFail(Long bookId) {
     return bookRepository
         .findById(bookId)
@@ -134,4 +190,36 @@ public class BookService {
                   HttpStatus.NOT_FOUND, AppMessages.BOOK_NOT_FOUND_EXCEPTION);
             });
   }
+
+  private void fetchAuthors(List<Book> books) {
+    if (books.isEmpty()) {
+      return;
+    }
+
+    bookRepository.findAllWithAuthorsByIdIn(books.stream().map(Book::getId).toList());
+  }
+
+  private Specification<Book> buildSpec(BookSpecs bookSpecs) {
+    Optional<Set<Long>> indexedBookIds =
+        bookSearchIndex.search(bookSpecs.getTitle(), bookSpecs.getIsbn());
+
+    SpecificationBuilder<Book> specBuilder = SpecificationBuilder.<Book>builder();
+    if (indexedBookIds.isPresent() && !indexedBookIds.get().isEmpty()) {
+      specBuilder.inIfPresent(root -> root.get(Book_.id), List.copyOf(indexedBookIds.get()));
+    } else {
+      specBuilder
+          .likeIfPresent(root -> root.get(Book_.isbnLower), bookSpecs.getIsbn())
+          .likeIfPresent(root -> root.get(Book_.titleLower), bookSpecs.getTitle());
+    }
+
+    return SqlStatsSpecifications.capturing(
+        specBuilder
+            .betweenIfPresent(
+                root -> root.get(Book_.price), bookSpecs.getMinPrice(), bookSpecs.getMaxPrice())
+            .equalsIfPresent(
+                root -> root.get(Book_.isAvailableOnline), bookSpecs.getIsAvailableOnline())
+            .equalsIfPresent(root -> root.get(Book_.status), bookSpecs.getStatus())
+            .inIfPresent(root -> root.join(Book_.authors).get(Author_.id), bookSpecs.getAuthorIds())
+            .build());
+  }
 }
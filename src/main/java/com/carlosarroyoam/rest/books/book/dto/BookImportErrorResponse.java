@@ -0,0 +1,15 @@
+package com.carlosarroyoam.rest.books.book.dto;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+public class BookImportErrorResponse {
+  private long row;
+  private String isbn;
+  private List<String> messages;
+}
@@ -0,0 +1,16 @@
+package com.carlosarroyoam.rest.books.book.dto;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+public class BookImportResponse {
+  private long totalRows;
+  private long importedRows;
+  private long failedRows;
+  private List<BookImportErrorResponse> errors;
+}
@@ -0,0 +1,52 @@
+package com.carlosarroyoam.rest.books.book.dto;
+
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PastOrPresent;
+import jakarta.validation.constraints.Size;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportBookRequest {
+  @NotBlank(message = "ISBN should not be blank")
+  @Size(min = 10, max = 17, message = "Isbn should be between 10 and 17")
+  private String isbn;
+
+  @NotBlank(message = "Title should not be blank")
+  @Size(min = 3, max = 128, message = "Title should be between 3 and 128")
+  private String title;
+
+  @NotBlank(message = "Cover_url should not be blank")
+  @Size(min = 3, max = 512, message = "Cover_url should be between 3 and 128")
+  private String coverUrl;
+
+  @NotNull(message = "Price should not be null")
+  @Digits(
+      integer = 5,
+      fraction = 2,
+      message = "Price should have max 5 integral digits and max 2 fractional digits")
+  private BigDecimal price;
+
+  @NotNull(message = "Is_available_online should not be null")
+  private Boolean isAvailableOnline;
+
+  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+  @NotNull(message = "Published_at should not be null")
+  @PastOrPresent(message = "Published_at should be a date in past or present")
+  private LocalDate publishedAt;
+
+  private List<Long> authorIds;
+}
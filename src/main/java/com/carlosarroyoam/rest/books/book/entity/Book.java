@@ -9,10 +9,13 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -25,23 +28,49 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "books")
+@Table(
+    name = "books",
+    uniqueConstraints =
+        @UniqueConstraint(name = Book.ISBN_UNIQUE_CONSTRAINT, columnNames = "isbn"),
+    indexes = {
+      @Index(
+          name = "idx_books_status_online_price",
+          columnList = "status, is_available_online, price"),
+      @Index(name = "idx_books_price", columnList = "price")
+    })
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Book {
+  public static final String ISBN_UNIQUE_CONSTRAINT = "uk_books_isbn";
+
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "books_seq")
+  @SequenceGenerator(name = "books_seq", sequenceName = "books_seq", allocationSize = 50)
   private Long id;
 
-  @Column(name = "isbn", length = 17, nullable = false, unique = true)
+  @Column(name = "isbn", length = 17, nullable = false)
   private String isbn;
 
+  @Column(
+      name = "isbn_lower",
+      columnDefinition = "VARCHAR(17) GENERATED ALWAYS AS (LOWER(isbn))",
+      insertable = false,
+      updatable = false)
+  private String isbnLower;
+
   @Column(name = "title", length = 128, nullable = false)
   private String title;
 
+  @Column(
+      name = "title_lower",
+      columnDefinition = "VARCHAR(128) GENERATED ALWAYS AS (LOWER(title))",
+      insertable = false,
+      updatable = false)
+  private String titleLower;
+
   @Column(name = "cover_url", length = 512, nullable = false)
   private String coverUrl;
 
@@ -60,7 +89,8 @@ public class Book {
   @JoinTable(
       name = "book_authors",
       joinColumns = @JoinColumn(name = "book_id"),
-      inverseJoinColumns = @JoinColumn(name = "author_id"))
+      inverseJoinColumns = @JoinColumn(name = "author_id"),
+      indexes = @Index(name = "idx_book_authors_author_id", columnList = "author_id, book_id"))
   private List<Author> authors = new ArrayList<>();
 
   @Column(name = "published_at", nullable = false)
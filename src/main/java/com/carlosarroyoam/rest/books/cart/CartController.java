@@ -1,8 +1,10 @@
 package com.carlosarroyoam.rest.books.cart;
 
 import com.carlosarroyoam.rest.books.cart.dto.CartResponse;
+import com.carlosarroyoam.rest.books.cart.dto.CheckoutCartRequest;
 import com.carlosarroyoam.rest.books.cart.dto.UpdateCartItemRequest;
 import com.carlosarroyoam.rest.books.core.constant.CustomClaimNames;
+import com.carlosarroyoam.rest.books.order.dto.OrderResponse;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -11,10 +13,13 @@ import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
 
 @RestController
 @RequestMapping("/carts")
@@ -33,6 +38,19 @@ public class CartController {
     return ResponseEntity.ok(cartByUsername);
   }
 
+  @PostMapping(value = "/checkout", consumes = "application/json")
+  @PreAuthorize("hasRole('App/Customer')")
+  public ResponseEntity<Void> checkout(
+      @Valid @RequestBody CheckoutCartRequest request,
+      @AuthenticationPrincipal Jwt jwt,
+      UriComponentsBuilder builder) {
+    Long customerId = jwt.getClaim(CustomClaimNames.CUSTOMER_ID);
+    OrderResponse createdOrder = cartService.checkout(customerId, request);
+    UriComponents uriComponents =
+        builder.path("/orders/{orderId}").buildAndExpand(createdOrder.getId());
+    return ResponseEntity.created(uriComponents.toUri()).build();
+  }
+
   @PutMapping(value = "/items", consumes = "application/json")
   @PreAuthorize("hasRole('App/Customer')")
   public ResponseEntity<Void> updateCartItem(
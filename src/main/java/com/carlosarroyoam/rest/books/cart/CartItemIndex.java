@@ -0,0 +1,29 @@
+package com.carlosarroyoam.rest.books.cart;
+
+import com.carlosarroyoam.rest.books.cart.entity.Cart;
+import com.carlosarroyoam.rest.books.cart.entity.CartItem;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+public class CartItemIndex {
+  private final Map<Long, CartItem> itemsById;
+
+  private CartItemIndex(Map<Long, CartItem> itemsById) {
+    this.itemsById = itemsById;
+  }
+
+  public static CartItemIndex of(Cart cart) {
+    Map<Long, CartItem> itemsById = new HashMap<>();
+
+    for (CartItem item : cart.getItems()) {
+      itemsById.put(item.getId(), item);
+    }
+
+    return new CartItemIndex(itemsById);
+  }
+
+  public Optional<CartItem> findById(Long cartItemId) {
+    return Optional.ofNullable(itemsById.get(cartItemId));
+  }
+}
@@ -1,6 +1,25 @@
 package com.carlosarroyoam.rest.books.cart;
 
 import com.carlosarroyoam.rest.books.cart.entity.CartItem;
+import java.time.LocalDateTime;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
-public interface CartItemRepository extends JpaRepository<CartItem, Long> {}
+public interface CartItemRepository extends JpaRepository<CartItem, Long> {
+  @Modifying
+  @Query("DELETE FROM CartItem ci WHERE ci.cart.id = :cartId")
+  int deleteByCartId(Long cartId);
+
+  @Modifying
+  @Query(
+      value =
+          "MERGE INTO cart_items ci"
+              + " USING (SELECT b.id AS book_id FROM books b WHERE b.id = :bookId) s"
+              + " ON ci.cart_id = :cartId AND ci.book_id = s.book_id"
+              + " WHEN MATCHED THEN UPDATE SET quantity = :quantity, added_at = :addedAt"
+              + " WHEN NOT MATCHED THEN INSERT (id, cart_id, book_id, quantity, added_at)"
+              + " VALUES (NEXT VALUE FOR cart_items_seq, :cartId, s.book_id, :quantity, :addedAt)",
+      nativeQuery = true)
+  int upsert(Long cartId, Long bookId, Integer quantity, LocalDateTime addedAt);
+}
@@ -1,11 +1,23 @@
 package com.carlosarroyoam.rest.books.cart;
 
 import com.carlosarroyoam.rest.books.cart.entity.Cart;
+import jakarta.persistence.LockModeType;
 import java.util.Optional;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 
 public interface CartRepository extends JpaRepository<Cart, Long> {
-  Optional<Cart> findByCustomerId(Long customerId);
+  @EntityGraph(attributePaths = {"customer", "items", "items.book"})
+  Optional<Cart> findWithItemsByCustomerId(Long customerId);
+
+  @Query("SELECT c.id FROM Cart c WHERE c.customer.id = :customerId")
+  Optional<Long> findIdByCustomerId(Long customerId);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT c FROM Cart c WHERE c.customer.id = :customerId")
+  Optional<Cart> findForUpdateByCustomerId(Long customerId);
 
   boolean existsByCustomerId(Long customerId);
 }
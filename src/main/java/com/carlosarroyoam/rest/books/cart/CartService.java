@@ -1,17 +1,23 @@
 package com.carlosarroyoam.rest.books.cart;
 
 import com.carlosarroyoam.rest.books.book.BookRepository;
-import com.carlosarroyoam.rest.books.book.entity.Book;
 import com.carlosarroyoam.rest.books.cart.dto.CartResponse;
 import com.carlosarroyoam.rest.books.cart.dto.CartResponse.CartResponseMapper;
+import com.carlosarroyoam.rest.books.cart.dto.CheckoutCartRequest;
 import com.carlosarroyoam.rest.books.cart.dto.UpdateCartItemRequest;
 import com.carlosarroyoam.rest.books.cart.entity.Cart;
 import com.carlosarroyoam.rest.books.cart.entity.CartItem;
 import com.carlosarroyoam.rest.books.core.constant.AppMessages;
-import java.time.LocalDateTime;
-import java.util.Optional;
+import com.carlosarroyoam.rest.books.order.OrderService;
+import com.carlosarroyoam.rest.books.order.dto.CreateOrderItemRequest;
+import com.carlosarroyoam.rest.books.order.dto.CreateOrderRequest;
+import com.carlosarroyoam.rest.books.order.dto.OrderResponse;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,60 +29,89 @@ public class CartService {
   private final CartRepository cartRepository;
   private final CartItemRepository cartItemRepository;
   private final BookRepository bookRepository;
+  private final CartStore cartStore;
+  private final OrderService orderService;
 
   public CartService(
       CartRepository cartRepository,
       CartItemRepository cartItemRepository,
-      BookRepository bookRepository) {
+      BookRepository bookRepository,
+      CartStore cartStore,
+      OrderService orderService) {
     this.cartRepository = cartRepository;
     this.cartItemRepository = cartItemRepository;
     this.bookRepository = bookRepository;
+    this.cartStore = cartStore;
+    this.orderService = orderService;
   }
 
-  @Transactional(readOnly = true)
+  @Transactional
   public CartResponse findByCustomerId(Long customerId) {
+    cartStore.flush(customerId);
     Cart cartByCustomerId = findCartByCustomerIdOrFail(customerId);
+    fetchBookAuthors(cartByCustomerId);
     return CartResponseMapper.INSTANCE.toDto(cartByCustomerId);
   }
 
-  @Transactional
   public void updateCartItem(Long customerId, UpdateCartItemRequest request) {
-    Cart cartByCustomerId = findCartByCustomerIdOrFail(customerId);
-    Book bookById = findBookByIdOrFail(request.getBookId());
+    cartStore.updateCartItem(customerId, request);
+  }
 
-    Optional<CartItem> cartItemOptional =
-        cartByCustomerId.getItems().stream()
-            .filter(item -> item.getBook().getId().equals(request.getBookId()))
-            .findFirst();
+  @Transactional
+  public void deleteCartItem(Long customerId, Long cartItemId) {
+    cartStore.flush(customerId);
+    Cart cartByCustomerId = findCartByCustomerIdOrFail(customerId);
 
     CartItem cartItem =
-        cartItemOptional.orElseGet(
-            () ->
-                CartItem.builder()
-                    .book(bookById)
-                    .quantity(request.getQuantity())
-                    .addedAt(LocalDateTime.now())
-                    .cart(cartByCustomerId)
-                    .build());
-
-    cartItem.setQuantity(request.getQuantity());
-    cartItem.setAddedAt(LocalDateTime.now());
-    cartItemRepository.save(cartItem);
+        CartItemIndex.of(cartByCustomerId)
+            .findById(cartItemId)
+            .orElseThrow(
+                () -> {
+                  log.warn(AppMessages.CART_ITEM_NOT_FOUND_EXCEPTION);
+                  return new ResponseStatusException(
+                      HttpStatus.NOT_FOUND, AppMessages.CART_ITEM_NOT_FOUND_EXCEPTION);
+                });
+
+    cartItemRepository.deleteById(cartItem.getId());
   }
 
   @Transactional
-  public void deleteCartItem(Long customerId, Long cartItemId) {
-    Cart cartByCustomerId = findCartByCustomerIdOrFail(customerId);
+  public OrderResponse checkout(Long customerId, CheckoutCartRequest request) {
+    cartStore.flush(customerId);
+    Cart cartByCustomerId = lockCartByCustomerIdOrFail(customerId);
 
-    cartByCustomerId.getItems().stream()
-        .filter(item -> item.getId().equals(cartItemId))
-        .findFirst()
-        .ifPresent(cartItem -> cartItemRepository.deleteById(cartItem.getId()));
+    if (cartByCustomerId.getItems().isEmpty()) {
+      log.warn(AppMessages.CART_EMPTY_EXCEPTION);
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, AppMessages.CART_EMPTY_EXCEPTION);
+    }
+
+    List<CreateOrderItemRequest> orderItems =
+        cartByCustomerId.getItems().stream()
+            .map(
+                cartItem ->
+                    CreateOrderItemRequest.builder()
+                        .bookId(cartItem.getBook().getId())
+                        .quantity(cartItem.getQuantity())
+                        .build())
+            .toList();
+
+    OrderResponse createdOrder =
+        orderService.create(
+            CreateOrderRequest.builder()
+                .customerId(customerId)
+                .shippingAddress(request.getShippingAddress())
+                .billingAddress(request.getBillingAddress())
+                .notes(request.getNotes())
+                .items(orderItems)
+                .build());
+
+    cartItemRepository.deleteByCartId(cartByCustomerId.getId());
+    return createdOrder;
   }
 
   private Cart findCartByCustomerIdOrFail(Long customerId) {
     return cartRepository
-        .findByCustomerId(customerId)
+        .findWithItemsByCustomerId(customerId)
         .orElseThrow(
             () -> {
               log.warn(AppMessages.CART_NOT_FOUND_EXCEPTION);
@@ -85,14 +120,31 @@ public class CartService {
             });
   }
 
-  private Book findBookByIdOrFail(Long bookId) {
-    return bookRepository
-        .findById(bookId)
-        .orElseThrow(
-            () -> {
-              log.warn(AppMessages.BOOK_NOT_FOUND_EXCEPTION);
-              return new ResponseStatusException(
-                  HttpStatus.NOT_FOUND, AppMessages.BOOK_NOT_FOUND_EXCEPTION);
-            });
+  private Cart lockCartByCustomerIdOrFail(Long customerId) {
+    try {
+      return cartRepository
+          .findForUpdateByCustomerId(customerId)
+          .orElseThrow(
+              () -> {
+                log.warn(AppMessages.CART_NOT_FOUND_EXCEPTION);
+                return new ResponseStatusException(
+                    HttpStatus.NOT_FOUND, AppMessages.CART_NOT_FOUND_EXCEPTION);
+              });
+    } catch (PessimisticLockingFailureException ex) {
+      log.warn(AppMessages.CART_CHECKOUT_IN_PROGRESS_EXCEPTION);
+      throw new ResponseStatusException(
+          HttpStatus.CONFLICT, AppMessages.CART_CHECKOUT_IN_PROGRESS_EXCEPTION);
+    }
+  }
+
+  private void fetchBookAuthors(Cart cart) {
+    Set<Long> bookIds =
+        cart.getItems().stream()
+            .map(cartItem -> cartItem.getBook().getId())
+            .collect(Collectors.toSet());
+
+    if (!bookIds.isEmpty()) {
+      bookRepository.findAllWithAuthorsByIdIn(bookIds);
+    }
   }
 }
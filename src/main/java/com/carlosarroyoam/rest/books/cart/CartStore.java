@@ -0,0 +1,9 @@
+package com.carlosarroyoam.rest.books.cart;
+
+import com.carlosarroyoam.rest.books.cart.dto.UpdateCartItemRequest;
+
+public interface CartStore {
+  void updateCartItem(Long customerId, UpdateCartItemRequest request);
+
+  void flush(Long customerId);
+}
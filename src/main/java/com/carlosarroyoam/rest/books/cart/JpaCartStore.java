@@ -0,0 +1,72 @@
+package com.carlosarroyoam.rest.books.cart;
+
+import com.carlosarroyoam.rest.books.cart.dto.UpdateCartItemRequest;
+import com.carlosarroyoam.rest.books.core.constant.AppMessages;
+import java.time.LocalDateTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+@Component
+@ConditionalOnProperty(name = "application.cart.store", havingValue = "jpa", matchIfMissing = true)
+public class JpaCartStore implements CartStore {
+  private static final Logger log = LoggerFactory.getLogger(JpaCartStore.class);
+  private final CartRepository cartRepository;
+  private final CartItemRepository cartItemRepository;
+  private final TransactionTemplate transactionTemplate;
+
+  public JpaCartStore(
+      CartRepository cartRepository,
+      CartItemRepository cartItemRepository,
+      PlatformTransactionManager transactionManager) {
+    this.cartRepository = cartRepository;
+    this.cartItemRepository = cartItemRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  @Override
+  public void updateCartItem(Long customerId, UpdateCartItemRequest request) {
+    int upsertedRows;
+    try {
+      upsertedRows = upsert(customerId, request);
+    } catch (DataIntegrityViolationException ex) {
+      log.debug("Concurrent insert of book {} into cart, retrying as update", request.getBookId());
+      upsertedRows = upsert(customerId, request);
+    }
+
+    if (upsertedRows == 0) {
+      log.warn(AppMessages.BOOK_NOT_FOUND_EXCEPTION);
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, AppMessages.BOOK_NOT_FOUND_EXCEPTION);
+    }
+  }
+
+  @Override
+  public void flush(Long customerId) {}
+
+  private int upsert(Long customerId, UpdateCartItemRequest request) {
+    return transactionTemplate.execute(
+        status ->
+            cartItemRepository.upsert(
+                findCartIdByCustomerIdOrFail(customerId),
+                request.getBookId(),
+                request.getQuantity(),
+                LocalDateTime.now()));
+  }
+
+  private Long findCartIdByCustomerIdOrFail(Long customerId) {
+    return cartRepository
+        .findIdByCustomerId(customerId)
+        .orElseThrow(
+            () -> {
+              log.warn(AppMessages.CART_NOT_FOUND_EXCEPTION);
+              return new ResponseStatusException(
+                  HttpStatus.NOT_FOUND, AppMessages.CART_NOT_FOUND_EXCEPTION);
+            });
+  }
+}
@@ -0,0 +1,237 @@
+package com.carlosarroyoam.rest.books.cart;
+
+import com.carlosarroyoam.rest.books.book.BookRepository;
+import com.carlosarroyoam.rest.books.cart.dto.UpdateCartItemRequest;
+import com.carlosarroyoam.rest.books.core.constant.AppMessages;
+import com.carlosarroyoam.rest.books.core.property.CartProps;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+@Component
+@ConditionalOnProperty(name = "application.cart.store", havingValue = "write-behind")
+public class WriteBehindCartStore implements CartStore, MeterBinder {
+  private static final Logger log = LoggerFactory.getLogger(WriteBehindCartStore.class);
+  private static final int LOCK_STRIPES = 1024;
+  private final CartRepository cartRepository;
+  private final CartItemRepository cartItemRepository;
+  private final BookRepository bookRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+  private final Map<Long, PendingCart> pendingCarts = new ConcurrentHashMap<>();
+  private final ReentrantLock[] customerLocks =
+      Stream.generate(ReentrantLock::new).limit(LOCK_STRIPES).toArray(ReentrantLock[]::new);
+
+  public WriteBehindCartStore(
+      CartRepository cartRepository,
+      CartItemRepository cartItemRepository,
+      BookRepository bookRepository,
+      PlatformTransactionManager transactionManager,
+      CartProps cartProps) {
+    this.cartRepository = cartRepository;
+    this.cartItemRepository = cartItemRepository;
+    this.bookRepository = bookRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.batchSize = cartProps.getBatchSize();
+  }
+
+  @Override
+  public void updateCartItem(Long customerId, UpdateCartItemRequest request) {
+    if (!bookRepository.existsById(request.getBookId())) {
+      log.warn(AppMessages.BOOK_NOT_FOUND_EXCEPTION);
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, AppMessages.BOOK_NOT_FOUND_EXCEPTION);
+    }
+
+    PendingCart pendingCart = pendingCarts.get(customerId);
+    Long cartId =
+        pendingCart != null ? pendingCart.cartId() : findCartIdByCustomerIdOrFail(customerId);
+    PendingItem pendingItem = new PendingItem(request.getQuantity(), LocalDateTime.now());
+
+    pendingCarts.compute(
+        customerId,
+        (id, current) -> {
+          PendingCart cart = current != null ? current : new PendingCart(cartId);
+          cart.items().put(request.getBookId(), pendingItem);
+          return cart;
+        });
+  }
+
+  @Override
+  public void flush(Long customerId) {
+    ReentrantLock customerLock = lockFor(customerId);
+    customerLock.lock();
+    try {
+      PendingCart pendingCart = pendingCarts.remove(customerId);
+      if (pendingCart != null) {
+        write(Map.of(customerId, pendingCart));
+      }
+    } finally {
+      customerLock.unlock();
+    }
+  }
+
+  @Scheduled(
+      fixedDelayString = "${application.cart.flush-interval}",
+      initialDelayString = "${application.cart.flush-interval}")
+  public void flushAll() {
+    List<Long> customerIds =
+        pendingCarts.keySet().stream().sorted(Comparator.comparingInt(this::stripeOf)).toList();
+    Deque<ReentrantLock> heldLocks = new ArrayDeque<>();
+    Map<Long, PendingCart> batch = new LinkedHashMap<>();
+    int batchItems = 0;
+
+    try {
+      for (Long customerId : customerIds) {
+        ReentrantLock customerLock = lockFor(customerId);
+        if (!customerLock.isHeldByCurrentThread()) {
+          customerLock.lock();
+          heldLocks.push(customerLock);
+        }
+
+        PendingCart pendingCart = pendingCarts.remove(customerId);
+        if (pendingCart == null) {
+          continue;
+        }
+
+        batch.put(customerId, pendingCart);
+        batchItems += pendingCart.items().size();
+        if (batchItems >= batchSize) {
+          writeBatch(batch);
+          unlockAll(heldLocks);
+          batch = new LinkedHashMap<>();
+          batchItems = 0;
+        }
+      }
+
+      if (!batch.isEmpty()) {
+        writeBatch(batch);
+      }
+    } finally {
+      unlockAll(heldLocks);
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    flushAll();
+    if (!pendingCarts.isEmpty()) {
+      log.warn("Discarding pending edits for {} carts on shutdown", pendingCarts.size());
+    }
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("carts.pending", pendingCarts, Map::size)
+        .description("Carts with edits not yet written to the database")
+        .register(registry);
+  }
+
+  private void writeBatch(Map<Long, PendingCart> batch) {
+    try {
+      write(batch);
+    } catch (DataAccessException ex) {
+      log.warn("Could not flush {} carts, retrying on next flush", batch.size(), ex);
+    }
+  }
+
+  private void write(Map<Long, PendingCart> batch) {
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          TransactionSynchronizationManager.registerSynchronization(
+              new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                  if (status != STATUS_COMMITTED) {
+                    batch.forEach(WriteBehindCartStore.this::requeue);
+                  }
+                }
+              });
+
+          batch.values().forEach(this::upsertItems);
+        });
+  }
+
+  private void upsertItems(PendingCart pendingCart) {
+    pendingCart
+        .items()
+        .forEach(
+            (bookId, pendingItem) -> {
+              int upsertedRows =
+                  cartItemRepository.upsert(
+                      pendingCart.cartId(),
+                      bookId,
+                      pendingItem.quantity(),
+                      pendingItem.addedAt());
+
+              if (upsertedRows == 0) {
+                log.warn("Dropping cart edit for missing book {}", bookId);
+              }
+            });
+  }
+
+  private ReentrantLock lockFor(Long customerId) {
+    return customerLocks[stripeOf(customerId)];
+  }
+
+  private int stripeOf(Long customerId) {
+    return Math.floorMod(customerId.hashCode(), LOCK_STRIPES);
+  }
+
+  private static void unlockAll(Deque<ReentrantLock> heldLocks) {
+    while (!heldLocks.isEmpty()) {
+      heldLocks.pop().unlock();
+    }
+  }
+
+  private void requeue(Long customerId, PendingCart failedCart) {
+    pendingCarts.merge(
+        customerId,
+        failedCart,
+        (current, failed) -> {
+          failed.items().forEach(current.items()::putIfAbsent);
+          return current;
+        });
+  }
+
+  private Long findCartIdByCustomerIdOrFail(Long customerId) {
+    return cartRepository
+        .findIdByCustomerId(customerId)
+        .orElseThrow(
+            () -> {
+              log.warn(AppMessages.CART_NOT_FOUND_EXCEPTION);
+              return new ResponseStatusException(
+                  HttpStatus.NOT_FOUND, AppMessages.CART_NOT_FOUND_EXCEPTION);
+            });
+  }
+
+  private record PendingCart(Long cartId, Map<Long, PendingItem> items) {
+    PendingCart(Long cartId) {
+      this(cartId, new LinkedHashMap<>());
+    }
+  }
+
+  private record PendingItem(Integer quantity, LocalDateTime addedAt) {}
+}
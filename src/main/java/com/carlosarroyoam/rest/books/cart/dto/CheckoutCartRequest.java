@@ -0,0 +1,23 @@
+package com.carlosarroyoam.rest.books.cart.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+public class CheckoutCartRequest {
+  @NotBlank(message = "Shipping address should not be blank")
+  @Size(min = 10, max = 512, message = "Shipping_address should be between 10 and 512")
+  private String shippingAddress;
+
+  @NotBlank(message = "Billing address should not be blank")
+  @Size(min = 10, max = 512, message = "Billing address should be between 10 and 512")
+  private String billingAddress;
+
+  @Size(max = 1000, message = "Notes should be between 0 and 1000")
+  private String notes;
+}
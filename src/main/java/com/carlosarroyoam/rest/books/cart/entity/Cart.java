@@ -7,9 +7,11 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -21,7 +23,9 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "carts")
+@Table(
+    name = "carts",
+    indexes = @Index(name = "idx_carts_customer_id", columnList = "customer_id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -29,7 +33,8 @@ import lombok.Setter;
 @Builder
 public class Cart {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "carts_seq")
+  @SequenceGenerator(name = "carts_seq", sequenceName = "carts_seq", allocationSize = 50)
   private Long id;
 
   @Builder.Default
@@ -0,0 +1,82 @@
+package com.carlosarroyoam.rest.books.core.bloom;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class BloomFilter {
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+  private final AtomicLongArray words;
+  private final long bitCount;
+  private final int hashFunctions;
+
+  public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+    if (expectedInsertions <= 0) {
+      throw new IllegalArgumentException("expectedInsertions must be positive");
+    }
+
+    if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+      throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1");
+    }
+
+    double ln2 = Math.log(2);
+    long optimalBits =
+        (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+    int wordCount = (int) Math.max(1, (optimalBits + Long.SIZE - 1) / Long.SIZE);
+    this.words = new AtomicLongArray(wordCount);
+    this.bitCount = (long) wordCount * Long.SIZE;
+    this.hashFunctions =
+        (int) Math.max(1, Math.round((double) bitCount / expectedInsertions * ln2));
+  }
+
+  public void put(String value) {
+    long hash1 = hash(value);
+    long hash2 = mix(hash1) | 1L;
+
+    for (int i = 0; i < hashFunctions; i++) {
+      long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+      long mask = 1L << bit;
+      words.getAndAccumulate((int) (bit >>> 6), mask, (word, bitMask) -> word | bitMask);
+    }
+  }
+
+  public boolean mightContain(String value) {
+    long hash1 = hash(value);
+    long hash2 = mix(hash1) | 1L;
+
+    for (int i = 0; i < hashFunctions; i++) {
+      long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+      if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  public long bitCount() {
+    return bitCount;
+  }
+
+  public int hashFunctions() {
+    return hashFunctions;
+  }
+
+  private static long hash(String value) {
+    long hash = FNV_OFFSET_BASIS;
+    for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+      hash ^= b;
+      hash *= FNV_PRIME;
+    }
+    return mix(hash);
+  }
+
+  private static long mix(long value) {
+    value ^= value >>> 33;
+    value *= 0xff51afd7ed558ccdL;
+    value ^= value >>> 33;
+    value *= 0xc4ceb9fe1a85ec53L;
+    value ^= value >>> 33;
+    return value;
+  }
+}
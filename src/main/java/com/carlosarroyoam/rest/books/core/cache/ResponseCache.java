@@ -0,0 +1,131 @@
+package com.carlosarroyoam.rest.books.core.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class ResponseCache<K, V> implements MeterBinder {
+  private final String name;
+  private final int maxSize;
+  private final Duration ttl;
+  private final Clock clock;
+  private final Map<K, CachedValue<V>> values;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private long generation;
+
+  public ResponseCache(String name, int maxSize, Duration ttl) {
+    this(name, maxSize, ttl, Clock.systemUTC());
+  }
+
+  public ResponseCache(String name, int maxSize, Duration ttl, Clock clock) {
+    this.name = name;
+    this.maxSize = maxSize;
+    this.ttl = ttl;
+    this.clock = clock;
+    this.values =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<K, CachedValue<V>> eldest) {
+            boolean full = size() > ResponseCache.this.maxSize;
+            if (full) {
+              evictions.increment();
+            }
+            return full;
+          }
+        };
+  }
+
+  public V get(K key, Function<K, V> loader) {
+    long loadGeneration;
+    synchronized (this) {
+      CachedValue<V> cachedValue = values.get(key);
+      if (cachedValue != null && cachedValue.expiresAt().isAfter(clock.instant())) {
+        hits.increment();
+        return cachedValue.value();
+      }
+
+      if (cachedValue != null) {
+        values.remove(key);
+        evictions.increment();
+      }
+
+      misses.increment();
+      loadGeneration = generation;
+    }
+
+    V value = loader.apply(key);
+
+    synchronized (this) {
+      if (loadGeneration == generation) {
+        values.put(key, new CachedValue<>(value, clock.instant().plus(ttl)));
+      }
+    }
+
+    return value;
+  }
+
+  public void evict(K key) {
+    runNowAndAfterCommit(() -> remove(key));
+  }
+
+  public void evictIf(Predicate<V> predicate) {
+    runNowAndAfterCommit(() -> removeIf(predicate));
+  }
+
+  public synchronized int size() {
+    return values.size();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("cache.gets", hits, LongAdder::doubleValue)
+        .tags("cache", name, "result", "hit")
+        .register(registry);
+    FunctionCounter.builder("cache.gets", misses, LongAdder::doubleValue)
+        .tags("cache", name, "result", "miss")
+        .register(registry);
+    FunctionCounter.builder("cache.evictions", evictions, LongAdder::doubleValue)
+        .tag("cache", name)
+        .register(registry);
+    Gauge.builder("cache.size", this, ResponseCache::size).tag("cache", name).register(registry);
+  }
+
+  private synchronized void remove(K key) {
+    generation++;
+    values.remove(key);
+  }
+
+  private synchronized void removeIf(Predicate<V> predicate) {
+    generation++;
+    values.values().removeIf(cachedValue -> predicate.test(cachedValue.value()));
+  }
+
+  private static void runNowAndAfterCommit(Runnable action) {
+    action.run();
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              action.run();
+            }
+          });
+    }
+  }
+
+  private record CachedValue<V>(V value, Instant expiresAt) {}
+}
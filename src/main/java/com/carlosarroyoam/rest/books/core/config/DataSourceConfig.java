@@ -0,0 +1,82 @@
+package com.carlosarroyoam.rest.books.core.config;
+
+import com.carlosarroyoam.rest.books.core.property.ReadOnlyDataSourceProps;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+@Configuration
+public class DataSourceConfig {
+  @Bean
+  @ConfigurationProperties(prefix = "spring.datasource.hikari")
+  HikariDataSource readWriteDataSource(DataSourceProperties dataSourceProperties) {
+    return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+  }
+
+  @Bean
+  @ConfigurationProperties(prefix = "application.datasource.read-only.hikari")
+  HikariDataSource readOnlyDataSource(
+      DataSourceProperties dataSourceProperties, ReadOnlyDataSourceProps readOnlyDataSourceProps) {
+    boolean replica = StringUtils.hasText(readOnlyDataSourceProps.getUrl());
+    HikariDataSource dataSource =
+        DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .driverClassName(dataSourceProperties.determineDriverClassName())
+            .url(
+                replica
+                    ? readOnlyDataSourceProps.getUrl()
+                    : dataSourceProperties.determineUrl())
+            .username(
+                replica
+                    ? readOnlyDataSourceProps.getUsername()
+                    : dataSourceProperties.determineUsername())
+            .password(
+                replica
+                    ? readOnlyDataSourceProps.getPassword()
+                    : dataSourceProperties.determinePassword())
+            .build();
+    dataSource.setReadOnly(true);
+    return dataSource;
+  }
+
+  @Bean
+  @Primary
+  DataSource dataSource(HikariDataSource readWriteDataSource, HikariDataSource readOnlyDataSource) {
+    LazyConnectionDataSourceProxy dataSource =
+        new LazyConnectionDataSourceProxy(readWriteDataSource);
+    dataSource.setReadOnlyDataSource(readOnlyDataSource);
+    return dataSource;
+  }
+
+  @Bean
+  MeterBinder dataSourceSaturationMetrics(
+      HikariDataSource readWriteDataSource, HikariDataSource readOnlyDataSource) {
+    return registry -> {
+      for (HikariDataSource dataSource : List.of(readWriteDataSource, readOnlyDataSource)) {
+        Gauge.builder("hikaricp.connections.saturation", dataSource, DataSourceConfig::saturation)
+            .tag("pool", dataSource.getPoolName())
+            .register(registry);
+      }
+    };
+  }
+
+  private static double saturation(HikariDataSource dataSource) {
+    HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+    if (pool == null || dataSource.getMaximumPoolSize() == 0) {
+      return 0;
+    }
+    return (double) (pool.getActiveConnections() + pool.getThreadsAwaitingConnection())
+        / dataSource.getMaximumPoolSize();
+  }
+}
@@ -0,0 +1,28 @@
+package com.carlosarroyoam.rest.books.core.config;
+
+import com.carlosarroyoam.rest.books.core.idempotency.IdempotencyStore;
+import com.carlosarroyoam.rest.books.core.property.IdempotencyProps;
+import java.net.URI;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class IdempotencyConfig {
+  @Bean
+  IdempotencyStore<URI> orderIdempotencyStore(IdempotencyProps idempotencyProps) {
+    return new IdempotencyStore<>(
+        "orders",
+        idempotencyProps.getMaxSize(),
+        idempotencyProps.getTtl(),
+        idempotencyProps.getReplayTimeout());
+  }
+
+  @Bean
+  IdempotencyStore<URI> paymentIdempotencyStore(IdempotencyProps idempotencyProps) {
+    return new IdempotencyStore<>(
+        "payments",
+        idempotencyProps.getMaxSize(),
+        idempotencyProps.getTtl(),
+        idempotencyProps.getReplayTimeout());
+  }
+}
@@ -0,0 +1,21 @@
+package com.carlosarroyoam.rest.books.core.config;
+
+import com.carlosarroyoam.rest.books.author.dto.AuthorResponse;
+import com.carlosarroyoam.rest.books.book.dto.BookResponse;
+import com.carlosarroyoam.rest.books.core.cache.ResponseCache;
+import com.carlosarroyoam.rest.books.core.property.CacheProps;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ResponseCacheConfig {
+  @Bean
+  ResponseCache<Long, BookResponse> bookResponseCache(CacheProps cacheProps) {
+    return new ResponseCache<>("books", cacheProps.getMaxSize(), cacheProps.getTtl());
+  }
+
+  @Bean
+  ResponseCache<Long, AuthorResponse> authorResponseCache(CacheProps cacheProps) {
+    return new ResponseCache<>("authors", cacheProps.getMaxSize(), cacheProps.getTtl());
+  }
+}
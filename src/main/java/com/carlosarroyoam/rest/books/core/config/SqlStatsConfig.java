@@ -0,0 +1,44 @@
+package com.carlosarroyoam.rest.books.core.config;
+
+import com.carlosarroyoam.rest.books.core.sql.SqlStatsInspector;
+import com.carlosarroyoam.rest.books.core.sql.SqlStatsInterceptor;
+import com.carlosarroyoam.rest.books.core.sql.SqlStatsSessionListener;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.BeanUtils;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ClassUtils;
+
+@Configuration
+public class SqlStatsConfig {
+  @Bean
+  HibernatePropertiesCustomizer sqlStatsHibernatePropertiesCustomizer() {
+    return hibernateProperties -> {
+      StatementInspector delegate =
+          statementInspector(hibernateProperties.get(AvailableSettings.STATEMENT_INSPECTOR));
+      hibernateProperties.put(
+          AvailableSettings.STATEMENT_INSPECTOR, new SqlStatsInspector(delegate));
+      hibernateProperties.put(AvailableSettings.INTERCEPTOR, new SqlStatsInterceptor());
+      hibernateProperties.put(
+          AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlStatsSessionListener.class.getName());
+    };
+  }
+
+  private static StatementInspector statementInspector(Object configured) {
+    if (configured instanceof StatementInspector statementInspector) {
+      return statementInspector;
+    }
+
+    if (configured instanceof Class<?> type) {
+      return (StatementInspector) BeanUtils.instantiateClass(type);
+    }
+
+    if (configured instanceof String className && !className.isBlank()) {
+      return (StatementInspector)
+          BeanUtils.instantiateClass(ClassUtils.resolveClassName(className, null));
+    }
+    return null;
+  }
+}
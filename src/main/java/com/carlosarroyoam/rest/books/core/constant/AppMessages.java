@@ -2,19 +2,37 @@ package com.carlosarroyoam.rest.books.core.constant;
 
 public class AppMessages {
   public static final String ILLEGAL_ACCESS_EXCEPTION = "Illegal access to utility class";
+  public static final String INVALID_CURSOR_EXCEPTION = "Invalid cursor";
+  public static final String CURSOR_SORT_NOT_SUPPORTED_EXCEPTION =
+      "Cursor pagination requires a single non-null sort property";
+  public static final String IDEMPOTENCY_KEY_REUSED_EXCEPTION =
+      "Idempotency key was already used with a different request";
+  public static final String IDEMPOTENCY_REQUEST_IN_PROGRESS_EXCEPTION =
+      "A request with this idempotency key is still in progress";
 
   public static final String BOOK_NOT_FOUND_EXCEPTION = "Book not found";
+  public static final String BOOKS_NOT_FOUND_EXCEPTION = "Book not found for ids %s";
   public static final String ISBN_ALREADY_EXISTS_EXCEPTION = "ISBN already exists";
+  public static final String MALFORMED_IMPORT_ROW_EXCEPTION = "Malformed import row";
+  public static final String BOOK_NOT_IMPORTED_EXCEPTION = "Book not imported";
 
   public static final String AUTHOR_NOT_FOUND_EXCEPTION = "Author not found";
+  public static final String AUTHORS_NOT_FOUND_EXCEPTION = "Author not found for ids %s";
 
   public static final String CUSTOMER_NOT_FOUND_EXCEPTION = "Customer not found";
   public static final String EMAIL_ALREADY_EXISTS_EXCEPTION = "Email already exists";
   public static final String USERNAME_ALREADY_EXISTS_EXCEPTION = "Username already exists";
   public static final String USER_NOT_CREATED_EXCEPTION = "User not created";
+  public static final String USER_BELONGS_TO_ANOTHER_CUSTOMER_EXCEPTION =
+      "User already exists for another customer";
+  public static final String PROVISIONING_CREDENTIAL_EXPIRED_EXCEPTION =
+      "Provisioning credential expired";
 
   public static final String CART_NOT_FOUND_EXCEPTION = "Cart not found";
   public static final String CART_ITEM_NOT_FOUND_EXCEPTION = "Cart item not found";
+  public static final String CART_EMPTY_EXCEPTION = "Cart is empty";
+  public static final String CART_CHECKOUT_IN_PROGRESS_EXCEPTION =
+      "Cart checkout already in progress";
 
   public static final String ORDER_NOT_FOUND_EXCEPTION = "Order not found";
 
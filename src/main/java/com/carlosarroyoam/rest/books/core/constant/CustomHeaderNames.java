@@ -0,0 +1,12 @@
+package com.carlosarroyoam.rest.books.core.constant;
+
+public class CustomHeaderNames {
+  public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+  public static final String SQL_STATEMENTS = "X-SQL-Statements";
+  public static final String SQL_EXECUTION_TIME = "X-SQL-Execution-Time";
+  public static final String SQL_ROWS = "X-SQL-Rows";
+
+  private CustomHeaderNames() {
+    throw new IllegalAccessError(AppMessages.ILLEGAL_ACCESS_EXCEPTION);
+  }
+}
@@ -0,0 +1,91 @@
+package com.carlosarroyoam.rest.books.core.diagnostics;
+
+import com.carlosarroyoam.rest.books.core.property.VirtualThreadProps;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor implements MeterBinder {
+  private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+  static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+  private final VirtualThreadProps virtualThreadProps;
+  private final LongAdder pinnedEvents = new LongAdder();
+  private RecordingStream recordingStream;
+
+  public VirtualThreadPinningMonitor(VirtualThreadProps virtualThreadProps) {
+    this.virtualThreadProps = virtualThreadProps;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    recordingStream = new RecordingStream();
+    recordingStream
+        .enable(PINNED_EVENT)
+        .withThreshold(virtualThreadProps.getPinnedThreshold())
+        .withStackTrace();
+    recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+    recordingStream.startAsync();
+    log.info(
+        "Watching for virtual threads pinned longer than {} ms",
+        virtualThreadProps.getPinnedThreshold().toMillis());
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (recordingStream != null) {
+      recordingStream.close();
+    }
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("jvm.threads.virtual.pinned", pinnedEvents, LongAdder::doubleValue)
+        .register(registry);
+  }
+
+  private void onPinned(RecordedEvent event) {
+    pinnedEvents.increment();
+    log.warn(
+        "Virtual thread pinned its carrier for {} ms{}",
+        event.getDuration().toMillis(),
+        stackTrace(event.getStackTrace()));
+  }
+
+  private String stackTrace(RecordedStackTrace stackTrace) {
+    if (stackTrace == null) {
+      return "";
+    }
+
+    return stackTrace.getFrames().stream()
+        .limit(virtualThreadProps.getPinnedStackDepth())
+        .map(VirtualThreadPinningMonitor::frame)
+        .collect(Collectors.joining());
+  }
+
+  private static String frame(RecordedFrame frame) {
+    return System.lineSeparator()
+        + "\tat "
+        + frame.getMethod().getType().getName()
+        + "."
+        + frame.getMethod().getName()
+        + ":"
+        + frame.getLineNumber();
+  }
+}
@@ -29,10 +29,17 @@ public class PagedResponse<T> {
               .page(page.getNumber())
               .size(page.getSize())
               .totalItems(page.getTotalElements())
-              .totalPages(page.getTotalPages())
+              .totalPages((long) page.getTotalPages())
               .build();
 
       return PagedResponse.<T>builder().items(page.getContent()).pagination(pagination).build();
     }
+
+    default <T> PagedResponse<T> toPagedResponse(List<T> items, int size, String nextCursor) {
+      PaginationResponse pagination =
+          PaginationResponse.builder().size(size).nextCursor(nextCursor).build();
+
+      return PagedResponse.<T>builder().items(items).pagination(pagination).build();
+    }
   }
 }
@@ -1,5 +1,7 @@
 package com.carlosarroyoam.rest.books.core.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
@@ -7,9 +9,11 @@ import lombok.Setter;
 @Getter
 @Setter
 @Builder
+@JsonInclude(Include.NON_NULL)
 public class PaginationResponse {
-  private int page;
+  private Integer page;
   private int size;
-  private long totalItems;
-  private long totalPages;
+  private Long totalItems;
+  private Long totalPages;
+  private String nextCursor;
 }
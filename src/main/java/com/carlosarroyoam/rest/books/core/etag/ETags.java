@@ -0,0 +1,101 @@
+package com.carlosarroyoam.rest.books.core.etag;
+
+import com.carlosarroyoam.rest.books.core.constant.AppMessages;
+import com.carlosarroyoam.rest.books.core.dto.PagedResponse;
+import com.carlosarroyoam.rest.books.core.dto.PaginationResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+public class ETags {
+  private static final String WEAK_PREFIX = "W/";
+  private static final int PAGE_FINGERPRINT_BYTES = 16;
+
+  private ETags() {
+    throw new IllegalAccessError(AppMessages.ILLEGAL_ACCESS_EXCEPTION);
+  }
+
+  public static String of(Long id, LocalDateTime lastModifiedAt) {
+    long epochMicros =
+        lastModifiedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + lastModifiedAt.getNano() / 1_000;
+    return "\"" + id + "-" + Long.toHexString(epochMicros) + "\"";
+  }
+
+  public static String of(Long id, Stream<LocalDateTime> updatedAts) {
+    return of(id, updatedAts.filter(Objects::nonNull).max(Comparator.naturalOrder()).orElseThrow());
+  }
+
+  public static String version(Long id, Stream<LocalDateTime> updatedAts) {
+    LocalDateTime lastModifiedAt =
+        updatedAts.filter(Objects::nonNull).max(Comparator.naturalOrder()).orElse(null);
+    return id + "@" + lastModifiedAt;
+  }
+
+  public static <T> String ofPage(PagedResponse<T> page, Function<T, String> itemVersion) {
+    MessageDigest digest = sha256();
+    PaginationResponse pagination = page.getPagination();
+    update(digest, pagination.getPage());
+    update(digest, pagination.getSize());
+    update(digest, pagination.getTotalItems());
+    update(digest, pagination.getNextCursor());
+
+    for (T item : page.getItems()) {
+      update(digest, itemVersion.apply(item));
+    }
+
+    byte[] fingerprint = new byte[PAGE_FINGERPRINT_BYTES];
+    System.arraycopy(digest.digest(), 0, fingerprint, 0, PAGE_FINGERPRINT_BYTES);
+    return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(fingerprint) + "\"";
+  }
+
+  public static <T> ResponseEntity<T> toResponse(
+      String eTag, String ifNoneMatch, Supplier<T> body) {
+    if (matches(ifNoneMatch, eTag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+    }
+
+    return ResponseEntity.ok().eTag(eTag).body(body.get());
+  }
+
+  public static boolean matches(String ifNoneMatch, String eTag) {
+    if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+      return false;
+    }
+
+    for (String candidate : ifNoneMatch.split(",")) {
+      String trimmedCandidate = candidate.trim();
+      if (trimmedCandidate.startsWith(WEAK_PREFIX)) {
+        trimmedCandidate = trimmedCandidate.substring(WEAK_PREFIX.length());
+      }
+
+      if ("*".equals(trimmedCandidate) || eTag.equals(trimmedCandidate)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  private static void update(MessageDigest digest, Object value) {
+    digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+    digest.update((byte) 0);
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+}
@@ -0,0 +1,17 @@
+package com.carlosarroyoam.rest.books.core.exception;
+
+import com.carlosarroyoam.rest.books.core.constant.AppMessages;
+import java.util.Locale;
+import org.springframework.dao.DataIntegrityViolationException;
+
+public class UniqueConstraints {
+  private UniqueConstraints() {
+    throw new IllegalAccessError(AppMessages.ILLEGAL_ACCESS_EXCEPTION);
+  }
+
+  public static boolean isViolated(DataIntegrityViolationException ex, String constraintName) {
+    String message = ex.getMostSpecificCause().getMessage();
+    return message != null
+        && message.toLowerCase(Locale.ROOT).contains(constraintName.toLowerCase(Locale.ROOT));
+  }
+}
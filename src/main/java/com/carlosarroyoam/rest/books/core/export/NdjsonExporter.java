@@ -0,0 +1,84 @@
+package com.carlosarroyoam.rest.books.core.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+@Component
+public class NdjsonExporter {
+  private static final int FETCH_SIZE = 500;
+  private static final String ID_ATTRIBUTE = "id";
+
+  private final EntityManager entityManager;
+  private final ObjectMapper objectMapper;
+
+  public NdjsonExporter(EntityManager entityManager, ObjectMapper objectMapper) {
+    this.entityManager = entityManager;
+    this.objectMapper = objectMapper;
+  }
+
+  public <T, R> void export(
+      Class<T> entityType,
+      Specification<T> spec,
+      Function<List<T>, List<R>> mapper,
+      OutputStream outputStream) {
+    List<T> batch = new ArrayList<>(FETCH_SIZE);
+
+    try (Stream<T> entities = createQuery(entityType, spec).getResultStream()) {
+      Iterator<T> iterator = entities.iterator();
+      while (iterator.hasNext()) {
+        batch.add(iterator.next());
+
+        if (batch.size() == FETCH_SIZE || !iterator.hasNext()) {
+          write(mapper.apply(batch), outputStream);
+          batch.clear();
+          entityManager.clear();
+        }
+      }
+    }
+  }
+
+  private <T> TypedQuery<T> createQuery(Class<T> entityType, Specification<T> spec) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<T> query = cb.createQuery(entityType);
+    Root<T> root = query.from(entityType);
+
+    Predicate predicate = spec.toPredicate(root, query, cb);
+    if (predicate != null) {
+      query.where(predicate);
+    }
+
+    query.orderBy(cb.asc(root.get(ID_ATTRIBUTE)));
+    return entityManager
+        .createQuery(query)
+        .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+        .setHint(HibernateHints.HINT_READ_ONLY, true);
+  }
+
+  private <R> void write(List<R> rows, OutputStream outputStream) {
+    try {
+      for (R row : rows) {
+        outputStream.write(objectMapper.writeValueAsBytes(row));
+        outputStream.write('\n');
+      }
+      outputStream.flush();
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+}
@@ -1,19 +1,48 @@
 package com.carlosarroyoam.rest.books.core.filter;
 
+import com.carlosarroyoam.rest.books.core.property.RequestMetricsProps;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
 
 @Component
 public class RequestLoggingFilter extends OncePerRequestFilter {
   private static final Logger log = LoggerFactory.getLogger(RequestLoggingFilter.class);
+  static final String METRIC_NAME = "app.http.requests";
+  private static final Duration MINIMUM_EXPECTED_VALUE = Duration.ofMillis(1);
+  private static final Duration MAXIMUM_EXPECTED_VALUE = Duration.ofSeconds(30);
+
+  private final MeterRegistry meterRegistry;
+  private final Duration[] serviceLevelObjectives;
+  private final double accessLogSampleRate;
+  private final long slowRequestThresholdNanos;
+  private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+  public RequestLoggingFilter(
+      MeterRegistry meterRegistry, RequestMetricsProps requestMetricsProps) {
+    this.meterRegistry = meterRegistry;
+    this.serviceLevelObjectives = requestMetricsProps.getSlo().toArray(Duration[]::new);
+    this.accessLogSampleRate = requestMetricsProps.getAccessLogSampleRate();
+    this.slowRequestThresholdNanos = requestMetricsProps.getSlowRequestThreshold().toNanos();
+  }
 
   @Override
   protected void doFilterInternal(
@@ -21,15 +50,88 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
       @NonNull HttpServletResponse response,
       FilterChain filterChain)
       throws ServletException, IOException {
-    long startTime = System.currentTimeMillis();
-    filterChain.doFilter(request, response);
-    long duration = System.currentTimeMillis() - startTime;
-
-    log.info(
-        "{} {} {} - {} ms",
-        request.getMethod(),
-        request.getRequestURI(),
-        response.getStatus(),
-        duration);
+    long startTime = System.nanoTime();
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      if (request.isAsyncStarted()) {
+        request
+            .getAsyncContext()
+            .addListener(
+                new AsyncListener() {
+                  @Override
+                  public void onComplete(AsyncEvent event) {
+                    record(request, response, startTime);
+                  }
+
+                  @Override
+                  public void onTimeout(AsyncEvent event) {}
+
+                  @Override
+                  public void onError(AsyncEvent event) {}
+
+                  @Override
+                  public void onStartAsync(AsyncEvent event) {}
+                });
+      } else {
+        record(request, response, startTime);
+      }
+    }
   }
+
+  private void record(HttpServletRequest request, HttpServletResponse response, long startTime) {
+    long duration = System.nanoTime() - startTime;
+    int status = response.getStatus();
+    timers
+        .computeIfAbsent(
+            new TimerKey(request.getMethod(), uri(request, status), status), this::timer)
+        .record(duration, TimeUnit.NANOSECONDS);
+
+    if (shouldLog(status, duration)) {
+      log.info(
+          "{} {} {} - {} ms",
+          request.getMethod(),
+          request.getRequestURI(),
+          status,
+          TimeUnit.NANOSECONDS.toMillis(duration));
+    }
+  }
+
+  private boolean shouldLog(int status, long duration) {
+    return status >= HttpStatus.INTERNAL_SERVER_ERROR.value()
+        || duration >= slowRequestThresholdNanos
+        || ThreadLocalRandom.current().nextDouble() < accessLogSampleRate;
+  }
+
+  private Timer timer(TimerKey key) {
+    return Timer.builder(METRIC_NAME)
+        .tag("method", key.method())
+        .tag("uri", key.uri())
+        .tag("status", Integer.toString(key.status()))
+        .tag("outcome", outcome(key.status()))
+        .publishPercentileHistogram()
+        .serviceLevelObjectives(serviceLevelObjectives)
+        .minimumExpectedValue(MINIMUM_EXPECTED_VALUE)
+        .maximumExpectedValue(MAXIMUM_EXPECTED_VALUE)
+        .register(meterRegistry);
+  }
+
+  private static String uri(HttpServletRequest request, int status) {
+    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    if (pattern != null) {
+      return pattern.toString();
+    }
+
+    if (status == HttpStatus.NOT_FOUND.value()) {
+      return "NOT_FOUND";
+    }
+    return "UNKNOWN";
+  }
+
+  private static String outcome(int status) {
+    HttpStatus.Series series = HttpStatus.Series.resolve(status);
+    return series != null ? series.name() : "UNKNOWN";
+  }
+
+  private record TimerKey(String method, String uri, int status) {}
 }
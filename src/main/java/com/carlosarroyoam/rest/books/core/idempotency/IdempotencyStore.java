@@ -0,0 +1,169 @@
+package com.carlosarroyoam.rest.books.core.idempotency;
+
+import com.carlosarroyoam.rest.books.core.constant.AppMessages;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public class IdempotencyStore<V> implements MeterBinder {
+  private static final ObjectMapper FINGERPRINT_MAPPER =
+      JsonMapper.builder().findAndAddModules().build();
+  private final String name;
+  private final int maxSize;
+  private final Duration ttl;
+  private final Duration replayTimeout;
+  private final Clock clock;
+  private final Map<String, Execution<V>> executions;
+  private final LongAdder replays = new LongAdder();
+
+  public IdempotencyStore(String name, int maxSize, Duration ttl, Duration replayTimeout) {
+    this(name, maxSize, ttl, replayTimeout, Clock.systemUTC());
+  }
+
+  public IdempotencyStore(
+      String name, int maxSize, Duration ttl, Duration replayTimeout, Clock clock) {
+    this.name = name;
+    this.maxSize = maxSize;
+    this.ttl = ttl;
+    this.replayTimeout = replayTimeout;
+    this.clock = clock;
+    this.executions = new LinkedHashMap<>();
+  }
+
+  public V execute(String key, String principal, Object request, Supplier<V> action) {
+    if (key == null) {
+      return action.get();
+    }
+
+    String fingerprint = fingerprint(principal, request);
+    Execution<V> execution;
+    boolean owner = false;
+    synchronized (this) {
+      Instant now = clock.instant();
+      removeExpired(now);
+      execution = executions.get(key);
+      if (execution == null) {
+        execution = new Execution<>(fingerprint, new CompletableFuture<>(), now.plus(ttl));
+        executions.put(key, execution);
+        evictCompleted();
+        owner = true;
+      }
+    }
+
+    if (!execution.fingerprint().equals(fingerprint)) {
+      throw new ResponseStatusException(
+          HttpStatus.UNPROCESSABLE_ENTITY, AppMessages.IDEMPOTENCY_KEY_REUSED_EXCEPTION);
+    }
+
+    if (!owner) {
+      replays.increment();
+      return await(execution.result());
+    }
+
+    try {
+      V value = action.get();
+      execution.result().complete(value);
+      return value;
+    } catch (RuntimeException | Error ex) {
+      remove(key, execution);
+      execution.result().completeExceptionally(ex);
+      throw ex;
+    }
+  }
+
+  public synchronized int size() {
+    return executions.size();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("idempotency.replays", replays, LongAdder::doubleValue)
+        .tag("store", name)
+        .register(registry);
+    Gauge.builder("idempotency.size", this, IdempotencyStore::size)
+        .tag("store", name)
+        .register(registry);
+  }
+
+  private void removeExpired(Instant now) {
+    Iterator<Execution<V>> iterator = executions.values().iterator();
+    while (iterator.hasNext()) {
+      Execution<V> execution = iterator.next();
+      if (!execution.expiresAt().isBefore(now)) {
+        return;
+      }
+
+      if (execution.result().isDone()) {
+        iterator.remove();
+      }
+    }
+  }
+
+  private void evictCompleted() {
+    Iterator<Execution<V>> iterator = executions.values().iterator();
+    while (executions.size() > maxSize && iterator.hasNext()) {
+      if (iterator.next().result().isDone()) {
+        iterator.remove();
+      }
+    }
+  }
+
+  private synchronized void remove(String key, Execution<V> execution) {
+    executions.remove(key, execution);
+  }
+
+  private static String fingerprint(String principal, Object request) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      digest.update(String.valueOf(principal).getBytes(StandardCharsets.UTF_8));
+      digest.update((byte) 0);
+      digest.update(FINGERPRINT_MAPPER.writeValueAsBytes(request));
+      return HexFormat.of().formatHex(digest.digest());
+    } catch (NoSuchAlgorithmException | JsonProcessingException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  private V await(CompletableFuture<V> result) {
+    try {
+      return result.get(replayTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException(ex.getCause());
+    } catch (TimeoutException ex) {
+      throw new ResponseStatusException(
+          HttpStatus.CONFLICT, AppMessages.IDEMPOTENCY_REQUEST_IN_PROGRESS_EXCEPTION);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new ResponseStatusException(
+          HttpStatus.CONFLICT, AppMessages.IDEMPOTENCY_REQUEST_IN_PROGRESS_EXCEPTION);
+    }
+  }
+
+  private record Execution<V>(
+      String fingerprint, CompletableFuture<V> result, Instant expiresAt) {}
+}
@@ -0,0 +1,19 @@
+package com.carlosarroyoam.rest.books.core.property;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "application.bloom-filter")
+@Getter
+@Setter
+public class BloomFilterProps {
+  @NotNull(message = "expected-insertions must not be null")
+  private Integer expectedInsertions;
+
+  @NotNull(message = "false-positive-rate must not be null")
+  private Double falsePositiveRate;
+}
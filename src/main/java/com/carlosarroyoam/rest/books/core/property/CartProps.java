@@ -0,0 +1,23 @@
+package com.carlosarroyoam.rest.books.core.property;
+
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "application.cart")
+@Getter
+@Setter
+public class CartProps {
+  @NotNull(message = "store must not be null")
+  private String store;
+
+  @NotNull(message = "flush-interval must not be null")
+  private Duration flushInterval;
+
+  @NotNull(message = "batch-size must not be null")
+  private Integer batchSize;
+}
@@ -0,0 +1,23 @@
+package com.carlosarroyoam.rest.books.core.property;
+
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "application.idempotency")
+@Getter
+@Setter
+public class IdempotencyProps {
+  @NotNull(message = "max-size must not be null")
+  private Integer maxSize;
+
+  @NotNull(message = "ttl must not be null")
+  private Duration ttl;
+
+  @NotNull(message = "replay-timeout must not be null")
+  private Duration replayTimeout;
+}
@@ -1,6 +1,7 @@
 package com.carlosarroyoam.rest.books.core.property;
 
 import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -25,4 +26,7 @@ public class KeycloakAdminProps {
 
   @NotNull(message = "grant-type must not be null")
   private String grantType;
+
+  @NotNull(message = "role-refresh-interval must not be null")
+  private Duration roleRefreshInterval;
 }
@@ -0,0 +1,36 @@
+package com.carlosarroyoam.rest.books.core.property;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "application.provisioning")
+@Getter
+@Setter
+public class ProvisioningProps {
+  @NotNull(message = "poll-interval must not be null")
+  private Duration pollInterval;
+
+  @NotNull(message = "batch-size must not be null")
+  private Integer batchSize;
+
+  @NotNull(message = "max-attempts must not be null")
+  private Integer maxAttempts;
+
+  @NotNull(message = "initial-backoff must not be null")
+  private Duration initialBackoff;
+
+  @NotNull(message = "max-backoff must not be null")
+  private Duration maxBackoff;
+
+  @NotBlank(message = "credential-key must not be blank")
+  private String credentialKey;
+
+  @NotNull(message = "credential-ttl must not be null")
+  private Duration credentialTtl;
+}
@@ -0,0 +1,16 @@
+package com.carlosarroyoam.rest.books.core.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "application.datasource.read-only")
+@Getter
+@Setter
+public class ReadOnlyDataSourceProps {
+  private String url;
+  private String username;
+  private String password;
+}
@@ -0,0 +1,24 @@
+package com.carlosarroyoam.rest.books.core.property;
+
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "application.request-metrics")
+@Getter
+@Setter
+public class RequestMetricsProps {
+  @NotNull(message = "slo must not be null")
+  private List<Duration> slo;
+
+  @NotNull(message = "access-log-sample-rate must not be null")
+  private Double accessLogSampleRate;
+
+  @NotNull(message = "slow-request-threshold must not be null")
+  private Duration slowRequestThreshold;
+}
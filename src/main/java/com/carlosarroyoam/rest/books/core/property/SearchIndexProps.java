@@ -0,0 +1,17 @@
+package com.carlosarroyoam.rest.books.core.property;
+
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "application.search-index")
+@Getter
+@Setter
+public class SearchIndexProps {
+  @NotNull(message = "rebuild-interval must not be null")
+  private Duration rebuildInterval;
+}
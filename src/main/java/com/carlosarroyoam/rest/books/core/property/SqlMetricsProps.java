@@ -0,0 +1,17 @@
+package com.carlosarroyoam.rest.books.core.property;
+
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "application.sql-metrics")
+@Getter
+@Setter
+public class SqlMetricsProps {
+  @NotNull(message = "slow-query-threshold must not be null")
+  private Duration slowQueryThreshold;
+}
@@ -0,0 +1,20 @@
+package com.carlosarroyoam.rest.books.core.property;
+
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "application.virtual-threads")
+@Getter
+@Setter
+public class VirtualThreadProps {
+  @NotNull(message = "pinned-threshold must not be null")
+  private Duration pinnedThreshold;
+
+  @NotNull(message = "pinned-stack-depth must not be null")
+  private Integer pinnedStackDepth;
+}
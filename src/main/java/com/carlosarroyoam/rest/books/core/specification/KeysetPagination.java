@@ -0,0 +1,174 @@
+package com.carlosarroyoam.rest.books.core.specification;
+
+import com.carlosarroyoam.rest.books.core.constant.AppMessages;
+import com.carlosarroyoam.rest.books.core.dto.PagedResponse;
+import com.carlosarroyoam.rest.books.core.dto.PagedResponse.PagedResponseMapper;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import java.nio.charset.StandardCharsets;
+import java.time.temporal.Temporal;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public class KeysetPagination {
+  private static final String ID_PROPERTY = "id";
+  private static final String SEPARATOR = "\n";
+
+  private KeysetPagination() {
+    throw new IllegalAccessError(AppMessages.ILLEGAL_ACCESS_EXCEPTION);
+  }
+
+  public static <T, R> PagedResponse<R> findPage(
+      JpaSpecificationExecutor<T> repository,
+      Specification<T> spec,
+      Pageable pageable,
+      String cursor,
+      Function<T, R> mapper) {
+    Sort.Order order = resolveOrder(pageable.getSort());
+    Sort sort =
+        ID_PROPERTY.equals(order.getProperty())
+            ? Sort.by(order)
+            : Sort.by(order, new Sort.Order(order.getDirection(), ID_PROPERTY));
+
+    Specification<T> sortableSpec = spec.and(requireNonNullable(order));
+    Specification<T> pageSpec =
+        cursor == null || cursor.isBlank()
+            ? sortableSpec
+            : sortableSpec.and(seek(order, decode(cursor, order)));
+
+    int size = pageable.getPageSize();
+    List<T> rows =
+        repository.findBy(pageSpec, query -> query.sortBy(sort).limit(size + 1).all());
+
+    boolean hasNext = rows.size() > size;
+    List<T> items = hasNext ? rows.subList(0, size) : rows;
+    String nextCursor = hasNext ? encode(order, items.get(items.size() - 1)) : null;
+
+    return PagedResponseMapper.INSTANCE.toPagedResponse(
+        items.stream().map(mapper).toList(), size, nextCursor);
+  }
+
+  private static Sort.Order resolveOrder(Sort sort) {
+    List<Sort.Order> orders = sort.toList();
+    if (orders.isEmpty()) {
+      return Sort.Order.asc(ID_PROPERTY);
+    }
+
+    if (orders.size() > 1 || orders.get(0).getProperty().contains(".")) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, AppMessages.CURSOR_SORT_NOT_SUPPORTED_EXCEPTION);
+    }
+
+    return orders.get(0);
+  }
+
+  private static <T> Specification<T> requireNonNullable(Sort.Order order) {
+    return (root, query, cb) -> {
+      if (!isNonNullable(root.getModel(), order.getProperty())) {
+        throw new ResponseStatusException(
+            HttpStatus.BAD_REQUEST, AppMessages.CURSOR_SORT_NOT_SUPPORTED_EXCEPTION);
+      }
+
+      return null;
+    };
+  }
+
+  private static boolean isNonNullable(ManagedType<?> type, String property) {
+    try {
+      return type.getAttribute(property) instanceof SingularAttribute<?, ?> attribute
+          && (attribute.isId() || !attribute.isOptional());
+    } catch (IllegalArgumentException ex) {
+      return false;
+    }
+  }
+
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  private static <T> Specification<T> seek(Sort.Order order, Cursor cursor) {
+    return (root, query, cb) -> {
+      Path<Long> id = root.get(ID_PROPERTY);
+      if (ID_PROPERTY.equals(order.getProperty())) {
+        return after(cb, order, id, cursor.lastId());
+      }
+
+      Path<Comparable> key = root.get(order.getProperty());
+      Comparable lastValue = convert(cursor.lastValue(), key.getJavaType());
+      return cb.or(
+          after(cb, order, key, lastValue),
+          cb.and(cb.equal(key, lastValue), after(cb, order, id, cursor.lastId())));
+    };
+  }
+
+  private static <Y extends Comparable<? super Y>> Predicate after(
+      CriteriaBuilder cb, Sort.Order order, Expression<? extends Y> path, Y value) {
+    return order.isAscending() ? cb.greaterThan(path, value) : cb.lessThan(path, value);
+  }
+
+  @SuppressWarnings("rawtypes")
+  private static Comparable convert(String value, Class<?> type) {
+    try {
+      if (Temporal.class.isAssignableFrom(type)) {
+        return (Comparable) type.getMethod("parse", CharSequence.class).invoke(null, value);
+      }
+
+      return (Comparable) DefaultConversionService.getSharedInstance().convert(value, type);
+    } catch (ReflectiveOperationException | ConversionException | ClassCastException ex) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, AppMessages.INVALID_CURSOR_EXCEPTION);
+    }
+  }
+
+  private static String encode(Sort.Order order, Object entity) {
+    var entityWrapper = PropertyAccessorFactory.forBeanPropertyAccess(entity);
+    Object lastId = entityWrapper.getPropertyValue(ID_PROPERTY);
+    Object lastValue = entityWrapper.getPropertyValue(order.getProperty());
+
+    if (lastValue == null) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, AppMessages.CURSOR_SORT_NOT_SUPPORTED_EXCEPTION);
+    }
+
+    String payload =
+        String.join(SEPARATOR, sortKey(order), lastId.toString(), lastValue.toString());
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static Cursor decode(String cursor, Sort.Order order) {
+    try {
+      String payload =
+          new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      String[] parts = payload.split(SEPARATOR, 3);
+
+      if (parts.length != 3 || !sortKey(order).equals(parts[0])) {
+        throw new ResponseStatusException(
+            HttpStatus.BAD_REQUEST, AppMessages.INVALID_CURSOR_EXCEPTION);
+      }
+
+      return new Cursor(Long.valueOf(parts[1]), parts[2]);
+    } catch (IllegalArgumentException ex) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, AppMessages.INVALID_CURSOR_EXCEPTION);
+    }
+  }
+
+  private static String sortKey(Sort.Order order) {
+    return order.getProperty() + "," + order.getDirection().name();
+  }
+
+  private record Cursor(Long lastId, String lastValue) {}
+}
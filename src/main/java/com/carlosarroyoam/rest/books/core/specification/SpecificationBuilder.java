@@ -6,6 +6,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.function.Function;
 import org.springframework.data.jpa.domain.Specification;
 
@@ -31,7 +32,7 @@ public class SpecificationBuilder<T> {
     if (value != null && !value.isBlank()) {
       specs.add(
           (root, query, cb) ->
-              cb.like(cb.lower(path.apply(root)), "%" + value.toLowerCase() + "%"));
+              cb.like(path.apply(root), "%" + value.toLowerCase(Locale.ROOT) + "%"));
     }
     return this;
   }
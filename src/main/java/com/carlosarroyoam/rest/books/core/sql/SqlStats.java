@@ -0,0 +1,92 @@
+package com.carlosarroyoam.rest.books.core.sql;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+public class SqlStats {
+  private static final ThreadLocal<SqlStats> CURRENT = new ThreadLocal<>();
+
+  private final long slowQueryThresholdNanos;
+  private final List<String> statements = new ArrayList<>();
+  private final Set<String> predicates = new LinkedHashSet<>();
+  private long executionNanos;
+  private long rows;
+  private long executionStart;
+  private int depth = 1;
+
+  private SqlStats(Duration slowQueryThreshold) {
+    this.slowQueryThresholdNanos = slowQueryThreshold.toNanos();
+  }
+
+  public static SqlStats begin(Duration slowQueryThreshold) {
+    SqlStats sqlStats = CURRENT.get();
+    if (sqlStats != null) {
+      sqlStats.depth++;
+      return sqlStats;
+    }
+
+    sqlStats = new SqlStats(slowQueryThreshold);
+    CURRENT.set(sqlStats);
+    return sqlStats;
+  }
+
+  public static SqlStats current() {
+    return CURRENT.get();
+  }
+
+  public static void end() {
+    SqlStats sqlStats = CURRENT.get();
+    if (sqlStats != null && --sqlStats.depth == 0) {
+      CURRENT.remove();
+    }
+  }
+
+  void statementPrepared(String sql) {
+    statements.add(sql);
+  }
+
+  void predicateBound(String column, String operator) {
+    predicates.add(column + " " + operator);
+  }
+
+  void executionStarted() {
+    executionStart = System.nanoTime();
+  }
+
+  long executionEnded() {
+    long elapsed = System.nanoTime() - executionStart;
+    executionNanos += elapsed;
+    return elapsed;
+  }
+
+  void rowLoaded() {
+    rows++;
+  }
+
+  boolean isSlow(long elapsedNanos) {
+    return elapsedNanos >= slowQueryThresholdNanos;
+  }
+
+  public List<String> getStatements() {
+    return statements;
+  }
+
+  public Duration getExecutionTime() {
+    return Duration.ofNanos(executionNanos);
+  }
+
+  public long getRows() {
+    return rows;
+  }
+
+  public String getLastSql() {
+    return statements.isEmpty() ? null : statements.get(statements.size() - 1);
+  }
+
+  public Set<String> getPredicates() {
+    return predicates;
+  }
+}
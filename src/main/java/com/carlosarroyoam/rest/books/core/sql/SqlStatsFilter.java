@@ -0,0 +1,68 @@
+package com.carlosarroyoam.rest.books.core.sql;
+
+import com.carlosarroyoam.rest.books.core.property.SqlMetricsProps;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+@Component
+public class SqlStatsFilter extends OncePerRequestFilter {
+  static final String STATEMENTS_METRIC_NAME = "app.sql.statements";
+  static final String EXECUTION_METRIC_NAME = "app.sql.execution";
+  static final String ROWS_METRIC_NAME = "app.sql.rows";
+
+  private final MeterRegistry meterRegistry;
+  private final SqlMetricsProps sqlMetricsProps;
+
+  public SqlStatsFilter(MeterRegistry meterRegistry, SqlMetricsProps sqlMetricsProps) {
+    this.meterRegistry = meterRegistry;
+    this.sqlMetricsProps = sqlMetricsProps;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      @NonNull HttpServletRequest request,
+      @NonNull HttpServletResponse response,
+      FilterChain filterChain)
+      throws ServletException, IOException {
+    SqlStats sqlStats = SqlStats.begin(sqlMetricsProps.getSlowQueryThreshold());
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      SqlStats.end();
+      if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE)
+          instanceof HandlerMethod handlerMethod) {
+        record(handlerName(handlerMethod), sqlStats);
+      }
+    }
+  }
+
+  private void record(String handler, SqlStats sqlStats) {
+    DistributionSummary.builder(STATEMENTS_METRIC_NAME)
+        .tag("handler", handler)
+        .register(meterRegistry)
+        .record(sqlStats.getStatements().size());
+    Timer.builder(EXECUTION_METRIC_NAME)
+        .tag("handler", handler)
+        .register(meterRegistry)
+        .record(sqlStats.getExecutionTime());
+    DistributionSummary.builder(ROWS_METRIC_NAME)
+        .tag("handler", handler)
+        .register(meterRegistry)
+        .record(sqlStats.getRows());
+  }
+
+  private static String handlerName(HandlerMethod handlerMethod) {
+    return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+  }
+}
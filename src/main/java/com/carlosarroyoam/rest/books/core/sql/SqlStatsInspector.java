@@ -0,0 +1,21 @@
+package com.carlosarroyoam.rest.books.core.sql;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+public class SqlStatsInspector implements StatementInspector {
+  private final StatementInspector delegate;
+
+  public SqlStatsInspector(StatementInspector delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public String inspect(String sql) {
+    String inspectedSql = delegate != null ? delegate.inspect(sql) : sql;
+    SqlStats sqlStats = SqlStats.current();
+    if (sqlStats != null) {
+      sqlStats.statementPrepared(inspectedSql);
+    }
+    return inspectedSql;
+  }
+}
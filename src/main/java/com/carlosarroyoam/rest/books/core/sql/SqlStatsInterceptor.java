@@ -0,0 +1,16 @@
+package com.carlosarroyoam.rest.books.core.sql;
+
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+
+public class SqlStatsInterceptor implements Interceptor {
+  @Override
+  public boolean onLoad(
+      Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+    SqlStats sqlStats = SqlStats.current();
+    if (sqlStats != null) {
+      sqlStats.rowLoaded();
+    }
+    return false;
+  }
+}
@@ -0,0 +1,46 @@
+package com.carlosarroyoam.rest.books.core.sql;
+
+import com.carlosarroyoam.rest.books.core.constant.CustomHeaderNames;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+@ControllerAdvice
+@ConditionalOnProperty(name = "application.sql-metrics.response-headers", havingValue = "true")
+public class SqlStatsResponseAdvice implements ResponseBodyAdvice<Object> {
+  @Override
+  public boolean supports(
+      @NonNull MethodParameter returnType,
+      @NonNull Class<? extends HttpMessageConverter<?>> converterType) {
+    return true;
+  }
+
+  @Override
+  public Object beforeBodyWrite(
+      Object body,
+      @NonNull MethodParameter returnType,
+      @NonNull MediaType selectedContentType,
+      @NonNull Class<? extends HttpMessageConverter<?>> selectedConverterType,
+      @NonNull ServerHttpRequest request,
+      @NonNull ServerHttpResponse response) {
+    SqlStats sqlStats = SqlStats.current();
+    if (sqlStats != null) {
+      response
+          .getHeaders()
+          .set(CustomHeaderNames.SQL_STATEMENTS, sqlStats.getStatements().size() + "");
+      response
+          .getHeaders()
+          .set(
+              CustomHeaderNames.SQL_EXECUTION_TIME,
+              String.format("%.3f", sqlStats.getExecutionTime().toNanos() / 1_000_000.0));
+      response.getHeaders().set(CustomHeaderNames.SQL_ROWS, sqlStats.getRows() + "");
+    }
+    return body;
+  }
+}
@@ -0,0 +1,35 @@
+package com.carlosarroyoam.rest.books.core.sql;
+
+import java.util.concurrent.TimeUnit;
+import org.hibernate.SessionEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class SqlStatsSessionListener implements SessionEventListener {
+  private static final Logger log = LoggerFactory.getLogger(SqlStatsSessionListener.class);
+
+  @Override
+  public void jdbcExecuteStatementStart() {
+    SqlStats sqlStats = SqlStats.current();
+    if (sqlStats != null) {
+      sqlStats.executionStarted();
+    }
+  }
+
+  @Override
+  public void jdbcExecuteStatementEnd() {
+    SqlStats sqlStats = SqlStats.current();
+    if (sqlStats == null) {
+      return;
+    }
+
+    long elapsed = sqlStats.executionEnded();
+    if (sqlStats.isSlow(elapsed)) {
+      log.warn(
+          "Slow query took {} ms: {} with predicates {}",
+          TimeUnit.NANOSECONDS.toMillis(elapsed),
+          sqlStats.getLastSql(),
+          sqlStats.getPredicates());
+    }
+  }
+}
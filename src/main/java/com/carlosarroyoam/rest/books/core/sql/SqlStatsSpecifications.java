@@ -0,0 +1,56 @@
+package com.carlosarroyoam.rest.books.core.sql;
+
+import com.carlosarroyoam.rest.books.core.constant.AppMessages;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.metamodel.Attribute;
+import org.hibernate.query.sqm.tree.predicate.SqmBetweenPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmComparisonPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmInListPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmJunctionPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmLikePredicate;
+import org.springframework.data.jpa.domain.Specification;
+
+public class SqlStatsSpecifications {
+  private SqlStatsSpecifications() {
+    throw new IllegalAccessError(AppMessages.ILLEGAL_ACCESS_EXCEPTION);
+  }
+
+  public static <T> Specification<T> capturing(Specification<T> spec) {
+    return (root, query, cb) -> {
+      Predicate predicate = spec.toPredicate(root, query, cb);
+      SqlStats sqlStats = SqlStats.current();
+      if (sqlStats != null && predicate != null) {
+        capture(sqlStats, predicate);
+      }
+
+      return predicate;
+    };
+  }
+
+  private static void capture(SqlStats sqlStats, Predicate predicate) {
+    if (predicate instanceof SqmJunctionPredicate junction) {
+      junction.getPredicates().forEach(nested -> capture(sqlStats, nested));
+    } else if (predicate instanceof SqmComparisonPredicate comparison) {
+      sqlStats.predicateBound(
+          name(comparison.getLeftHandExpression()), comparison.getSqmOperator().sqlText());
+    } else if (predicate instanceof SqmLikePredicate like) {
+      sqlStats.predicateBound(name(like.getMatchExpression()), "like");
+    } else if (predicate instanceof SqmBetweenPredicate between) {
+      sqlStats.predicateBound(name(between.getExpression()), "between");
+    } else if (predicate instanceof SqmInListPredicate<?> in) {
+      sqlStats.predicateBound(name(in.getTestExpression()), "in");
+    }
+  }
+
+  private static String name(Expression<?> expression) {
+    if (!(expression instanceof Path<?> path)
+        || !(path.getModel() instanceof Attribute<?, ?> attribute)) {
+      return "?";
+    }
+
+    String parentName = name(path.getParentPath());
+    return "?".equals(parentName) ? attribute.getName() : parentName + "." + attribute.getName();
+  }
+}
@@ -1,13 +1,16 @@
 package com.carlosarroyoam.rest.books.customer;
 
 import com.carlosarroyoam.rest.books.core.dto.PagedResponse;
+import com.carlosarroyoam.rest.books.core.etag.ETags;
 import com.carlosarroyoam.rest.books.customer.dto.CreateCustomerRequest;
 import com.carlosarroyoam.rest.books.customer.dto.CustomerResponse;
 import com.carlosarroyoam.rest.books.customer.dto.CustomerSpecs;
 import com.carlosarroyoam.rest.books.customer.dto.UpdateCustomerRequest;
 import jakarta.validation.Valid;
+import java.util.stream.Stream;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -17,7 +20,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.util.UriComponents;
 import org.springframework.web.util.UriComponentsBuilder;
@@ -35,16 +40,24 @@ public class CustomerController {
   @PreAuthorize("hasRole('App/Admin')")
   public ResponseEntity<PagedResponse<CustomerResponse>> findAll(
       @Valid @ModelAttribute CustomerSpecs customerSpecs,
-      @PageableDefault(page = 0, size = 25, sort = "id") Pageable pageable) {
-    PagedResponse<CustomerResponse> customers = customerService.findAll(customerSpecs, pageable);
-    return ResponseEntity.ok(customers);
+      @PageableDefault(page = 0, size = 25, sort = "id") Pageable pageable,
+      @RequestParam(required = false) String cursor,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    PagedResponse<CustomerResponse> customers =
+        cursor == null
+            ? customerService.findAll(customerSpecs, pageable)
+            : customerService.findAllByCursor(customerSpecs, pageable, cursor);
+    String eTag = ETags.ofPage(customers, CustomerController::version);
+    return ETags.toResponse(eTag, ifNoneMatch, () -> customers);
   }
 
   @GetMapping(path = "/{customerId}", produces = "application/json")
   @PreAuthorize("hasRole('App/Admin')")
-  public ResponseEntity<CustomerResponse> findById(@PathVariable Long customerId) {
-    CustomerResponse customerById = customerService.findById(customerId);
-    return ResponseEntity.ok(customerById);
+  public ResponseEntity<CustomerResponse> findById(
+      @PathVariable Long customerId,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    String eTag = customerService.findETagById(customerId);
+    return ETags.toResponse(eTag, ifNoneMatch, () -> customerService.findById(customerId));
   }
 
   @PostMapping(consumes = "application/json")
@@ -69,4 +82,8 @@ public class CustomerController {
     customerService.deleteById(customerId);
     return ResponseEntity.noContent().build();
   }
+
+  private static String version(CustomerResponse customer) {
+    return ETags.version(customer.getId(), Stream.of(customer.getUpdatedAt()));
+  }
 }
@@ -0,0 +1,62 @@
+package com.carlosarroyoam.rest.books.customer;
+
+import com.carlosarroyoam.rest.books.core.bloom.BloomFilter;
+import com.carlosarroyoam.rest.books.core.property.BloomFilterProps;
+import com.carlosarroyoam.rest.books.customer.CustomerRepository.CustomerIdentityView;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CustomerIdentityFilter {
+  private static final Logger log = LoggerFactory.getLogger(CustomerIdentityFilter.class);
+  private static final int REBUILD_BATCH_SIZE = 1_000;
+
+  private final CustomerRepository customerRepository;
+  private final BloomFilter usernames;
+  private final BloomFilter emails;
+  private volatile boolean ready;
+
+  public CustomerIdentityFilter(
+      CustomerRepository customerRepository, BloomFilterProps bloomFilterProps) {
+    this.customerRepository = customerRepository;
+    this.usernames =
+        new BloomFilter(
+            bloomFilterProps.getExpectedInsertions(), bloomFilterProps.getFalsePositiveRate());
+    this.emails =
+        new BloomFilter(
+            bloomFilterProps.getExpectedInsertions(), bloomFilterProps.getFalsePositiveRate());
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuild() {
+    long lastId = 0L;
+    int indexedCustomers = 0;
+    List<CustomerIdentityView> batch;
+
+    do {
+      batch = customerRepository.findIdentitiesAfter(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+      for (CustomerIdentityView customer : batch) {
+        add(customer.getUsername(), customer.getEmail());
+        lastId = customer.getId();
+      }
+      indexedCustomers += batch.size();
+    } while (batch.size() == REBUILD_BATCH_SIZE);
+
+    ready = true;
+    log.info("Customer identity filter built with {} customers", indexedCustomers);
+  }
+
+  public void add(String username, String email) {
+    usernames.put(username);
+    emails.put(email);
+  }
+
+  public boolean mightExist(String username, String email) {
+    return !ready || usernames.mightContain(username) || emails.mightContain(email);
+  }
+}
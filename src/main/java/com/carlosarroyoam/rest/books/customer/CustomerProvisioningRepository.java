@@ -0,0 +1,38 @@
+package com.carlosarroyoam.rest.books.customer;
+
+import com.carlosarroyoam.rest.books.customer.entity.CustomerProvisioning;
+import com.carlosarroyoam.rest.books.customer.entity.ProvisioningStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+public interface CustomerProvisioningRepository extends JpaRepository<CustomerProvisioning, Long> {
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+  @EntityGraph(attributePaths = "customer")
+  @Query(
+      "SELECT p FROM CustomerProvisioning p WHERE p.status = :status"
+          + " AND p.nextAttemptAt <= :now ORDER BY p.nextAttemptAt")
+  List<CustomerProvisioning> findDueForUpdate(
+      ProvisioningStatus status, LocalDateTime now, Pageable pageable);
+
+  @Modifying
+  @Query(
+      "UPDATE CustomerProvisioning p SET p.status = :expiredStatus, p.encryptedPassword = NULL,"
+          + " p.lastError = :lastError, p.updatedAt = :now"
+          + " WHERE p.status = :status AND p.createdAt < :cutoff")
+  int expireCredentials(
+      ProvisioningStatus status,
+      ProvisioningStatus expiredStatus,
+      LocalDateTime cutoff,
+      String lastError,
+      LocalDateTime now);
+}
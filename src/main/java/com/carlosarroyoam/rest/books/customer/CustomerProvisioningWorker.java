@@ -0,0 +1,168 @@
+package com.carlosarroyoam.rest.books.customer;
+
+import com.carlosarroyoam.rest.books.core.constant.AppMessages;
+import com.carlosarroyoam.rest.books.core.property.ProvisioningProps;
+import com.carlosarroyoam.rest.books.customer.entity.Customer;
+import com.carlosarroyoam.rest.books.customer.entity.CustomerProvisioning;
+import com.carlosarroyoam.rest.books.customer.entity.ProvisioningStatus;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+@Component
+public class CustomerProvisioningWorker {
+  private static final Logger log = LoggerFactory.getLogger(CustomerProvisioningWorker.class);
+  private static final int MAX_ERROR_LENGTH = 255;
+  private final CustomerProvisioningRepository customerProvisioningRepository;
+  private final KeycloakService keycloakService;
+  private final ProvisioningCredentialCipher provisioningCredentialCipher;
+  private final TransactionTemplate transactionTemplate;
+  private final ProvisioningProps provisioningProps;
+
+  public CustomerProvisioningWorker(
+      CustomerProvisioningRepository customerProvisioningRepository,
+      KeycloakService keycloakService,
+      ProvisioningCredentialCipher provisioningCredentialCipher,
+      PlatformTransactionManager transactionManager,
+      ProvisioningProps provisioningProps) {
+    this.customerProvisioningRepository = customerProvisioningRepository;
+    this.keycloakService = keycloakService;
+    this.provisioningCredentialCipher = provisioningCredentialCipher;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.provisioningProps = provisioningProps;
+  }
+
+  @Scheduled(
+      fixedDelayString = "${application.provisioning.poll-interval}",
+      initialDelayString = "${application.provisioning.poll-interval}")
+  public void provisionPending() {
+    expireCredentials();
+
+    List<CustomerProvisioning> batch;
+    do {
+      batch = claimBatch();
+      batch.forEach(this::provision);
+    } while (batch.size() == provisioningProps.getBatchSize());
+  }
+
+  private void expireCredentials() {
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          LocalDateTime now = LocalDateTime.now();
+          int expired =
+              customerProvisioningRepository.expireCredentials(
+                  ProvisioningStatus.PENDING,
+                  ProvisioningStatus.FAILED,
+                  now.minus(provisioningProps.getCredentialTtl()),
+                  AppMessages.PROVISIONING_CREDENTIAL_EXPIRED_EXCEPTION,
+                  now);
+
+          if (expired > 0) {
+            log.warn("Expired {} pending provisionings past the credential ttl", expired);
+          }
+        });
+  }
+
+  private List<CustomerProvisioning> claimBatch() {
+    return transactionTemplate.execute(
+        status -> {
+          LocalDateTime now = LocalDateTime.now();
+          List<CustomerProvisioning> batch =
+              customerProvisioningRepository.findDueForUpdate(
+                  ProvisioningStatus.PENDING,
+                  now,
+                  PageRequest.of(0, provisioningProps.getBatchSize()));
+
+          for (CustomerProvisioning provisioning : batch) {
+            int attempts = provisioning.getAttempts() + 1;
+            provisioning.setAttempts(attempts);
+            provisioning.setNextAttemptAt(now.plus(backoff(attempts)));
+            provisioning.setUpdatedAt(now);
+          }
+
+          return batch;
+        });
+  }
+
+  private void provision(CustomerProvisioning provisioning) {
+    try {
+      Customer customer = provisioning.getCustomer();
+      if (provisioning.getEncryptedPassword() == null) {
+        throw new ResponseStatusException(
+            HttpStatus.GONE, AppMessages.PROVISIONING_CREDENTIAL_EXPIRED_EXCEPTION);
+      }
+
+      keycloakService.createUser(
+          customer,
+          provisioningCredentialCipher.decrypt(
+              customer.getId(), provisioning.getEncryptedPassword()));
+      complete(provisioning.getId());
+    } catch (RuntimeException ex) {
+      log.warn(
+          "Could not provision customer {} on attempt {}",
+          provisioning.getCustomer().getId(),
+          provisioning.getAttempts(),
+          ex);
+      fail(provisioning.getId(), ex);
+    }
+  }
+
+  private void complete(Long provisioningId) {
+    transactionTemplate.executeWithoutResult(
+        status ->
+            customerProvisioningRepository
+                .findById(provisioningId)
+                .ifPresent(
+                    provisioning -> {
+                      provisioning.setStatus(ProvisioningStatus.COMPLETED);
+                      provisioning.setEncryptedPassword(null);
+                      provisioning.setLastError(null);
+                      provisioning.setUpdatedAt(LocalDateTime.now());
+                    }));
+  }
+
+  private void fail(Long provisioningId, RuntimeException ex) {
+    transactionTemplate.executeWithoutResult(
+        status ->
+            customerProvisioningRepository
+                .findById(provisioningId)
+                .ifPresent(
+                    provisioning -> {
+                      if (isPermanent(ex)
+                          || provisioning.getAttempts() >= provisioningProps.getMaxAttempts()) {
+                        provisioning.setStatus(ProvisioningStatus.FAILED);
+                        provisioning.setEncryptedPassword(null);
+                      }
+
+                      provisioning.setLastError(truncate(String.valueOf(ex.getMessage())));
+                      provisioning.setUpdatedAt(LocalDateTime.now());
+                    }));
+  }
+
+  private Duration backoff(int attempts) {
+    Duration backoff =
+        provisioningProps.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+    return backoff.compareTo(provisioningProps.getMaxBackoff()) > 0
+        ? provisioningProps.getMaxBackoff()
+        : backoff;
+  }
+
+  private static boolean isPermanent(RuntimeException ex) {
+    return ex instanceof ResponseStatusException responseStatusException
+        && (responseStatusException.getStatusCode() == HttpStatus.CONFLICT
+            || responseStatusException.getStatusCode() == HttpStatus.GONE);
+  }
+
+  private static String truncate(String message) {
+    return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+  }
+}
@@ -1,9 +1,13 @@
 package com.carlosarroyoam.rest.books.customer;
 
 import com.carlosarroyoam.rest.books.customer.entity.Customer;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 
 public interface CustomerRepository
     extends JpaRepository<Customer, Long>, JpaSpecificationExecutor<Customer> {
@@ -11,7 +15,24 @@ public interface CustomerRepository
 
   Optional<Customer> findByUsername(String username);
 
-  boolean existsByEmail(String email);
+  @Query(
+      "SELECT c.id AS id, c.username AS username, c.email AS email FROM Customer c"
+          + " WHERE c.username = :username OR c.email = :email")
+  List<CustomerIdentityView> findIdentitiesByUsernameOrEmail(String username, String email);
 
-  boolean existsByUsername(String username);
+  @Query(
+      "SELECT c.id AS id, c.username AS username, c.email AS email FROM Customer c"
+          + " WHERE c.id > :afterId ORDER BY c.id")
+  List<CustomerIdentityView> findIdentitiesAfter(Long afterId, Pageable pageable);
+
+  @Query("SELECT c.updatedAt FROM Customer c WHERE c.id = :customerId")
+  Optional<LocalDateTime> findLastModifiedAtById(Long customerId);
+
+  interface CustomerIdentityView {
+    Long getId();
+
+    String getUsername();
+
+    String getEmail();
+  }
 }
@@ -3,18 +3,27 @@ package com.carlosarroyoam.rest.books.customer;
 import com.carlosarroyoam.rest.books.core.constant.AppMessages;
 import com.carlosarroyoam.rest.books.core.dto.PagedResponse;
 import com.carlosarroyoam.rest.books.core.dto.PagedResponse.PagedResponseMapper;
+import com.carlosarroyoam.rest.books.core.etag.ETags;
+import com.carlosarroyoam.rest.books.core.exception.UniqueConstraints;
+import com.carlosarroyoam.rest.books.core.specification.KeysetPagination;
 import com.carlosarroyoam.rest.books.core.specification.SpecificationBuilder;
+import com.carlosarroyoam.rest.books.core.sql.SqlStatsSpecifications;
+import com.carlosarroyoam.rest.books.customer.CustomerRepository.CustomerIdentityView;
 import com.carlosarroyoam.rest.books.customer.dto.CreateCustomerRequest;
 import com.carlosarroyoam.rest.books.customer.dto.CustomerResponse;
 import com.carlosarroyoam.rest.books.customer.dto.CustomerResponse.CustomerResponseMapper;
 import com.carlosarroyoam.rest.books.customer.dto.CustomerSpecs;
 import com.carlosarroyoam.rest.books.customer.dto.UpdateCustomerRequest;
 import com.carlosarroyoam.rest.books.customer.entity.Customer;
+import com.carlosarroyoam.rest.books.customer.entity.CustomerProvisioning;
 import com.carlosarroyoam.rest.books.customer.entity.CustomerStatus;
 import com.carlosarroyoam.rest.books.customer.entity.Customer_;
+import com.carlosarroyoam.rest.books.customer.entity.ProvisioningStatus;
 import java.time.LocalDateTime;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -27,48 +36,78 @@ import org.springframework.web.server.ResponseStatusException;
 public class CustomerService {
   private static final Logger log = LoggerFactory.getLogger(CustomerService.class);
   private final CustomerRepository customerRepository;
-  private final KeycloakService keycloakService;
+  private final CustomerProvisioningRepository customerProvisioningRepository;
+  private final CustomerIdentityFilter customerIdentityFilter;
+  private final ProvisioningCredentialCipher provisioningCredentialCipher;
 
-  public CustomerService(CustomerRepository customerRepository, KeycloakService keycloakService) {
+  public CustomerService(
+      CustomerRepository customerRepository,
+      CustomerProvisioningRepository customerProvisioningRepository,
+      CustomerIdentityFilter customerIdentityFilter,
+      ProvisioningCredentialCipher provisioningCredentialCipher) {
     this.customerRepository = customerRepository;
-    this.keycloakService = keycloakService;
+    this.customerProvisioningRepository = customerProvisioningRepository;
+    this.customerIdentityFilter = customerIdentityFilter;
+    this.provisioningCredentialCipher = provisioningCredentialCipher;
   }
 
   @Transactional(readOnly = true)
   public PagedResponse<CustomerResponse> findAll(CustomerSpecs customerSpecs, Pageable pageable) {
-    Specification<Customer> spec =
-        SpecificationBuilder.<Customer>builder()
-            .likeIfPresent(root -> root.get(Customer_.firstName), customerSpecs.getFirstName())
-            .likeIfPresent(root -> root.get(Customer_.lastName), customerSpecs.getLastName())
-            .likeIfPresent(root -> root.get(Customer_.email), customerSpecs.getEmail())
-            .likeIfPresent(root -> root.get(Customer_.username), customerSpecs.getUsername())
-            .equalsIfPresent(root -> root.get(Customer_.status), customerSpecs.getStatus())
-            .build();
-
-    Page<Customer> customers = customerRepository.findAll(spec, pageable);
+    Page<Customer> customers = customerRepository.findAll(buildSpec(customerSpecs), pageable);
 
     return PagedResponseMapper.INSTANCE.toPagedResponse(
         customers.map(CustomerResponseMapper.INSTANCE::toDto));
   }
 
+  @Transactional(readOnly = true)
+  public PagedResponse<CustomerResponse> findAllByCursor(
+      CustomerSpecs customerSpecs, Pageable pageable, String cursor) {
+    return KeysetPagination.findPage(
+        customerRepository,
+        buildSpec(customerSpecs),
+        pageable,
+        cursor,
+        CustomerResponseMapper.INSTANCE::toDto);
+  }
+
   @Transactional(readOnly = true)
   public CustomerResponse findById(Long customerId) {
     Customer customerById = findCustomerByIdOrFail(customerId);
     return CustomerResponseMapper.INSTANCE.toDto(customerById);
   }
 
+  @Transactional(readOnly = true)
+  public String findETagById(Long customerId) {
+    return customerRepository
+        .findLastModifiedAtById(customerId)
+        .map(lastModifiedAt -> ETags.of(customerId, lastModifiedAt))
+        .orElseThrow(
+            () -> {
+              log.warn(AppMessages.CUSTOMER_NOT_FOUND_EXCEPTION);
+              return new ResponseStatusException(
+                  HttpStatus.NOT_FOUND, AppMessages.CUSTOMER_NOT_FOUND_EXCEPTION);
+            });
+  }
+
   @Transactional
   public CustomerResponse create(CreateCustomerRequest request) {
-    if (customerRepository.existsByUsername(request.getUsername())) {
-      log.warn(AppMessages.USERNAME_ALREADY_EXISTS_EXCEPTION);
-      throw new ResponseStatusException(
-          HttpStatus.BAD_REQUEST, AppMessages.USERNAME_ALREADY_EXISTS_EXCEPTION);
-    }
+    if (customerIdentityFilter.mightExist(request.getUsername(), request.getEmail())) {
+      List<CustomerIdentityView> existingCustomers =
+          customerRepository.findIdentitiesByUsernameOrEmail(
+              request.getUsername(), request.getEmail());
+
+      if (existingCustomers.stream()
+          .anyMatch(existing -> existing.getUsername().equals(request.getUsername()))) {
+        log.warn(AppMessages.USERNAME_ALREADY_EXISTS_EXCEPTION);
+        throw new ResponseStatusException(
+            HttpStatus.BAD_REQUEST, AppMessages.USERNAME_ALREADY_EXISTS_EXCEPTION);
+      }
 
-    if (customerRepository.existsByEmail(request.getEmail())) {
-      log.warn(AppMessages.EMAIL_ALREADY_EXISTS_EXCEPTION);
-      throw new ResponseStatusException(
-          HttpStatus.BAD_REQUEST, AppMessages.EMAIL_ALREADY_EXISTS_EXCEPTION);
+      if (!existingCustomers.isEmpty()) {
+        log.warn(AppMessages.EMAIL_ALREADY_EXISTS_EXCEPTION);
+        throw new ResponseStatusException(
+            HttpStatus.BAD_REQUEST, AppMessages.EMAIL_ALREADY_EXISTS_EXCEPTION);
+      }
     }
 
     LocalDateTime now = LocalDateTime.now();
@@ -83,8 +122,36 @@ public class CustomerService {
             .updatedAt(now)
             .build();
 
-    Customer createdCustomer = customerRepository.save(customer);
-    keycloakService.createUser(request, createdCustomer.getId());
+    Customer createdCustomer;
+    try {
+      createdCustomer = customerRepository.saveAndFlush(customer);
+    } catch (DataIntegrityViolationException ex) {
+      String message = duplicateIdentityMessage(ex);
+      if (message == null) {
+        throw ex;
+      }
+
+      customerIdentityFilter.add(request.getUsername(), request.getEmail());
+      log.warn(message);
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, message);
+    }
+
+    customerIdentityFilter.add(createdCustomer.getUsername(), createdCustomer.getEmail());
+
+    CustomerProvisioning provisioning =
+        CustomerProvisioning.builder()
+            .customer(createdCustomer)
+            .encryptedPassword(
+                provisioningCredentialCipher.encrypt(
+                    createdCustomer.getId(), request.getPassword()))
+            .status(ProvisioningStatus.PENDING)
+            .attempts(0)
+            .nextAttemptAt(now)
+            .createdAt(now)
+            .updatedAt(now)
+            .build();
+
+    customerProvisioningRepository.save(provisioning);
     return CustomerResponseMapper.INSTANCE.toDto(createdCustomer);
   }
 
@@ -108,6 +175,18 @@ public class CustomerService {
     customerRepository.save(customerById);
   }
 
+  private static String duplicateIdentityMessage(DataIntegrityViolationException ex) {
+    if (UniqueConstraints.isViolated(ex, Customer.USERNAME_UNIQUE_CONSTRAINT)) {
+      return AppMessages.USERNAME_ALREADY_EXISTS_EXCEPTION;
+    }
+
+    if (UniqueConstraints.isViolated(ex, Customer.EMAIL_UNIQUE_CONSTRAINT)) {
+      return AppMessages.EMAIL_ALREADY_EXISTS_EXCEPTION;
+    }
+
+    return null;
+  }
+
   private Customer findCustomerByIdOrFail(Long customerId) {
     return customerRepository
         .findById(customerId)
@@ -118,4 +197,15 @@ public class CustomerService {
                   HttpStatus.NOT_FOUND, AppMessages.CUSTOMER_NOT_FOUND_EXCEPTION);
             });
   }
+
+  private Specification<Customer> buildSpec(CustomerSpecs customerSpecs) {
+    return SqlStatsSpecifications.capturing(
+        SpecificationBuilder.<Customer>builder()
+            .likeIfPresent(root -> root.get(Customer_.firstNameLower), customerSpecs.getFirstName())
+            .likeIfPresent(root -> root.get(Customer_.lastNameLower), customerSpecs.getLastName())
+            .likeIfPresent(root -> root.get(Customer_.emailLower), customerSpecs.getEmail())
+            .likeIfPresent(root -> root.get(Customer_.usernameLower), customerSpecs.getUsername())
+            .equalsIfPresent(root -> root.get(Customer_.status), customerSpecs.getStatus())
+            .build());
+  }
 }
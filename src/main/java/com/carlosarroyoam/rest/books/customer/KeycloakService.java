@@ -2,77 +2,164 @@ package com.carlosarroyoam.rest.books.customer;
 
 import com.carlosarroyoam.rest.books.core.constant.AppMessages;
 import com.carlosarroyoam.rest.books.core.property.KeycloakAdminProps;
-import com.carlosarroyoam.rest.books.customer.dto.CreateCustomerRequest;
+import com.carlosarroyoam.rest.books.customer.entity.Customer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.Status;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 import org.keycloak.admin.client.Keycloak;
+import org.keycloak.admin.client.resource.RealmResource;
 import org.keycloak.admin.client.resource.UsersResource;
 import org.keycloak.representations.idm.CredentialRepresentation;
 import org.keycloak.representations.idm.RoleRepresentation;
 import org.keycloak.representations.idm.UserRepresentation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
 @Service
 public class KeycloakService {
-  private final Keycloak keycloak;
-  private final KeycloakAdminProps keycloakAdminProps;
+  private static final Logger log = LoggerFactory.getLogger(KeycloakService.class);
+  private static final String CUSTOMER_ROLE = "App/Customer";
+  private static final String CUSTOMER_ID_ATTRIBUTE = "customerId";
+  private final RealmResource realmResource;
+  private final UsersResource usersResource;
+  private final MeterRegistry meterRegistry;
+  private final Map<String, RoleRepresentation> realmRoles = new ConcurrentHashMap<>();
 
-  public KeycloakService(Keycloak keycloak, KeycloakAdminProps keycloakAdminProps) {
-    this.keycloak = keycloak;
-    this.keycloakAdminProps = keycloakAdminProps;
+  public KeycloakService(
+      Keycloak keycloak, KeycloakAdminProps keycloakAdminProps, MeterRegistry meterRegistry) {
+    this.realmResource = keycloak.realm(keycloakAdminProps.getRealm());
+    this.usersResource = realmResource.users();
+    this.meterRegistry = meterRegistry;
   }
 
-  public void createUser(CreateCustomerRequest request, Long customerId) {
-    UsersResource usersResource = keycloak.realm(keycloakAdminProps.getRealm()).users();
+  public void createUser(Customer customer, String password) {
+    String keycloakUserId =
+        findExistingUserId(customer).orElseGet(() -> createKeycloakUser(customer, password));
+    RoleRepresentation role = findRealmRole(CUSTOMER_ROLE);
 
+    timed(
+        "assign_realm_role",
+        () -> {
+          usersResource
+              .get(keycloakUserId)
+              .roles()
+              .realmLevel()
+              .add(Collections.singletonList(role));
+          return role;
+        });
+  }
+
+  @Scheduled(
+      fixedDelayString = "${keycloak.admin.role-refresh-interval}",
+      initialDelayString = "${keycloak.admin.role-refresh-interval}")
+  public void refreshRealmRoles() {
+    for (String roleName : realmRoles.keySet()) {
+      try {
+        realmRoles.put(roleName, fetchRealmRole(roleName));
+      } catch (RuntimeException ex) {
+        log.warn("Could not refresh realm role {}, keeping last known value", roleName, ex);
+      }
+    }
+  }
+
+  private Optional<String> findExistingUserId(Customer customer) {
     List<UserRepresentation> existingUsersByUsername =
-        usersResource.searchByUsername(request.getUsername(), true);
+        timed(
+            "search_by_username",
+            () -> usersResource.searchByUsername(customer.getUsername(), true));
     List<UserRepresentation> existingUsersByEmail =
-        usersResource.searchByEmail(request.getEmail(), true);
+        timed("search_by_email", () -> usersResource.searchByEmail(customer.getEmail(), true));
+
+    Map<String, UserRepresentation> existingUsers = new LinkedHashMap<>();
+    Stream.concat(existingUsersByUsername.stream(), existingUsersByEmail.stream())
+        .forEach(user -> existingUsers.putIfAbsent(user.getId(), user));
 
-    if (!existingUsersByUsername.isEmpty() || !existingUsersByEmail.isEmpty()) {
-      return;
+    if (existingUsers.isEmpty()) {
+      return Optional.empty();
+    }
+
+    if (existingUsers.size() == 1) {
+      UserRepresentation existingUser = existingUsers.values().iterator().next();
+      if (belongsTo(existingUser, customer)) {
+        return Optional.of(existingUser.getId());
+      }
     }
 
+    log.warn(AppMessages.USER_BELONGS_TO_ANOTHER_CUSTOMER_EXCEPTION);
+    throw new ResponseStatusException(
+        HttpStatus.CONFLICT, AppMessages.USER_BELONGS_TO_ANOTHER_CUSTOMER_EXCEPTION);
+  }
+
+  private String createKeycloakUser(Customer customer, String password) {
     Map<String, List<String>> attributes = new HashMap<>();
-    attributes.put("customerId", List.of(customerId.toString()));
+    attributes.put(CUSTOMER_ID_ATTRIBUTE, List.of(customer.getId().toString()));
 
     CredentialRepresentation credential = new CredentialRepresentation();
     credential.setTemporary(false);
     credential.setType(CredentialRepresentation.PASSWORD);
-    credential.setValue(request.getPassword());
+    credential.setValue(password);
 
     UserRepresentation user = new UserRepresentation();
-    user.setFirstName(request.getFirstName());
-    user.setLastName(request.getLastName());
-    user.setUsername(request.getUsername());
-    user.setEmail(request.getEmail());
+    user.setFirstName(customer.getFirstName());
+    user.setLastName(customer.getLastName());
+    user.setUsername(customer.getUsername());
+    user.setEmail(customer.getEmail());
     user.setEnabled(true);
     user.setAttributes(attributes);
     user.setCredentials(Collections.singletonList(credential));
 
-    try (Response response = usersResource.create(user)) {
+    try (Response response = timed("create_user", () -> usersResource.create(user))) {
       if (Status.CREATED.getStatusCode() != response.getStatus()) {
         throw new ResponseStatusException(
             HttpStatus.INTERNAL_SERVER_ERROR, AppMessages.USER_NOT_CREATED_EXCEPTION);
       }
 
-      String keycloakUserId = response.getLocation().getPath().replaceAll(".*/([^/]+)$", "$1");
+      return response.getLocation().getPath().replaceAll(".*/([^/]+)$", "$1");
+    }
+  }
 
-      RoleRepresentation role =
-          keycloak
-              .realm(keycloakAdminProps.getRealm())
-              .roles()
-              .get("App/Customer")
-              .toRepresentation();
+  private static boolean belongsTo(UserRepresentation user, Customer customer) {
+    List<String> customerIds =
+        user.getAttributes() != null ? user.getAttributes().get(CUSTOMER_ID_ATTRIBUTE) : null;
+    return customerIds != null && customerIds.contains(customer.getId().toString());
+  }
+
+  private RoleRepresentation findRealmRole(String roleName) {
+    return realmRoles.computeIfAbsent(roleName, this::fetchRealmRole);
+  }
+
+  private RoleRepresentation fetchRealmRole(String roleName) {
+    return timed("get_realm_role", () -> realmResource.roles().get(roleName).toRepresentation());
+  }
 
-      usersResource.get(keycloakUserId).roles().realmLevel().add(Collections.singletonList(role));
+  private <T> T timed(String operation, Supplier<T> call) {
+    Timer.Sample sample = Timer.start(meterRegistry);
+    String outcome = "error";
+    try {
+      T result = call.get();
+      outcome = "success";
+      return result;
+    } finally {
+      sample.stop(
+          Timer.builder("keycloak.admin.requests")
+              .description("Keycloak admin API call latency")
+              .tag("operation", operation)
+              .tag("outcome", outcome)
+              .register(meterRegistry));
     }
   }
 }
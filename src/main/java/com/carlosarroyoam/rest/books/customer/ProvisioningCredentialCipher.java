@@ -0,0 +1,70 @@
+package com.carlosarroyoam.rest.books.customer;
+
+import com.carlosarroyoam.rest.books.core.property.ProvisioningProps;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ProvisioningCredentialCipher {
+  private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+  private static final int IV_LENGTH = 12;
+  private static final int TAG_LENGTH_BITS = 128;
+
+  private final SecretKey key;
+  private final SecureRandom secureRandom = new SecureRandom();
+
+  public ProvisioningCredentialCipher(ProvisioningProps provisioningProps) {
+    byte[] keyBytes = Base64.getDecoder().decode(provisioningProps.getCredentialKey());
+    if (keyBytes.length != 32) {
+      throw new IllegalArgumentException("credential-key must be a base64 encoded 256-bit key");
+    }
+
+    this.key = new SecretKeySpec(keyBytes, "AES");
+  }
+
+  public String encrypt(Long customerId, String password) {
+    byte[] iv = new byte[IV_LENGTH];
+    secureRandom.nextBytes(iv);
+
+    try {
+      Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+      cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH_BITS, iv));
+      cipher.updateAAD(associatedData(customerId));
+      byte[] ciphertext = cipher.doFinal(password.getBytes(StandardCharsets.UTF_8));
+
+      byte[] payload =
+          ByteBuffer.allocate(iv.length + ciphertext.length).put(iv).put(ciphertext).array();
+      return Base64.getEncoder().encodeToString(payload);
+    } catch (GeneralSecurityException ex) {
+      throw new IllegalStateException("Could not encrypt provisioning credential", ex);
+    }
+  }
+
+  public String decrypt(Long customerId, String encryptedPassword) {
+    byte[] payload = Base64.getDecoder().decode(encryptedPassword);
+
+    try {
+      Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+      cipher.init(
+          Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH_BITS, payload, 0, IV_LENGTH));
+      cipher.updateAAD(associatedData(customerId));
+      byte[] plaintext = cipher.doFinal(payload, IV_LENGTH, payload.length - IV_LENGTH);
+
+      return new String(plaintext, StandardCharsets.UTF_8);
+    } catch (GeneralSecurityException ex) {
+      throw new IllegalStateException("Could not decrypt provisioning credential", ex);
+    }
+  }
+
+  private static byte[] associatedData(Long customerId) {
+    return String.valueOf(customerId).getBytes(StandardCharsets.UTF_8);
+  }
+}
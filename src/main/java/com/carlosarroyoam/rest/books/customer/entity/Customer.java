@@ -7,7 +7,10 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -16,29 +19,67 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "customers")
+@Table(
+    name = "customers",
+    uniqueConstraints = {
+      @UniqueConstraint(name = Customer.EMAIL_UNIQUE_CONSTRAINT, columnNames = "email"),
+      @UniqueConstraint(name = Customer.USERNAME_UNIQUE_CONSTRAINT, columnNames = "username")
+    },
+    indexes = @Index(name = "idx_customers_status", columnList = "status"))
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Customer {
+  public static final String EMAIL_UNIQUE_CONSTRAINT = "uk_customers_email";
+  public static final String USERNAME_UNIQUE_CONSTRAINT = "uk_customers_username";
+
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customers_seq")
+  @SequenceGenerator(name = "customers_seq", sequenceName = "customers_seq", allocationSize = 50)
   private Long id;
 
   @Column(name = "first_name", length = 64, nullable = false)
   private String firstName;
 
+  @Column(
+      name = "first_name_lower",
+      columnDefinition = "VARCHAR(64) GENERATED ALWAYS AS (LOWER(first_name))",
+      insertable = false,
+      updatable = false)
+  private String firstNameLower;
+
   @Column(name = "last_name", length = 64, nullable = false)
   private String lastName;
 
-  @Column(name = "email", length = 64, nullable = false, unique = true)
+  @Column(
+      name = "last_name_lower",
+      columnDefinition = "VARCHAR(64) GENERATED ALWAYS AS (LOWER(last_name))",
+      insertable = false,
+      updatable = false)
+  private String lastNameLower;
+
+  @Column(name = "email", length = 64, nullable = false)
   private String email;
 
-  @Column(name = "username", length = 64, nullable = false, unique = true)
+  @Column(
+      name = "email_lower",
+      columnDefinition = "VARCHAR(64) GENERATED ALWAYS AS (LOWER(email))",
+      insertable = false,
+      updatable = false)
+  private String emailLower;
+
+  @Column(name = "username", length = 64, nullable = false)
   private String username;
 
+  @Column(
+      name = "username_lower",
+      columnDefinition = "VARCHAR(64) GENERATED ALWAYS AS (LOWER(username))",
+      insertable = false,
+      updatable = false)
+  private String usernameLower;
+
   @Enumerated(EnumType.STRING)
   @Column(name = "status", length = 32, nullable = false)
   private CustomerStatus status;
@@ -0,0 +1,69 @@
+package com.carlosarroyoam.rest.books.customer.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(
+    name = "customer_provisionings",
+    indexes =
+        @Index(
+            name = "idx_customer_provisionings_status_next_attempt_at",
+            columnList = "status, next_attempt_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CustomerProvisioning {
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customer_provisionings_seq")
+  @SequenceGenerator(
+      name = "customer_provisionings_seq",
+      sequenceName = "customer_provisionings_seq",
+      allocationSize = 50)
+  private Long id;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "customer_id", nullable = false)
+  private Customer customer;
+
+  @Column(name = "encrypted_password", length = 255, nullable = true)
+  private String encryptedPassword;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "status", length = 32, nullable = false)
+  private ProvisioningStatus status;
+
+  @Column(name = "attempts", nullable = false)
+  private Integer attempts;
+
+  @Column(name = "next_attempt_at", nullable = false)
+  private LocalDateTime nextAttemptAt;
+
+  @Column(name = "last_error", length = 255, nullable = true)
+  private String lastError;
+
+  @Column(name = "created_at", nullable = false)
+  private LocalDateTime createdAt;
+
+  @Column(name = "updated_at", nullable = false)
+  private LocalDateTime updatedAt;
+}
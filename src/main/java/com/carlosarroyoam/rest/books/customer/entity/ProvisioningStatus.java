@@ -0,0 +1,7 @@
+package com.carlosarroyoam.rest.books.customer.entity;
+
+public enum ProvisioningStatus {
+  PENDING,
+  COMPLETED,
+  FAILED
+}
@@ -1,23 +1,39 @@
 package com.carlosarroyoam.rest.books.order;
 
+import com.carlosarroyoam.rest.books.author.dto.AuthorResponse;
+import com.carlosarroyoam.rest.books.book.dto.BookResponse;
+import com.carlosarroyoam.rest.books.core.constant.CustomHeaderNames;
 import com.carlosarroyoam.rest.books.core.dto.PagedResponse;
+import com.carlosarroyoam.rest.books.core.etag.ETags;
+import com.carlosarroyoam.rest.books.core.idempotency.IdempotencyStore;
 import com.carlosarroyoam.rest.books.order.dto.CreateOrderRequest;
+import com.carlosarroyoam.rest.books.order.dto.OrderItemResponse;
 import com.carlosarroyoam.rest.books.order.dto.OrderResponse;
 import com.carlosarroyoam.rest.books.order.dto.OrderSpecs;
 import com.carlosarroyoam.rest.books.order.dto.UpdateOrderRequest;
 import jakarta.validation.Valid;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponents;
 import org.springframework.web.util.UriComponentsBuilder;
 
@@ -25,35 +41,65 @@ import org.springframework.web.util.UriComponentsBuilder;
 @RequestMapping("/orders")
 public class OrderController {
   private final OrderService orderService;
+  private final IdempotencyStore<URI> orderIdempotencyStore;
 
-  public OrderController(OrderService orderService) {
+  public OrderController(OrderService orderService, IdempotencyStore<URI> orderIdempotencyStore) {
     this.orderService = orderService;
+    this.orderIdempotencyStore = orderIdempotencyStore;
   }
 
   @GetMapping(produces = "application/json")
   @PreAuthorize("hasRole('App/Admin')")
   public ResponseEntity<PagedResponse<OrderResponse>> findAll(
       @Valid @ModelAttribute OrderSpecs orderSpecs,
-      @PageableDefault(page = 0, size = 25, sort = "id") Pageable pageable) {
-    PagedResponse<OrderResponse> orders = orderService.findAll(orderSpecs, pageable);
-    return ResponseEntity.ok(orders);
+      @PageableDefault(page = 0, size = 25, sort = "id") Pageable pageable,
+      @RequestParam(required = false) String cursor,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    PagedResponse<OrderResponse> orders =
+        cursor == null
+            ? orderService.findAll(orderSpecs, pageable)
+            : orderService.findAllByCursor(orderSpecs, pageable, cursor);
+    String eTag = ETags.ofPage(orders, OrderController::version);
+    return ETags.toResponse(eTag, ifNoneMatch, () -> orders);
+  }
+
+  @GetMapping(value = "/export", produces = "application/x-ndjson")
+  @PreAuthorize("hasRole('App/Admin')")
+  public ResponseEntity<StreamingResponseBody> exportAll(
+      @Valid @ModelAttribute OrderSpecs orderSpecs) {
+    StreamingResponseBody body = outputStream -> orderService.exportAll(orderSpecs, outputStream);
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
   }
 
   @GetMapping(value = "/{orderId}", produces = "application/json")
   @PreAuthorize("hasRole('App/Admin')")
-  public ResponseEntity<OrderResponse> findById(@PathVariable Long orderId) {
-    OrderResponse orderById = orderService.findById(orderId);
-    return ResponseEntity.ok(orderById);
+  public ResponseEntity<OrderResponse> findById(
+      @PathVariable Long orderId,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    String eTag = orderService.findETagById(orderId);
+    return ETags.toResponse(eTag, ifNoneMatch, () -> orderService.findById(orderId));
   }
 
   @PostMapping(consumes = "application/json")
   @PreAuthorize("hasRole('App/Admin')")
   public ResponseEntity<Void> create(
-      @Valid @RequestBody CreateOrderRequest request, UriComponentsBuilder builder) {
-    OrderResponse createdOrder = orderService.create(request);
-    UriComponents uriComponents =
-        builder.path("/orders/{orderId}").buildAndExpand(createdOrder.getId());
-    return ResponseEntity.created(uriComponents.toUri()).build();
+      @RequestHeader(value = CustomHeaderNames.IDEMPOTENCY_KEY, required = false)
+          String idempotencyKey,
+      @Valid @RequestBody CreateOrderRequest request,
+      @AuthenticationPrincipal Jwt jwt,
+      UriComponentsBuilder builder) {
+    URI location =
+        orderIdempotencyStore.execute(
+            idempotencyKey,
+            jwt.getSubject(),
+            request,
+            () -> {
+              OrderResponse createdOrder = orderService.create(request);
+              UriComponents uriComponents =
+                  builder.path("/orders/{orderId}").buildAndExpand(createdOrder.getId());
+              return uriComponents.toUri();
+            });
+    return ResponseEntity.created(location).build();
   }
 
   @PutMapping(value = "/{orderId}", consumes = "application/json")
@@ -63,4 +109,35 @@ public class OrderController {
     orderService.update(orderId, request);
     return ResponseEntity.noContent().build();
   }
+
+  private static String version(OrderResponse order) {
+    return ETags.version(order.getId(), updatedAts(order));
+  }
+
+  private static Stream<LocalDateTime> updatedAts(OrderResponse order) {
+    Stream<LocalDateTime> orderUpdatedAts =
+        Stream.of(
+            order.getUpdatedAt(),
+            order.getCustomer() == null ? null : order.getCustomer().getUpdatedAt(),
+            order.getPayment() == null ? null : order.getPayment().getUpdatedAt(),
+            order.getShipment() == null ? null : order.getShipment().getUpdatedAt());
+    Stream<LocalDateTime> itemUpdatedAts =
+        order.getItems() == null
+            ? Stream.empty()
+            : order.getItems().stream().flatMap(OrderController::updatedAts);
+    return Stream.concat(orderUpdatedAts, itemUpdatedAts);
+  }
+
+  private static Stream<LocalDateTime> updatedAts(OrderItemResponse item) {
+    BookResponse book = item.getBook();
+    if (book == null) {
+      return Stream.of(item.getUpdatedAt());
+    }
+
+    Stream<LocalDateTime> authorUpdatedAts =
+        book.getAuthors() == null
+            ? Stream.empty()
+            : book.getAuthors().stream().map(AuthorResponse::getUpdatedAt);
+    return Stream.concat(Stream.of(item.getUpdatedAt(), book.getUpdatedAt()), authorUpdatedAts);
+  }
 }
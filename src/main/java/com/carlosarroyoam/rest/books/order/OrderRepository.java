@@ -1,8 +1,32 @@
 package com.carlosarroyoam.rest.books.order;
 
 import com.carlosarroyoam.rest.books.order.entity.Order;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 
 public interface OrderRepository
-    extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order> {}
+    extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order> {
+  @EntityGraph(attributePaths = {"customer", "payment", "shipment", "items", "items.book"})
+  Optional<Order> findWithDetailsById(Long id);
+
+  @Query(
+      "SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.items i LEFT JOIN FETCH i.book"
+          + " WHERE o.id IN :orderIds")
+  List<Order> findAllWithItemsByIdIn(Collection<Long> orderIds);
+
+  @Query(
+      "SELECT greatest(o.updatedAt, c.updatedAt, coalesce(p.updatedAt, o.updatedAt),"
+          + " coalesce(s.updatedAt, o.updatedAt), coalesce(max(i.updatedAt), o.updatedAt),"
+          + " coalesce(max(b.updatedAt), o.updatedAt), coalesce(max(a.updatedAt), o.updatedAt))"
+          + " FROM Order o JOIN o.customer c LEFT JOIN o.payment p LEFT JOIN o.shipment s"
+          + " LEFT JOIN o.items i LEFT JOIN i.book b LEFT JOIN b.authors a"
+          + " WHERE o.id = :orderId"
+          + " GROUP BY o.id, o.updatedAt, c.updatedAt, p.updatedAt, s.updatedAt")
+  Optional<LocalDateTime> findLastModifiedAtById(Long orderId);
+}
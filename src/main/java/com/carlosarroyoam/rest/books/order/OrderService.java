@@ -5,7 +5,11 @@ import com.carlosarroyoam.rest.books.book.entity.Book;
 import com.carlosarroyoam.rest.books.core.constant.AppMessages;
 import com.carlosarroyoam.rest.books.core.dto.PagedResponse;
 import com.carlosarroyoam.rest.books.core.dto.PagedResponse.PagedResponseMapper;
+import com.carlosarroyoam.rest.books.core.etag.ETags;
+import com.carlosarroyoam.rest.books.core.export.NdjsonExporter;
+import com.carlosarroyoam.rest.books.core.specification.KeysetPagination;
 import com.carlosarroyoam.rest.books.core.specification.SpecificationBuilder;
+import com.carlosarroyoam.rest.books.core.sql.SqlStatsSpecifications;
 import com.carlosarroyoam.rest.books.customer.CustomerRepository;
 import com.carlosarroyoam.rest.books.customer.entity.Customer;
 import com.carlosarroyoam.rest.books.customer.entity.Customer_;
@@ -19,11 +23,18 @@ import com.carlosarroyoam.rest.books.order.entity.Order;
 import com.carlosarroyoam.rest.books.order.entity.OrderItem;
 import com.carlosarroyoam.rest.books.order.entity.OrderStatus;
 import com.carlosarroyoam.rest.books.order.entity.Order_;
+import jakarta.persistence.criteria.JoinType;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -43,46 +54,82 @@ public class OrderService {
   private final OrderRepository orderRepository;
   private final CustomerRepository customerRepository;
   private final BookRepository bookRepository;
+  private final NdjsonExporter ndjsonExporter;
 
   public OrderService(
       OrderRepository orderRepository,
       CustomerRepository customerRepository,
-      BookRepository bookRepository) {
+      BookRepository bookRepository,
+      NdjsonExporter ndjsonExporter) {
     this.orderRepository = orderRepository;
     this.customerRepository = customerRepository;
     this.bookRepository = bookRepository;
+    this.ndjsonExporter = ndjsonExporter;
   }
 
   @Transactional(readOnly = true)
   public PagedResponse<OrderResponse> findAll(OrderSpecs orderSpecs, Pageable pageable) {
-    Specification<Order> spec =
-        SpecificationBuilder.<Order>builder()
-            .likeIfPresent(root -> root.get(Order_.orderNumber), orderSpecs.getOrderNumber())
-            .likeIfPresent(
-                root -> root.get(Order_.shippingAddress), orderSpecs.getShippingAddress())
-            .betweenIfPresent(
-                root -> root.get(Order_.total), orderSpecs.getMinTotal(), orderSpecs.getMaxTotal())
-            .equalsIfPresent(root -> root.get(Order_.status), orderSpecs.getStatus())
-            .betweenDatesIfPresent(
-                root -> root.get(Order_.createdAt),
-                orderSpecs.getStartDate(),
-                orderSpecs.getEndDate())
-            .equalsIfPresent(
-                root -> root.join(Order_.customer).get(Customer_.id), orderSpecs.getCustomerId())
-            .build();
-
-    Page<Order> orders = orderRepository.findAll(spec, pageable);
+    Page<Order> orders = orderRepository.findAll(buildSpec(orderSpecs), pageable);
+    fetchItems(orders.getContent());
 
     return PagedResponseMapper.INSTANCE.toPagedResponse(
         orders.map(OrderResponseMapper.INSTANCE::toDto));
   }
 
+  @Transactional(readOnly = true)
+  public PagedResponse<OrderResponse> findAllByCursor(
+      OrderSpecs orderSpecs, Pageable pageable, String cursor) {
+    PagedResponse<Order> orders =
+        KeysetPagination.findPage(
+            orderRepository, buildSpec(orderSpecs), pageable, cursor, Function.identity());
+    fetchItems(orders.getItems());
+
+    return PagedResponse.<OrderResponse>builder()
+        .items(OrderResponseMapper.INSTANCE.toDtos(orders.getItems()))
+        .pagination(orders.getPagination())
+        .build();
+  }
+
+  @Transactional(readOnly = true)
+  public void exportAll(OrderSpecs orderSpecs, OutputStream outputStream) {
+    ndjsonExporter.export(
+        Order.class,
+        buildSpec(orderSpecs),
+        orders -> {
+          fetchItems(orders);
+          return OrderResponseMapper.INSTANCE.toDtos(orders);
+        },
+        outputStream);
+  }
+
   @Transactional(readOnly = true)
   public OrderResponse findById(Long orderId) {
-    Order orderById = findOrderByIdOrFail(orderId);
+    Order orderById =
+        orderRepository
+            .findWithDetailsById(orderId)
+            .orElseThrow(
+                () -> {
+                  log.warn(AppMessages.ORDER_NOT_FOUND_EXCEPTION);
+                  return new ResponseStatusException(
+                      HttpStatus.NOT_FOUND, AppMessages.ORDER_NOT_FOUND_EXCEPTION);
+                });
+    fetchBookAuthors(List.of(orderById));
     return OrderResponseMapper.INSTANCE.toDto(orderById);
   }
 
+  @Transactional(readOnly = true)
+  public String findETagById(Long orderId) {
+    return orderRepository
+        .findLastModifiedAtById(orderId)
+        .map(lastModifiedAt -> ETags.of(orderId, lastModifiedAt))
+        .orElseThrow(
+            () -> {
+              log.warn(AppMessages.ORDER_NOT_FOUND_EXCEPTION);
+              return new ResponseStatusException(
+                  HttpStatus.NOT_FOUND, AppMessages.ORDER_NOT_FOUND_EXCEPTION);
+            });
+  }
+
   @Transactional
   public OrderResponse create(CreateOrderRequest request) {
     Customer customerById = findCustomerByIdOrFail(request);
@@ -128,19 +175,31 @@ public class OrderService {
 
   private List<OrderItem> buildOrderItems(
       List<CreateOrderItemRequest> requestItems, LocalDateTime now, Order order) {
-    return requestItems.stream()
+    Map<Long, Integer> quantitiesByBookId =
+        requestItems.stream()
+            .collect(
+                Collectors.toMap(
+                    CreateOrderItemRequest::getBookId,
+                    CreateOrderItemRequest::getQuantity,
+                    Integer::sum,
+                    LinkedHashMap::new));
+
+    Map<Long, Book> booksById = findBooksByIdsOrFail(quantitiesByBookId.keySet());
+
+    return quantitiesByBookId.entrySet().stream()
         .map(
-            item -> {
-              Book bookById = findBookByIdOrFail(item.getBookId());
+            entry -> {
+              Book bookById = booksById.get(entry.getKey());
+              Integer quantity = entry.getValue();
 
               BigDecimal unitPrice = bookById.getPrice().setScale(2, RoundingMode.HALF_UP);
               BigDecimal totalPrice =
                   unitPrice
-                      .multiply(BigDecimal.valueOf(item.getQuantity()))
+                      .multiply(BigDecimal.valueOf(quantity))
                       .setScale(2, RoundingMode.HALF_UP);
 
               return OrderItem.builder()
-                  .quantity(item.getQuantity())
+                  .quantity(quantity)
                   .unitPrice(unitPrice)
                   .totalPrice(totalPrice)
                   .book(bookById)
@@ -198,14 +257,76 @@ public class OrderService {
             });
   }
 
-  private Book findBookByIdOrFail(Long bookId) {
-    return bookRepository
-        .findById(bookId)
-        .orElseThrow(
-            () -> {
-              log.warn(AppMessages.BOOK_NOT_FOUND_EXCEPTION);
-              return new ResponseStatusException(
-                  HttpStatus.NOT_FOUND, AppMessages.BOOK_NOT_FOUND_EXCEPTION);
-            });
+  private Map<Long, Book> findBooksByIdsOrFail(Set<Long> bookIds) {
+    Map<Long, Book> booksById =
+        bookRepository.findAllWithAuthorsByIdIn(bookIds).stream()
+            .collect(Collectors.toMap(Book::getId, Function.identity()));
+
+    List<Long> missingBookIds =
+        bookIds.stream().filter(bookId -> !booksById.containsKey(bookId)).toList();
+
+    if (!missingBookIds.isEmpty()) {
+      log.warn(AppMessages.BOOK_NOT_FOUND_EXCEPTION);
+      throw new ResponseStatusException(
+          HttpStatus.NOT_FOUND,
+          String.format(AppMessages.BOOKS_NOT_FOUND_EXCEPTION, missingBookIds));
+    }
+
+    return booksById;
+  }
+
+  private void fetchItems(List<Order> orders) {
+    if (orders.isEmpty()) {
+      return;
+    }
+
+    orderRepository.findAllWithItemsByIdIn(orders.stream().map(Order::getId).toList());
+    fetchBookAuthors(orders);
+  }
+
+  private void fetchBookAuthors(List<Order> orders) {
+    Set<Long> bookIds =
+        orders.stream()
+            .flatMap(order -> order.getItems().stream())
+            .map(orderItem -> orderItem.getBook().getId())
+            .collect(Collectors.toSet());
+
+    if (!bookIds.isEmpty()) {
+      bookRepository.findAllWithAuthorsByIdIn(bookIds);
+    }
+  }
+
+  private static Specification<Order> fetchToOneAssociations() {
+    return (root, query, cb) -> {
+      if (Order.class.equals(query.getResultType())) {
+        root.fetch(Order_.customer);
+        root.fetch(Order_.payment, JoinType.LEFT);
+        root.fetch(Order_.shipment, JoinType.LEFT);
+      }
+
+      return null;
+    };
+  }
+
+  private Specification<Order> buildSpec(OrderSpecs orderSpecs) {
+    return SqlStatsSpecifications.capturing(
+            SpecificationBuilder.<Order>builder()
+                .likeIfPresent(
+                    root -> root.get(Order_.orderNumberLower), orderSpecs.getOrderNumber())
+                .likeIfPresent(
+                    root -> root.get(Order_.shippingAddressLower), orderSpecs.getShippingAddress())
+                .betweenIfPresent(
+                    root -> root.get(Order_.total),
+                    orderSpecs.getMinTotal(),
+                    orderSpecs.getMaxTotal())
+                .equalsIfPresent(root -> root.get(Order_.status), orderSpecs.getStatus())
+                .betweenDatesIfPresent(
+                    root -> root.get(Order_.createdAt),
+                    orderSpecs.getStartDate(),
+                    orderSpecs.getEndDate())
+                .equalsIfPresent(
+                    root -> root.get(Order_.customer).get(Customer_.id), orderSpecs.getCustomerId())
+                .build())
+        .and(fetchToOneAssociations());
   }
 }
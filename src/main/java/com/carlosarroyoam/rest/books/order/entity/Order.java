@@ -12,10 +12,12 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -28,7 +30,14 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "orders")
+@Table(
+    name = "orders",
+    indexes = {
+      @Index(name = "idx_orders_customer_id_created_at", columnList = "customer_id, created_at"),
+      @Index(name = "idx_orders_status_created_at", columnList = "status, created_at"),
+      @Index(name = "idx_orders_created_at", columnList = "created_at"),
+      @Index(name = "idx_orders_total", columnList = "total")
+    })
 @Getter
 @Setter
 @NoArgsConstructor
@@ -36,18 +45,33 @@ import lombok.Setter;
 @Builder
 public class Order {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+  @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
   private Long id;
 
   @Column(name = "order_number", length = 32, nullable = false, unique = true)
   private String orderNumber;
 
+  @Column(
+      name = "order_number_lower",
+      columnDefinition = "VARCHAR(32) GENERATED ALWAYS AS (LOWER(order_number))",
+      insertable = false,
+      updatable = false)
+  private String orderNumberLower;
+
   @Column(name = "notes", length = 1000)
   private String notes;
 
   @Column(name = "shipping_address", length = 512, nullable = false)
   private String shippingAddress;
 
+  @Column(
+      name = "shipping_address_lower",
+      columnDefinition = "VARCHAR(512) GENERATED ALWAYS AS (LOWER(shipping_address))",
+      insertable = false,
+      updatable = false)
+  private String shippingAddressLower;
+
   @Column(name = "billing_address", length = 512, nullable = false)
   private String billingAddress;
 
@@ -7,8 +7,10 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -19,7 +21,12 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "order_items")
+@Table(
+    name = "order_items",
+    indexes = {
+      @Index(name = "idx_order_items_order_id", columnList = "order_id"),
+      @Index(name = "idx_order_items_book_id", columnList = "book_id")
+    })
 @Getter
 @Setter
 @NoArgsConstructor
@@ -27,7 +34,11 @@ import lombok.Setter;
 @Builder
 public class OrderItem {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_seq")
+  @SequenceGenerator(
+      name = "order_items_seq",
+      sequenceName = "order_items_seq",
+      allocationSize = 50)
   private Long id;
 
   @Column(name = "quantity", nullable = false)
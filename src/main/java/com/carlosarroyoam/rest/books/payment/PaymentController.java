@@ -1,23 +1,35 @@
 package com.carlosarroyoam.rest.books.payment;
 
+import com.carlosarroyoam.rest.books.core.constant.CustomHeaderNames;
 import com.carlosarroyoam.rest.books.core.dto.PagedResponse;
+import com.carlosarroyoam.rest.books.core.etag.ETags;
+import com.carlosarroyoam.rest.books.core.idempotency.IdempotencyStore;
 import com.carlosarroyoam.rest.books.payment.dto.CreatePaymentRequest;
 import com.carlosarroyoam.rest.books.payment.dto.PaymentResponse;
 import com.carlosarroyoam.rest.books.payment.dto.PaymentSpecs;
 import com.carlosarroyoam.rest.books.payment.dto.UpdatePaymentStatusRequest;
 import jakarta.validation.Valid;
+import java.net.URI;
+import java.util.stream.Stream;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponents;
 import org.springframework.web.util.UriComponentsBuilder;
 
@@ -25,35 +37,67 @@ import org.springframework.web.util.UriComponentsBuilder;
 @RequestMapping("/payments")
 public class PaymentController {
   private final PaymentService paymentService;
+  private final IdempotencyStore<URI> paymentIdempotencyStore;
 
-  public PaymentController(PaymentService paymentService) {
+  public PaymentController(
+      PaymentService paymentService, IdempotencyStore<URI> paymentIdempotencyStore) {
     this.paymentService = paymentService;
+    this.paymentIdempotencyStore = paymentIdempotencyStore;
   }
 
   @GetMapping(produces = "application/json")
   @PreAuthorize("hasRole('App/Admin')")
   public ResponseEntity<PagedResponse<PaymentResponse>> findAll(
       @Valid @ModelAttribute PaymentSpecs paymentSpecs,
-      @PageableDefault(page = 0, size = 25, sort = "id") Pageable pageable) {
-    PagedResponse<PaymentResponse> payments = paymentService.findAll(paymentSpecs, pageable);
-    return ResponseEntity.ok(payments);
+      @PageableDefault(page = 0, size = 25, sort = "id") Pageable pageable,
+      @RequestParam(required = false) String cursor,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    PagedResponse<PaymentResponse> payments =
+        cursor == null
+            ? paymentService.findAll(paymentSpecs, pageable)
+            : paymentService.findAllByCursor(paymentSpecs, pageable, cursor);
+    String eTag = ETags.ofPage(payments, PaymentController::version);
+    return ETags.toResponse(eTag, ifNoneMatch, () -> payments);
+  }
+
+  @GetMapping(value = "/export", produces = "application/x-ndjson")
+  @PreAuthorize("hasRole('App/Admin')")
+  public ResponseEntity<StreamingResponseBody> exportAll(
+      @Valid @ModelAttribute PaymentSpecs paymentSpecs) {
+    StreamingResponseBody body =
+        outputStream -> paymentService.exportAll(paymentSpecs, outputStream);
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
   }
 
   @GetMapping(value = "/{paymentId}", produces = "application/json")
   @PreAuthorize("hasRole('App/Admin')")
-  public ResponseEntity<PaymentResponse> findById(@PathVariable Long paymentId) {
-    PaymentResponse paymentById = paymentService.findById(paymentId);
-    return ResponseEntity.ok(paymentById);
+  public ResponseEntity<PaymentResponse> findById(
+      @PathVariable Long paymentId,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    String eTag = paymentService.findETagById(paymentId);
+    return ETags.toResponse(eTag, ifNoneMatch, () -> paymentService.findById(paymentId));
   }
 
   @PostMapping(consumes = "application/json")
   @PreAuthorize("hasRole('App/Admin')")
   public ResponseEntity<Void> create(
-      @Valid @RequestBody CreatePaymentRequest request, UriComponentsBuilder builder) {
-    PaymentResponse createdPayment = paymentService.create(request);
-    UriComponents uriComponents =
-        builder.path("/payments/{paymentId}").buildAndExpand(createdPayment.getId());
-    return ResponseEntity.created(uriComponents.toUri()).build();
+      @RequestHeader(value = CustomHeaderNames.IDEMPOTENCY_KEY, required = false)
+          String idempotencyKey,
+      @Valid @RequestBody CreatePaymentRequest request,
+      @AuthenticationPrincipal Jwt jwt,
+      UriComponentsBuilder builder) {
+    URI location =
+        paymentIdempotencyStore.execute(
+            idempotencyKey,
+            jwt.getSubject(),
+            request,
+            () -> {
+              PaymentResponse createdPayment = paymentService.create(request);
+              UriComponents uriComponents =
+                  builder.path("/payments/{paymentId}").buildAndExpand(createdPayment.getId());
+              return uriComponents.toUri();
+            });
+    return ResponseEntity.created(location).build();
   }
 
   @PutMapping(value = "/{paymentId}/status", consumes = "application/json")
@@ -63,4 +107,8 @@ public class PaymentController {
     paymentService.updateStatus(paymentId, request);
     return ResponseEntity.noContent().build();
   }
+
+  private static String version(PaymentResponse payment) {
+    return ETags.version(payment.getId(), Stream.of(payment.getUpdatedAt()));
+  }
 }
@@ -1,13 +1,18 @@
 package com.carlosarroyoam.rest.books.payment;
 
 import com.carlosarroyoam.rest.books.payment.entity.Payment;
+import java.time.LocalDateTime;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 
 public interface PaymentRepository
     extends JpaRepository<Payment, Long>, JpaSpecificationExecutor<Payment> {
   boolean existsByOrderId(Long orderId);
 
   Optional<Payment> findByOrderId(Long orderId);
+
+  @Query("SELECT p.updatedAt FROM Payment p WHERE p.id = :paymentId")
+  Optional<LocalDateTime> findLastModifiedAtById(Long paymentId);
 }
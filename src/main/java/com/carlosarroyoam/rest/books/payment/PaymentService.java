@@ -3,7 +3,11 @@ package com.carlosarroyoam.rest.books.payment;
 import com.carlosarroyoam.rest.books.core.constant.AppMessages;
 import com.carlosarroyoam.rest.books.core.dto.PagedResponse;
 import com.carlosarroyoam.rest.books.core.dto.PagedResponse.PagedResponseMapper;
+import com.carlosarroyoam.rest.books.core.etag.ETags;
+import com.carlosarroyoam.rest.books.core.export.NdjsonExporter;
+import com.carlosarroyoam.rest.books.core.specification.KeysetPagination;
 import com.carlosarroyoam.rest.books.core.specification.SpecificationBuilder;
+import com.carlosarroyoam.rest.books.core.sql.SqlStatsSpecifications;
 import com.carlosarroyoam.rest.books.order.OrderRepository;
 import com.carlosarroyoam.rest.books.order.entity.Order;
 import com.carlosarroyoam.rest.books.order.entity.OrderStatus;
@@ -19,6 +23,7 @@ import com.carlosarroyoam.rest.books.payment.entity.Payment_;
 import com.carlosarroyoam.rest.books.shipment.ShipmentRepository;
 import com.carlosarroyoam.rest.books.shipment.entity.Shipment;
 import com.carlosarroyoam.rest.books.shipment.entity.ShipmentStatus;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.UUID;
 import org.slf4j.Logger;
@@ -37,48 +42,66 @@ public class PaymentService {
   private final PaymentRepository paymentRepository;
   private final OrderRepository orderRepository;
   private final ShipmentRepository shipmentRepository;
+  private final NdjsonExporter ndjsonExporter;
 
   public PaymentService(
       PaymentRepository paymentRepository,
       OrderRepository orderRepository,
-      ShipmentRepository shipmentRepository) {
+      ShipmentRepository shipmentRepository,
+      NdjsonExporter ndjsonExporter) {
     this.paymentRepository = paymentRepository;
     this.orderRepository = orderRepository;
     this.shipmentRepository = shipmentRepository;
+    this.ndjsonExporter = ndjsonExporter;
   }
 
   @Transactional(readOnly = true)
   public PagedResponse<PaymentResponse> findAll(PaymentSpecs paymentSpecs, Pageable pageable) {
-    Specification<Payment> spec =
-        SpecificationBuilder.<Payment>builder()
-            .equalsIfPresent(root -> root.get(Payment_.method), paymentSpecs.getMethod())
-            .betweenIfPresent(
-                root -> root.get(Payment_.amount),
-                paymentSpecs.getMinAmount(),
-                paymentSpecs.getMaxAmount())
-            .equalsIfPresent(root -> root.get(Payment_.status), paymentSpecs.getStatus())
-            .betweenDatesIfPresent(
-                root -> root.get(Payment_.createdAt),
-                paymentSpecs.getStartDate(),
-                paymentSpecs.getEndDate())
-            .likeIfPresent(
-                root -> root.get(Payment_.transactionId), paymentSpecs.getTransactionId())
-            .equalsIfPresent(
-                root -> root.join(Payment_.order).get(Order_.id), paymentSpecs.getOrderId())
-            .build();
-
-    Page<Payment> payments = paymentRepository.findAll(spec, pageable);
+    Page<Payment> payments = paymentRepository.findAll(buildSpec(paymentSpecs), pageable);
 
     return PagedResponseMapper.INSTANCE.toPagedResponse(
         payments.map(PaymentResponseMapper.INSTANCE::toDto));
   }
 
+  @Transactional(readOnly = true)
+  public PagedResponse<PaymentResponse> findAllByCursor(
+      PaymentSpecs paymentSpecs, Pageable pageable, String cursor) {
+    return KeysetPagination.findPage(
+        paymentRepository,
+        buildSpec(paymentSpecs),
+        pageable,
+        cursor,
+        PaymentResponseMapper.INSTANCE::toDto);
+  }
+
+  @Transactional(readOnly = true)
+  public void exportAll(PaymentSpecs paymentSpecs, OutputStream outputStream) {
+    ndjsonExporter.export(
+        Payment.class,
+        buildSpec(paymentSpecs),
+        payments -> payments.stream().map(PaymentResponseMapper.INSTANCE::toDto).toList(),
+        outputStream);
+  }
+
   @Transactional(readOnly = true)
   public PaymentResponse findById(Long paymentId) {
     Payment paymentById = findPaymentByIdOrFail(paymentId);
     return PaymentResponseMapper.INSTANCE.toDto(paymentById);
   }
 
+  @Transactional(readOnly = true)
+  public String findETagById(Long paymentId) {
+    return paymentRepository
+        .findLastModifiedAtById(paymentId)
+        .map(lastModifiedAt -> ETags.of(paymentId, lastModifiedAt))
+        .orElseThrow(
+            () -> {
+              log.warn(AppMessages.PAYMENT_NOT_FOUND_EXCEPTION);
+              return new ResponseStatusException(
+                  HttpStatus.NOT_FOUND, AppMessages.PAYMENT_NOT_FOUND_EXCEPTION);
+            });
+  }
+
   @Transactional
   public PaymentResponse create(CreatePaymentRequest request) {
     Order orderById = findOrderByIdOrFail(request.getOrderId());
@@ -185,4 +208,24 @@ public class PaymentService {
                   HttpStatus.NOT_FOUND, AppMessages.ORDER_NOT_FOUND_EXCEPTION);
             });
   }
+
+  private Specification<Payment> buildSpec(PaymentSpecs paymentSpecs) {
+    return SqlStatsSpecifications.capturing(
+        SpecificationBuilder.<Payment>builder()
+            .equalsIfPresent(root -> root.get(Payment_.method), paymentSpecs.getMethod())
+            .betweenIfPresent(
+                root -> root.get(Payment_.amount),
+                paymentSpecs.getMinAmount(),
+                paymentSpecs.getMaxAmount())
+            .equalsIfPresent(root -> root.get(Payment_.status), paymentSpecs.getStatus())
+            .betweenDatesIfPresent(
+                root -> root.get(Payment_.createdAt),
+                paymentSpecs.getStartDate(),
+                paymentSpecs.getEndDate())
+            .likeIfPresent(
+                root -> root.get(Payment_.transactionIdLower), paymentSpecs.getTransactionId())
+            .equalsIfPresent(
+                root -> root.get(Payment_.order).get(Order_.id), paymentSpecs.getOrderId())
+            .build());
+  }
 }
@@ -9,8 +9,10 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -21,7 +23,14 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "payments")
+@Table(
+    name = "payments",
+    indexes = {
+      @Index(name = "idx_payments_status_created_at", columnList = "status, created_at"),
+      @Index(name = "idx_payments_method_created_at", columnList = "method, created_at"),
+      @Index(name = "idx_payments_created_at", columnList = "created_at"),
+      @Index(name = "idx_payments_amount", columnList = "amount")
+    })
 @Getter
 @Setter
 @NoArgsConstructor
@@ -29,7 +38,8 @@ import lombok.Setter;
 @Builder
 public class Payment {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payments_seq")
+  @SequenceGenerator(name = "payments_seq", sequenceName = "payments_seq", allocationSize = 50)
   private Long id;
 
   @Column(name = "amount", precision = 10, scale = 2, nullable = false)
@@ -46,6 +56,13 @@ public class Payment {
   @Column(name = "transaction_id", length = 128)
   private String transactionId;
 
+  @Column(
+      name = "transaction_id_lower",
+      columnDefinition = "VARCHAR(128) GENERATED ALWAYS AS (LOWER(transaction_id))",
+      insertable = false,
+      updatable = false)
+  private String transactionIdLower;
+
   @OneToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "order_id", referencedColumnName = "id", nullable = false, unique = true)
   private Order order;
@@ -4,5 +4,6 @@ public enum PaymentMethod {
   CASH_ON_DELIVERY,
   CREDIT_CARD,
   DEBIT_CARD,
-  BANK_TRANSFER
+  BANK_TRANSFER,
+  PAYPAL
 }
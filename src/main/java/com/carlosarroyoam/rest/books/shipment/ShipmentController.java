@@ -1,12 +1,16 @@
 package com.carlosarroyoam.rest.books.shipment;
 
 import com.carlosarroyoam.rest.books.core.dto.PagedResponse;
+import com.carlosarroyoam.rest.books.core.etag.ETags;
 import com.carlosarroyoam.rest.books.shipment.dto.ShipmentResponse;
 import com.carlosarroyoam.rest.books.shipment.dto.ShipmentSpecs;
 import com.carlosarroyoam.rest.books.shipment.dto.UpdateShipmentStatusRequest;
 import jakarta.validation.Valid;
+import java.util.stream.Stream;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,8 +18,11 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/shipments")
@@ -30,16 +37,33 @@ public class ShipmentController {
   @PreAuthorize("hasRole('App/Admin')")
   public ResponseEntity<PagedResponse<ShipmentResponse>> findAll(
       @Valid @ModelAttribute ShipmentSpecs shipmentSpecs,
-      @PageableDefault(page = 0, size = 25, sort = "id") Pageable pageable) {
-    PagedResponse<ShipmentResponse> shipments = shipmentService.findAll(shipmentSpecs, pageable);
-    return ResponseEntity.ok(shipments);
+      @PageableDefault(page = 0, size = 25, sort = "id") Pageable pageable,
+      @RequestParam(required = false) String cursor,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    PagedResponse<ShipmentResponse> shipments =
+        cursor == null
+            ? shipmentService.findAll(shipmentSpecs, pageable)
+            : shipmentService.findAllByCursor(shipmentSpecs, pageable, cursor);
+    String eTag = ETags.ofPage(shipments, ShipmentController::version);
+    return ETags.toResponse(eTag, ifNoneMatch, () -> shipments);
+  }
+
+  @GetMapping(value = "/export", produces = "application/x-ndjson")
+  @PreAuthorize("hasRole('App/Admin')")
+  public ResponseEntity<StreamingResponseBody> exportAll(
+      @Valid @ModelAttribute ShipmentSpecs shipmentSpecs) {
+    StreamingResponseBody body =
+        outputStream -> shipmentService.exportAll(shipmentSpecs, outputStream);
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
   }
 
   @GetMapping(value = "/{shipmentId}", produces = "application/json")
   @PreAuthorize("hasRole('App/Admin')")
-  public ResponseEntity<ShipmentResponse> findById(@PathVariable Long shipmentId) {
-    ShipmentResponse shipmentById = shipmentService.findById(shipmentId);
-    return ResponseEntity.ok(shipmentById);
+  public ResponseEntity<ShipmentResponse> findById(
+      @PathVariable Long shipmentId,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    String eTag = shipmentService.findETagById(shipmentId);
+    return ETags.toResponse(eTag, ifNoneMatch, () -> shipmentService.findById(shipmentId));
   }
 
   @PutMapping(value = "/{shipmentId}/status", consumes = "application/json")
@@ -49,4 +73,8 @@ public class ShipmentController {
     shipmentService.updateStatus(shipmentId, request);
     return ResponseEntity.noContent().build();
   }
+
+  private static String version(ShipmentResponse shipment) {
+    return ETags.version(shipment.getId(), Stream.of(shipment.getUpdatedAt()));
+  }
 }
@@ -1,11 +1,16 @@
 package com.carlosarroyoam.rest.books.shipment;
 
 import com.carlosarroyoam.rest.books.shipment.entity.Shipment;
+import java.time.LocalDateTime;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 
 public interface ShipmentRepository
     extends JpaRepository<Shipment, Long>, JpaSpecificationExecutor<Shipment> {
   Optional<Shipment> findByOrderId(Long orderId);
+
+  @Query("SELECT s.updatedAt FROM Shipment s WHERE s.id = :shipmentId")
+  Optional<LocalDateTime> findLastModifiedAtById(Long shipmentId);
 }
@@ -3,7 +3,11 @@ package com.carlosarroyoam.rest.books.shipment;
 import com.carlosarroyoam.rest.books.core.constant.AppMessages;
 import com.carlosarroyoam.rest.books.core.dto.PagedResponse;
 import com.carlosarroyoam.rest.books.core.dto.PagedResponse.PagedResponseMapper;
+import com.carlosarroyoam.rest.books.core.etag.ETags;
+import com.carlosarroyoam.rest.books.core.export.NdjsonExporter;
+import com.carlosarroyoam.rest.books.core.specification.KeysetPagination;
 import com.carlosarroyoam.rest.books.core.specification.SpecificationBuilder;
+import com.carlosarroyoam.rest.books.core.sql.SqlStatsSpecifications;
 import com.carlosarroyoam.rest.books.order.OrderRepository;
 import com.carlosarroyoam.rest.books.order.entity.Order;
 import com.carlosarroyoam.rest.books.order.entity.OrderStatus;
@@ -15,6 +19,7 @@ import com.carlosarroyoam.rest.books.shipment.dto.UpdateShipmentStatusRequest;
 import com.carlosarroyoam.rest.books.shipment.entity.Shipment;
 import com.carlosarroyoam.rest.books.shipment.entity.ShipmentStatus;
 import com.carlosarroyoam.rest.books.shipment.entity.Shipment_;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,41 +36,64 @@ public class ShipmentService {
   private static final Logger log = LoggerFactory.getLogger(ShipmentService.class);
   private final ShipmentRepository shipmentRepository;
   private final OrderRepository orderRepository;
+  private final NdjsonExporter ndjsonExporter;
 
-  public ShipmentService(ShipmentRepository shipmentRepository, OrderRepository orderRepository) {
+  public ShipmentService(
+      ShipmentRepository shipmentRepository,
+      OrderRepository orderRepository,
+      NdjsonExporter ndjsonExporter) {
     this.shipmentRepository = shipmentRepository;
     this.orderRepository = orderRepository;
+    this.ndjsonExporter = ndjsonExporter;
   }
 
   @Transactional(readOnly = true)
   public PagedResponse<ShipmentResponse> findAll(ShipmentSpecs shipmentSpecs, Pageable pageable) {
-    Specification<Shipment> spec =
-        SpecificationBuilder.<Shipment>builder()
-            .likeIfPresent(
-                root -> root.get(Shipment_.attentionName), shipmentSpecs.getAttentionName())
-            .likeIfPresent(root -> root.get(Shipment_.address), shipmentSpecs.getAddress())
-            .likeIfPresent(root -> root.get(Shipment_.phone), shipmentSpecs.getPhone())
-            .equalsIfPresent(root -> root.get(Shipment_.status), shipmentSpecs.getStatus())
-            .betweenDatesIfPresent(
-                root -> root.get(Shipment_.createdAt),
-                shipmentSpecs.getStartDate(),
-                shipmentSpecs.getEndDate())
-            .equalsIfPresent(
-                root -> root.join(Shipment_.order).get(Order_.id), shipmentSpecs.getOrderId())
-            .build();
-
-    Page<Shipment> shipments = shipmentRepository.findAll(spec, pageable);
+    Page<Shipment> shipments = shipmentRepository.findAll(buildSpec(shipmentSpecs), pageable);
 
     return PagedResponseMapper.INSTANCE.toPagedResponse(
         shipments.map(ShipmentResponseMapper.INSTANCE::toDto));
   }
 
+  @Transactional(readOnly = true)
+  public PagedResponse<ShipmentResponse> findAllByCursor(
+      ShipmentSpecs shipmentSpecs, Pageable pageable, String cursor) {
+    return KeysetPagination.findPage(
+        shipmentRepository,
+        buildSpec(shipmentSpecs),
+        pageable,
+        cursor,
+        ShipmentResponseMapper.INSTANCE::toDto);
+  }
+
+  @Transactional(readOnly = true)
+  public void exportAll(ShipmentSpecs shipmentSpecs, OutputStream outputStream) {
+    ndjsonExporter.export(
+        Shipment.class,
+        buildSpec(shipmentSpecs),
+        shipments -> shipments.stream().map(ShipmentResponseMapper.INSTANCE::toDto).toList(),
+        outputStream);
+  }
+
   @Transactional(readOnly = true)
   public ShipmentResponse findById(Long shipmentId) {
     Shipment shipmentById = findShipmentByIdOrFail(shipmentId);
     return ShipmentResponseMapper.INSTANCE.toDto(shipmentById);
   }
 
+  @Transactional(readOnly = true)
+  public String findETagById(Long shipmentId) {
+    return shipmentRepository
+        .findLastModifiedAtById(shipmentId)
+        .map(lastModifiedAt -> ETags.of(shipmentId, lastModifiedAt))
+        .orElseThrow(
+            () -> {
+              log.warn(AppMessages.SHIPMENT_NOT_FOUND_EXCEPTION);
+              return new ResponseStatusException(
+                  HttpStatus.NOT_FOUND, AppMessages.SHIPMENT_NOT_FOUND_EXCEPTION);
+            });
+  }
+
   @Transactional
   public void updateStatus(Long shipmentId, UpdateShipmentStatusRequest request) {
     LocalDateTime now = LocalDateTime.now();
@@ -111,4 +139,21 @@ public class ShipmentService {
                   HttpStatus.NOT_FOUND, AppMessages.ORDER_NOT_FOUND_EXCEPTION);
             });
   }
+
+  private Specification<Shipment> buildSpec(ShipmentSpecs shipmentSpecs) {
+    return SqlStatsSpecifications.capturing(
+        SpecificationBuilder.<Shipment>builder()
+            .likeIfPresent(
+                root -> root.get(Shipment_.attentionNameLower), shipmentSpecs.getAttentionName())
+            .likeIfPresent(root -> root.get(Shipment_.addressLower), shipmentSpecs.getAddress())
+            .likeIfPresent(root -> root.get(Shipment_.phoneLower), shipmentSpecs.getPhone())
+            .equalsIfPresent(root -> root.get(Shipment_.status), shipmentSpecs.getStatus())
+            .betweenDatesIfPresent(
+                root -> root.get(Shipment_.createdAt),
+                shipmentSpecs.getStartDate(),
+                shipmentSpecs.getEndDate())
+            .equalsIfPresent(
+                root -> root.get(Shipment_.order).get(Order_.id), shipmentSpecs.getOrderId())
+            .build());
+  }
 }
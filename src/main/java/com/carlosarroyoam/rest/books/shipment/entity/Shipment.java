@@ -9,8 +9,10 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
@@ -20,7 +22,12 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "shipments")
+@Table(
+    name = "shipments",
+    indexes = {
+      @Index(name = "idx_shipments_status_created_at", columnList = "status, created_at"),
+      @Index(name = "idx_shipments_created_at", columnList = "created_at")
+    })
 @Getter
 @Setter
 @NoArgsConstructor
@@ -28,18 +35,40 @@ import lombok.Setter;
 @Builder
 public class Shipment {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "shipments_seq")
+  @SequenceGenerator(name = "shipments_seq", sequenceName = "shipments_seq", allocationSize = 50)
   private Long id;
 
   @Column(name = "attention_name", length = 128)
   private String attentionName;
 
+  @Column(
+      name = "attention_name_lower",
+      columnDefinition = "VARCHAR(128) GENERATED ALWAYS AS (LOWER(attention_name))",
+      insertable = false,
+      updatable = false)
+  private String attentionNameLower;
+
   @Column(name = "address", length = 512, nullable = false)
   private String address;
 
+  @Column(
+      name = "address_lower",
+      columnDefinition = "VARCHAR(512) GENERATED ALWAYS AS (LOWER(address))",
+      insertable = false,
+      updatable = false)
+  private String addressLower;
+
   @Column(name = "phone", length = 32)
   private String phone;
 
+  @Column(
+      name = "phone_lower",
+      columnDefinition = "VARCHAR(32) GENERATED ALWAYS AS (LOWER(phone))",
+      insertable = false,
+      updatable = false)
+  private String phoneLower;
+
   @Enumerated(EnumType.STRING)
   @Column(name = "status", length = 32, nullable = false)
   private ShipmentStatus status;
@@ -1,6 +1,9 @@
+CREATE SEQUENCE authors_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE authors (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     name VARCHAR(128) NOT NULL,
+    name_lower VARCHAR(128) GENERATED ALWAYS AS (LOWER(name)),
     bio VARCHAR(1024),
     status VARCHAR(32) NOT NULL DEFAULT 'ACTIVE',
     created_at TIMESTAMP NOT NULL,
@@ -8,10 +11,16 @@ CREATE TABLE authors (
     deleted_at TIMESTAMP
 );
 
+CREATE INDEX idx_authors_status ON authors(status);
+
+CREATE SEQUENCE books_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE books (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
-    isbn VARCHAR(17) NOT NULL UNIQUE,
+    id BIGINT PRIMARY KEY,
+    isbn VARCHAR(17) NOT NULL CONSTRAINT uk_books_isbn UNIQUE,
+    isbn_lower VARCHAR(17) GENERATED ALWAYS AS (LOWER(isbn)),
     title VARCHAR(128) NOT NULL,
+    title_lower VARCHAR(128) GENERATED ALWAYS AS (LOWER(title)),
     cover_url VARCHAR(512) NOT NULL,
     price DECIMAL(10, 2) NOT NULL,
     is_available_online BOOLEAN NOT NULL,
@@ -22,6 +31,9 @@ CREATE TABLE books (
     deleted_at TIMESTAMP
 );
 
+CREATE INDEX idx_books_status_online_price ON books(status, is_available_online, price);
+CREATE INDEX idx_books_price ON books(price);
+
 CREATE TABLE book_authors (
     book_id BIGINT NOT NULL,
     author_id BIGINT NOT NULL,
@@ -30,45 +42,85 @@ CREATE TABLE book_authors (
     FOREIGN KEY (author_id) REFERENCES authors(id)
 );
 
+CREATE INDEX idx_book_authors_author_id ON book_authors(author_id, book_id);
+
+CREATE SEQUENCE customers_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE customers (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     first_name VARCHAR(64) NOT NULL,
+    first_name_lower VARCHAR(64) GENERATED ALWAYS AS (LOWER(first_name)),
     last_name VARCHAR(64) NOT NULL,
-    email VARCHAR(64) NOT NULL UNIQUE,
-    username VARCHAR(64) NOT NULL UNIQUE,
+    last_name_lower VARCHAR(64) GENERATED ALWAYS AS (LOWER(last_name)),
+    email VARCHAR(64) NOT NULL CONSTRAINT uk_customers_email UNIQUE,
+    email_lower VARCHAR(64) GENERATED ALWAYS AS (LOWER(email)),
+    username VARCHAR(64) NOT NULL CONSTRAINT uk_customers_username UNIQUE,
+    username_lower VARCHAR(64) GENERATED ALWAYS AS (LOWER(username)),
     status VARCHAR(32) NOT NULL DEFAULT 'ACTIVE',
     created_at TIMESTAMP NOT NULL,
     updated_at TIMESTAMP NOT NULL,
     deleted_at TIMESTAMP
 );
 
+CREATE INDEX idx_customers_status ON customers(status);
+
+CREATE SEQUENCE customer_provisionings_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE customer_provisionings (
+    id BIGINT PRIMARY KEY,
+    customer_id BIGINT NOT NULL,
+    encrypted_password VARCHAR(255),
+    status VARCHAR(32) NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    last_error VARCHAR(255),
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    FOREIGN KEY (customer_id) REFERENCES customers(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_customer_provisionings_status_next_attempt_at ON customer_provisionings(status, next_attempt_at);
+
+CREATE SEQUENCE carts_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE carts (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     customer_id BIGINT NOT NULL,
     created_at TIMESTAMP NOT NULL,
     updated_at TIMESTAMP NOT NULL,
     FOREIGN KEY (customer_id) REFERENCES customers(id)
 );
 
+CREATE INDEX idx_carts_customer_id ON carts(customer_id);
+
+CREATE SEQUENCE cart_items_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE cart_items (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     book_id BIGINT NOT NULL,
     cart_id BIGINT NOT NULL,
     quantity INT NOT NULL,
     added_at TIMESTAMP NOT NULL,
+    UNIQUE (cart_id, book_id),
     FOREIGN KEY (book_id) REFERENCES books(id) ON DELETE CASCADE,
     FOREIGN KEY (cart_id) REFERENCES carts(id) ON DELETE CASCADE
 );
 
+CREATE INDEX idx_cart_items_book_id ON cart_items(book_id);
+
+CREATE SEQUENCE orders_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE orders (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     order_number VARCHAR(32) NOT NULL UNIQUE,
+    order_number_lower VARCHAR(32) GENERATED ALWAYS AS (LOWER(order_number)),
     subtotal DECIMAL(10, 2) NOT NULL,
     tax_amount DECIMAL(10, 2) NOT NULL,
     shipping_amount DECIMAL(10, 2) NOT NULL,
     total DECIMAL(10, 2) NOT NULL,
     notes VARCHAR(1000),
     shipping_address VARCHAR(512) NOT NULL,
+    shipping_address_lower VARCHAR(512) GENERATED ALWAYS AS (LOWER(shipping_address)),
     billing_address VARCHAR(512) NOT NULL,
     status VARCHAR(32) NOT NULL DEFAULT 'PENDING',
     customer_id BIGINT NOT NULL,
@@ -77,8 +129,15 @@ CREATE TABLE orders (
     FOREIGN KEY (customer_id) REFERENCES customers(id)
 );
 
+CREATE INDEX idx_orders_customer_id_created_at ON orders(customer_id, created_at);
+CREATE INDEX idx_orders_status_created_at ON orders(status, created_at);
+CREATE INDEX idx_orders_created_at ON orders(created_at);
+CREATE INDEX idx_orders_total ON orders(total);
+
+CREATE SEQUENCE order_items_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE order_items (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     quantity INT NOT NULL,
     unit_price DECIMAL(10, 2) NOT NULL,
     total_price DECIMAL(10, 2) NOT NULL,
@@ -90,26 +149,45 @@ CREATE TABLE order_items (
     FOREIGN KEY (book_id) REFERENCES books(id)
 );
 
+CREATE INDEX idx_order_items_order_id ON order_items(order_id);
+CREATE INDEX idx_order_items_book_id ON order_items(book_id);
+
+CREATE SEQUENCE payments_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE payments (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     amount DECIMAL(10, 2) NOT NULL,
     method VARCHAR(32) NOT NULL,
     status VARCHAR(32) NOT NULL DEFAULT 'PENDING',
     transaction_id VARCHAR(128),
+    transaction_id_lower VARCHAR(128) GENERATED ALWAYS AS (LOWER(transaction_id)),
     order_id BIGINT NOT NULL UNIQUE,
     created_at TIMESTAMP NOT NULL,
     updated_at TIMESTAMP NOT NULL,
     FOREIGN KEY (order_id) REFERENCES orders(id) ON DELETE CASCADE
 );
 
+CREATE INDEX idx_payments_status_created_at ON payments(status, created_at);
+CREATE INDEX idx_payments_method_created_at ON payments(method, created_at);
+CREATE INDEX idx_payments_created_at ON payments(created_at);
+CREATE INDEX idx_payments_amount ON payments(amount);
+
+CREATE SEQUENCE shipments_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE shipments (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     attention_name VARCHAR(128),
+    attention_name_lower VARCHAR(128) GENERATED ALWAYS AS (LOWER(attention_name)),
     address VARCHAR(512) NOT NULL,
+    address_lower VARCHAR(512) GENERATED ALWAYS AS (LOWER(address)),
     phone VARCHAR(32),
+    phone_lower VARCHAR(32) GENERATED ALWAYS AS (LOWER(phone)),
     status VARCHAR(32) NOT NULL DEFAULT 'PENDING',
     order_id BIGINT NOT NULL UNIQUE,
     created_at TIMESTAMP NOT NULL,
     updated_at TIMESTAMP NOT NULL,
     FOREIGN KEY (order_id) REFERENCES orders(id) ON DELETE CASCADE
 );
+
+CREATE INDEX idx_shipments_status_created_at ON shipments(status, created_at);
+CREATE INDEX idx_shipments_created_at ON shipments(created_at);
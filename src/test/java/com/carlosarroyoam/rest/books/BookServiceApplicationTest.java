@@ -1,10 +1,24 @@
 package com.carlosarroyoam.rest.books;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.carlosarroyoam.rest.books.core.sql.SqlStatsResponseAdvice;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
 
 @SpringBootTest
 class BookServiceApplicationTest {
+  @Autowired private ApplicationContext applicationContext;
+
   @Test
   void contextLoads() {}
+
+  @Test
+  @DisplayName("Given default properties, when context loads, then sql stats headers are disabled")
+  void givenDefaultProperties_whenContextLoads_thenSqlStatsHeadersAreDisabled() {
+    assertThat(applicationContext.getBeanNamesForType(SqlStatsResponseAdvice.class)).isEmpty();
+  }
 }
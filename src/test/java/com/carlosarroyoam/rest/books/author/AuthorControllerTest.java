@@ -63,7 +63,12 @@ class AuthorControllerTest {
         PagedResponse.<AuthorResponse>builder()
             .items(List.of(AuthorResponse.builder().build()))
             .pagination(
-                PaginationResponse.builder().page(0).size(25).totalItems(1).totalPages(1).build())
+                PaginationResponse.builder()
+                    .page(0)
+                    .size(25)
+                    .totalItems(1L)
+                    .totalPages(1L)
+                    .build())
             .build();
 
     when(authorService.findAll(any(AuthorSpecs.class), any(Pageable.class)))
@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -12,11 +13,14 @@ import com.carlosarroyoam.rest.books.author.dto.AuthorSpecs;
 import com.carlosarroyoam.rest.books.author.dto.CreateAuthorRequest;
 import com.carlosarroyoam.rest.books.author.dto.UpdateAuthorRequest;
 import com.carlosarroyoam.rest.books.author.entity.Author;
+import com.carlosarroyoam.rest.books.book.BookRepository;
 import com.carlosarroyoam.rest.books.book.dto.BookResponse;
 import com.carlosarroyoam.rest.books.book.entity.Book;
+import com.carlosarroyoam.rest.books.core.cache.ResponseCache;
 import com.carlosarroyoam.rest.books.core.constant.AppMessages;
 import com.carlosarroyoam.rest.books.core.dto.PagedResponse;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -26,7 +30,6 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentMatchers;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageImpl;
@@ -40,7 +43,10 @@ import org.springframework.web.server.ResponseStatusException;
 class AuthorServiceTest {
   @Mock private AuthorRepository authorRepository;
 
-  @InjectMocks private AuthorService authorService;
+  @Mock private BookRepository bookRepository;
+
+  private ResponseCache<Long, BookResponse> bookResponseCache;
+  private AuthorService authorService;
 
   private Author author;
   private Book book;
@@ -49,6 +55,14 @@ class AuthorServiceTest {
   void setUp() {
     LocalDateTime now = LocalDateTime.now();
 
+    bookResponseCache = new ResponseCache<>("books", 100, Duration.ofMinutes(10));
+    authorService =
+        new AuthorService(
+            authorRepository,
+            bookRepository,
+            new ResponseCache<>("authors", 100, Duration.ofMinutes(10)),
+            bookResponseCache);
+
     book =
         Book.builder()
             .id(1L)
@@ -107,6 +121,41 @@ class AuthorServiceTest {
     assertThat(authorResponse.getId()).isEqualTo(1L);
   }
 
+  @Test
+  @DisplayName("Given author was found, when find by id again, then returns cached author")
+  void givenAuthorWasFound_whenFindByIdAgain_thenReturnsCachedAuthor() {
+    when(authorRepository.findById(anyLong())).thenReturn(Optional.of(author));
+
+    AuthorResponse firstResponse = authorService.findById(1L);
+    AuthorResponse secondResponse = authorService.findById(1L);
+
+    assertThat(secondResponse).isSameAs(firstResponse);
+    verify(authorRepository, times(1)).findById(1L);
+  }
+
+  @Test
+  @DisplayName("Given author is cached, when update, then evicts author and books by author")
+  void givenAuthorIsCached_whenUpdate_thenEvictsAuthorAndBooksByAuthor() {
+    UpdateAuthorRequest request =
+        UpdateAuthorRequest.builder().name("Yuval Noah Harari").bio("Updated biography").build();
+    AuthorResponse authorResponse = AuthorResponse.builder().id(1L).build();
+    BookResponse bookByAuthor =
+        BookResponse.builder().id(1L).authors(List.of(authorResponse)).build();
+    BookResponse otherBook = BookResponse.builder().id(2L).authors(List.of()).build();
+
+    when(authorRepository.findById(anyLong())).thenReturn(Optional.of(author));
+    bookResponseCache.get(1L, key -> bookByAuthor);
+    bookResponseCache.get(2L, key -> otherBook);
+    authorService.findById(1L);
+
+    authorService.update(1L, request);
+    authorService.findById(1L);
+
+    verify(authorRepository, times(3)).findById(1L);
+    assertThat(bookResponseCache.size()).isEqualTo(1);
+    assertThat(bookResponseCache.get(2L, key -> null)).isSameAs(otherBook);
+  }
+
   @Test
   @DisplayName("Given author does not exist, when find by id, then throws not found exception")
   void givenAuthorDoesNotExist_whenFindById_thenThrowsNotFoundException() {
@@ -196,7 +245,8 @@ class AuthorServiceTest {
   @Test
   @DisplayName("Given author exists, when find books by author id, then returns books")
   void givenAuthorExists_whenFindBooksByAuthorId_thenReturnsBooks() {
-    when(authorRepository.findById(anyLong())).thenReturn(Optional.of(author));
+    when(authorRepository.existsById(anyLong())).thenReturn(true);
+    when(bookRepository.findByAuthorId(anyLong())).thenReturn(List.of(book));
 
     List<BookResponse> books = authorService.findBooksByAuthorId(1L);
 
@@ -216,7 +266,7 @@ class AuthorServiceTest {
   @DisplayName(
       "Given author does not exist, when find books by author id, then throws not found exception")
   void givenAuthorDoesNotExist_whenFindBooksByAuthorId_thenThrowsNotFoundException() {
-    when(authorRepository.findById(anyLong())).thenReturn(Optional.empty());
+    when(authorRepository.existsById(anyLong())).thenReturn(false);
 
     assertThatThrownBy(() -> authorService.findBooksByAuthorId(1L))
         .isInstanceOf(ResponseStatusException.class)
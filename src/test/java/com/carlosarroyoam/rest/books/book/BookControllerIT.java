@@ -1,5 +1,7 @@
 package com.carlosarroyoam.rest.books.book;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.matchesPattern;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -7,27 +9,41 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.carlosarroyoam.rest.books.book.dto.BookResponse;
 import com.carlosarroyoam.rest.books.book.dto.CreateBookRequest;
 import com.carlosarroyoam.rest.books.book.dto.UpdateBookRequest;
+import com.carlosarroyoam.rest.books.common.CursorPages;
 import com.carlosarroyoam.rest.books.common.JsonUtils;
+import com.carlosarroyoam.rest.books.common.QueryCountExtension;
+import com.carlosarroyoam.rest.books.core.cache.ResponseCache;
+import com.carlosarroyoam.rest.books.core.constant.AppMessages;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
 import org.skyscreamer.jsonassert.JSONAssert;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
@@ -42,6 +58,12 @@ class BookControllerIT {
 
   @Autowired private MockMvc mockMvc;
 
+  @Autowired private EntityManager entityManager;
+
+  @RegisterExtension final QueryCountExtension queryCount = new QueryCountExtension();
+
+  @Autowired private ResponseCache<Long, BookResponse> bookResponseCache;
+
   @BeforeEach
   void setup() {
     mockMvc =
@@ -73,6 +95,93 @@ class BookControllerIT {
     JSONAssert.assertEquals(expectedJson, responseJson, false);
   }
 
+  @Test
+  @DisplayName(
+      "GET /books - Given books exist, when find all, then query count is page size independent")
+  void givenBooksExist_whenFindAllBooks_thenQueryCountIsPageSizeIndependent() throws Exception {
+    int singleBookPageStatements = queryCount.count(performOk(get("/books").param("size", "1")));
+    int twoBooksPageStatements = queryCount.count(performOk(get("/books").param("size", "2")));
+
+    assertThat(singleBookPageStatements).isEqualTo(3);
+    assertThat(twoBooksPageStatements).isEqualTo(singleBookPageStatements);
+  }
+
+  @Test
+  @DisplayName("GET /books - Given large page, when find all, then issues at most three queries")
+  void givenLargePage_whenFindAllBooks_thenIssuesAtMostThreeQueries() throws Exception {
+    queryCount.assertAtMost(3, performOk(get("/books").param("size", "50")));
+  }
+
+  @Test
+  @DisplayName("GET /books - Given non-nullable sort, when find first cursor page, then returns ok")
+  void givenNonNullableSort_whenFindFirstCursorPage_thenReturnsOk() throws Exception {
+    mockMvc
+        .perform(get("/books").param("cursor", "").param("size", "1").param("sort", "title"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.pagination.next_cursor").isNotEmpty());
+  }
+
+  @Test
+  @DisplayName(
+      "GET /books - Given nullable sort, when find first cursor page, then returns bad request")
+  void givenNullableSort_whenFindFirstCursorPage_thenReturnsBadRequest() throws Exception {
+    mockMvc
+        .perform(get("/books").param("cursor", "").param("size", "1").param("sort", "deletedAt"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @DisplayName(
+      "GET /books - Given tied sort values, when follow cursors, then visits every book once")
+  void givenTiedSortValues_whenFollowCursors_thenVisitsEveryBookOnce() throws Exception {
+    entityManager
+        .createNativeQuery(
+            "INSERT INTO books(id, isbn, title, cover_url, price, is_available_online,"
+                + " published_at, status, created_at, updated_at) VALUES"
+                + " (100, '978-0-3064-0615-7', 'The Selfish Gene', 'https://covers.test/100.jpg',"
+                + " 22.99, true, '1976-01-01', 'ACTIVE', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),"
+                + " (101, '978-0-3933-1604-9', 'The Blind Watchmaker',"
+                + " 'https://covers.test/101.jpg', 19.99, true, '1986-01-01', 'ACTIVE',"
+                + " CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),"
+                + " (102, '978-0-6180-5673-4', 'The God Delusion', 'https://covers.test/102.jpg',"
+                + " 19.99, true, '2006-01-01', 'ACTIVE', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)")
+        .executeUpdate();
+
+    List<JsonNode> books =
+        CursorPages.followCursors(
+            mockMvc,
+            mapper,
+            cursor ->
+                get("/books").param("sort", "price").param("size", "1").param("cursor", cursor));
+
+    assertThat(books).extracting(book -> book.get("id").asLong()).doesNotHaveDuplicates();
+    assertThat(books)
+        .extracting(book -> book.get("id").asLong())
+        .containsExactlyInAnyOrderElementsOf(findAllIds(get("/books").param("size", "100")));
+    assertThat(books)
+        .extracting(book -> book.get("price").decimalValue())
+        .isSortedAccordingTo(BigDecimal::compareTo);
+  }
+
+  @Test
+  @DisplayName(
+      "GET /books - Given book inserted out of band, when search by title, then returns book")
+  void givenBookInsertedOutOfBand_whenSearchByTitle_thenReturnsBook() throws Exception {
+    entityManager
+        .createNativeQuery(
+            "INSERT INTO books(id, isbn, title, cover_url, price, is_available_online,"
+                + " published_at, status, created_at, updated_at) VALUES (100, '978-0-3064-0615-7',"
+                + " 'The Selfish Gene', 'https://covers.test/100.jpg', 19.99, true, '1976-01-01',"
+                + " 'ACTIVE', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)")
+        .executeUpdate();
+
+    mockMvc
+        .perform(get("/books").param("title", "selfish"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.items.length()").value(1))
+        .andExpect(jsonPath("$.items[0].id").value(100));
+  }
+
   @Test
   @DisplayName("GET /books/{id} - Given book exists, when find by id, then returns book")
   void givenBookExists_whenFindBookById_thenReturnsBook() throws Exception {
@@ -90,6 +199,63 @@ class BookControllerIT {
     JSONAssert.assertEquals(expectedJson, responseJson, false);
   }
 
+  @Test
+  @DisplayName("GET /books/{id} - Given book exists, when find by id, then loads it once")
+  void givenBookExists_whenFindBookById_thenLoadsItOnce() throws Exception {
+    bookResponseCache.evict(1L);
+
+    assertThat(queryCount.count(performOk(get("/books/{bookId}", 1L)))).isEqualTo(1);
+    queryCount.assertNone(performOk(get("/books/{bookId}", 1L)));
+  }
+
+  @Test
+  @DisplayName("GET /books/{id} - Given matching ETag, when find by id, then returns not modified")
+  void givenMatchingETag_whenFindBookById_thenReturnsNotModified() throws Exception {
+    String eTag =
+        mockMvc
+            .perform(get("/books/{bookId}", 1L))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+    bookResponseCache.evict(1L);
+
+    int statements =
+        queryCount.count(
+            () ->
+                mockMvc
+                    .perform(get("/books/{bookId}", 1L).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                    .andExpect(status().isNotModified()));
+
+    assertThat(statements).isEqualTo(1);
+    mockMvc
+        .perform(get("/books/{bookId}", 1L).header(HttpHeaders.IF_NONE_MATCH, eTag))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string(HttpHeaders.ETAG, eTag))
+        .andExpect(content().string(""));
+  }
+
+  @Test
+  @DisplayName("GET /books - Given matching ETag, when find all, then returns not modified")
+  void givenMatchingETag_whenFindAllBooks_thenReturnsNotModified() throws Exception {
+    String eTag =
+        mockMvc
+            .perform(get("/books"))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+    mockMvc
+        .perform(get("/books").header(HttpHeaders.IF_NONE_MATCH, eTag))
+        .andExpect(status().isNotModified())
+        .andExpect(content().string(""));
+    mockMvc
+        .perform(get("/books").param("size", "1").header(HttpHeaders.IF_NONE_MATCH, eTag))
+        .andExpect(status().isOk());
+  }
+
   @Test
   @DisplayName("POST /books - Given valid book data, when create, then returns created")
   void givenValidBookData_whenCreateBook_thenReturnsCreated() throws Exception {
@@ -109,7 +275,57 @@ class BookControllerIT {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(mapper.writeValueAsString(request)))
         .andExpect(status().isCreated())
-        .andExpect(header().string("Location", "http://localhost/books/3"));
+        .andExpect(header().string("Location", matchesPattern("http://localhost/books/\\d+")));
+  }
+
+  @Test
+  @DisplayName(
+      "POST /books - Given isbn inserted out of band, when create, then returns bad request")
+  void givenIsbnInsertedOutOfBand_whenCreateBook_thenReturnsBadRequest() throws Exception {
+    entityManager
+        .createNativeQuery(
+            "INSERT INTO books(id, isbn, title, cover_url, price, is_available_online,"
+                + " published_at, status, created_at, updated_at) VALUES (100, '978-0-3064-0615-7',"
+                + " 'The Selfish Gene', 'https://covers.test/100.jpg', 19.99, true, '1976-01-01',"
+                + " 'ACTIVE', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)")
+        .executeUpdate();
+    CreateBookRequest request =
+        CreateBookRequest.builder()
+            .isbn("978-0-3064-0615-7")
+            .title("The Selfish Gene")
+            .coverUrl("https://covers.test/100.jpg")
+            .price(new BigDecimal("19.99"))
+            .publishedAt(LocalDate.parse("1976-01-01"))
+            .isAvailableOnline(true)
+            .build();
+
+    mockMvc
+        .perform(
+            post("/books")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(request)))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message").value(AppMessages.ISBN_ALREADY_EXISTS_EXCEPTION));
+  }
+
+  @Test
+  @DisplayName("POST /books:bulk - Given invalid rows, when import, then returns error report")
+  void givenInvalidRows_whenImportBooks_thenReturnsErrorReport() throws Exception {
+    String ndjson =
+        """
+        {"isbn":"978-1-3035-0529-4","title":"Homo Deus","cover_url":"https://covers.test/1.jpg","price":22.99,"is_available_online":false,"published_at":"2017-01-01"}
+        {"isbn":
+        """;
+
+    mockMvc
+        .perform(post("/books:bulk").contentType(MediaType.APPLICATION_NDJSON).content(ndjson))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.total_rows").value(2))
+        .andExpect(jsonPath("$.imported_rows").value(0))
+        .andExpect(jsonPath("$.failed_rows").value(2))
+        .andExpect(jsonPath("$.errors[0].row").value(1))
+        .andExpect(jsonPath("$.errors[0].isbn").value("978-1-3035-0529-4"))
+        .andExpect(jsonPath("$.errors[1].row").value(2));
   }
 
   @Test
@@ -156,4 +372,23 @@ class BookControllerIT {
 
     JSONAssert.assertEquals(expectedJson, responseJson, false);
   }
+
+  private List<Long> findAllIds(RequestBuilder request) throws Exception {
+    List<Long> ids = new ArrayList<>();
+    mapper
+        .readTree(
+            mockMvc
+                .perform(request)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString())
+        .get("items")
+        .forEach(item -> ids.add(item.get("id").asLong()));
+    return ids;
+  }
+
+  private ThrowingCallable performOk(RequestBuilder request) {
+    return () -> mockMvc.perform(request).andExpect(status().isOk());
+  }
 }
@@ -65,7 +65,12 @@ class BookControllerTest {
         PagedResponse.<BookResponse>builder()
             .items(List.of(BookResponse.builder().id(1L).build()))
             .pagination(
-                PaginationResponse.builder().page(0).size(25).totalItems(1).totalPages(1).build())
+                PaginationResponse.builder()
+                    .page(0)
+                    .size(25)
+                    .totalItems(1L)
+                    .totalPages(1L)
+                    .build())
             .build();
 
     when(bookService.findAll(any(BookSpecs.class), any(Pageable.class))).thenReturn(pagedResponse);
@@ -0,0 +1,93 @@
+package com.carlosarroyoam.rest.books.book;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.carlosarroyoam.rest.books.book.dto.BookImportErrorResponse;
+import com.carlosarroyoam.rest.books.book.dto.BookImportResponse;
+import com.carlosarroyoam.rest.books.core.constant.AppMessages;
+import jakarta.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:book-import-it-testdb")
+@ActiveProfiles("test")
+@Transactional
+class BookImportServiceIT {
+  @Autowired private BookImportService bookImportService;
+
+  @Autowired private BookRepository bookRepository;
+
+  @Autowired private EntityManager entityManager;
+
+  @Test
+  @DisplayName("Given ndjson rows, when import, then imports valid rows and reports failed rows")
+  void givenNdjsonRows_whenImport_thenImportsValidRowsAndReportsFailedRows() {
+    String ndjson =
+        """
+        {"isbn":"978-0-0000-0001-1","title":"Nexus","cover_url":"https://covers.test/1.jpg","price":25.50,"is_available_online":true,"published_at":"2024-09-10","author_ids":[1,2]}
+        {"isbn":"978-1-3035-0529-4","title":"Homo Deus","cover_url":"https://covers.test/2.jpg","price":22.99,"is_available_online":false,"published_at":"2017-01-01"}
+        {"isbn":"978-0-0000-0003-3"}
+
+        {"isbn":
+        {"isbn":"978-0-0000-0005-5","title":"Unknown","cover_url":"https://covers.test/5.jpg","price":10.00,"is_available_online":true,"published_at":"2020-01-01","author_ids":[99]}
+        {"isbn":"978-0-0000-0001-1","title":"Nexus","cover_url":"https://covers.test/1.jpg","price":25.50,"is_available_online":true,"published_at":"2024-09-10"}
+        """;
+
+    BookImportResponse response = bookImportService.importNdjson(toInputStream(ndjson));
+
+    assertThat(response.getTotalRows()).isEqualTo(6);
+    assertThat(response.getImportedRows()).isEqualTo(1);
+    assertThat(response.getFailedRows()).isEqualTo(5);
+    assertThat(response.getErrors())
+        .extracting(BookImportErrorResponse::getRow)
+        .containsExactly(2L, 3L, 5L, 6L, 7L);
+    assertThat(response.getErrors().get(0).getMessages())
+        .containsExactly(AppMessages.ISBN_ALREADY_EXISTS_EXCEPTION);
+    assertThat(response.getErrors().get(2).getMessages())
+        .containsExactly(AppMessages.MALFORMED_IMPORT_ROW_EXCEPTION);
+    assertThat(response.getErrors().get(3).getMessages())
+        .containsExactly(String.format(AppMessages.AUTHORS_NOT_FOUND_EXCEPTION, "[99]"));
+    assertThat(countAuthors("978-0-0000-0001-1")).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Given csv rows, when import, then imports valid rows")
+  void givenCsvRows_whenImport_thenImportsValidRows() {
+    String csv =
+        """
+        isbn,title,cover_url,price,is_available_online,published_at,author_ids
+        978-0-0000-0011-1,"Sapiens, Graphic",https://covers.test/11.jpg,30.00,true,2020-10-20,1;2
+        978-0-0000-0012-2,Lessons,https://covers.test/12.jpg,not-a-price,true,2018-08-30,
+        978-0-0000-0013-3,Unstoppable Us,https://covers.test/13.jpg,18.99,false,2022-10-18,
+        """;
+
+    BookImportResponse response = bookImportService.importCsv(toInputStream(csv));
+
+    assertThat(response.getTotalRows()).isEqualTo(3);
+    assertThat(response.getImportedRows()).isEqualTo(2);
+    assertThat(response.getErrors()).extracting(BookImportErrorResponse::getRow).containsExactly(3L);
+    assertThat(bookRepository.findIsbnsByIsbnIn(Set.of("978-0-0000-0011-1", "978-0-0000-0013-3")))
+        .hasSize(2);
+    assertThat(countAuthors("978-0-0000-0011-1")).isEqualTo(2);
+  }
+
+  private long countAuthors(String isbn) {
+    return entityManager
+        .createQuery(
+            "SELECT COUNT(a) FROM Book b JOIN b.authors a WHERE b.isbn = :isbn", Long.class)
+        .setParameter("isbn", isbn)
+        .getSingleResult();
+  }
+
+  private static InputStream toInputStream(String content) {
+    return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+  }
+}
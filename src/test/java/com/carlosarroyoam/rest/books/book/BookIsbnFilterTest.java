@@ -0,0 +1,67 @@
+package com.carlosarroyoam.rest.books.book;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+import com.carlosarroyoam.rest.books.book.BookRepository.BookIsbnView;
+import com.carlosarroyoam.rest.books.core.property.BloomFilterProps;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+@ExtendWith(MockitoExtension.class)
+class BookIsbnFilterTest {
+  @Mock private BookRepository bookRepository;
+
+  private BookIsbnFilter bookIsbnFilter;
+
+  @BeforeEach
+  void setUp() {
+    BloomFilterProps bloomFilterProps = new BloomFilterProps();
+    bloomFilterProps.setExpectedInsertions(1_000);
+    bloomFilterProps.setFalsePositiveRate(0.01);
+
+    bookIsbnFilter = new BookIsbnFilter(bookRepository, bloomFilterProps);
+  }
+
+  @Test
+  @DisplayName("Given filter is not built, when might contain, then returns true")
+  void givenFilterIsNotBuilt_whenMightContain_thenReturnsTrue() {
+    assertThat(bookIsbnFilter.mightContain("978-9-7389-4434-3")).isTrue();
+  }
+
+  @Test
+  @DisplayName("Given filter is built, when might contain, then detects known isbns")
+  void givenFilterIsBuilt_whenMightContain_thenDetectsKnownIsbns() {
+    when(bookRepository.findIsbnViewsAfter(anyLong(), any(Pageable.class)))
+        .thenReturn(List.of(isbnView(1L, "978-1-3035-0529-4")));
+
+    bookIsbnFilter.rebuild();
+    bookIsbnFilter.add("978-9-7389-4434-3");
+
+    assertThat(bookIsbnFilter.mightContain("978-1-3035-0529-4")).isTrue();
+    assertThat(bookIsbnFilter.mightContain("978-9-7389-4434-3")).isTrue();
+    assertThat(bookIsbnFilter.mightContain("978-0-0000-0000-0")).isFalse();
+  }
+
+  private static BookIsbnView isbnView(Long id, String isbn) {
+    return new BookIsbnView() {
+      @Override
+      public Long getId() {
+        return id;
+      }
+
+      @Override
+      public String getIsbn() {
+        return isbn;
+      }
+    };
+  }
+}
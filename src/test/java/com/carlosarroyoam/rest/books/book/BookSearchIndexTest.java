@@ -0,0 +1,110 @@
+package com.carlosarroyoam.rest.books.book;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+import com.carlosarroyoam.rest.books.book.BookRepository.BookTextView;
+import com.carlosarroyoam.rest.books.book.entity.Book;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+@ExtendWith(MockitoExtension.class)
+class BookSearchIndexTest {
+  @Mock private BookRepository bookRepository;
+
+  @InjectMocks private BookSearchIndex bookSearchIndex;
+
+  @BeforeEach
+  void setUp() {
+    when(bookRepository.findTextViewsAfter(anyLong(), any(Pageable.class)))
+        .thenReturn(
+            List.of(
+                textView(1L, "Homo Deus: A Brief History of Tomorrow", "978-1-3035-0529-4"),
+                textView(2L, "Sapiens: A Brief History of Humankind", "978-9-7389-4434-3")));
+
+    bookSearchIndex.rebuild();
+  }
+
+  @Test
+  @DisplayName("Given indexed books, when search by title, then returns case-insensitive matches")
+  void givenIndexedBooks_whenSearchByTitle_thenReturnsCaseInsensitiveMatches() {
+    assertThat(bookSearchIndex.search("brief HISTORY", null)).contains(Set.of(1L, 2L));
+    assertThat(bookSearchIndex.search("sapiens", null)).contains(Set.of(2L));
+    assertThat(bookSearchIndex.search("history of mankind", null)).contains(Set.of());
+  }
+
+  @Test
+  @DisplayName("Given indexed books, when search by title and isbn, then intersects matches")
+  void givenIndexedBooks_whenSearchByTitleAndIsbn_thenIntersectsMatches() {
+    assertThat(bookSearchIndex.search("history", "978-1")).contains(Set.of(1L));
+  }
+
+  @Test
+  @DisplayName("Given value shorter than a trigram, when search, then falls back to database")
+  void givenShortValue_whenSearch_thenFallsBackToDatabase() {
+    assertThat(bookSearchIndex.search("ho", null)).isEmpty();
+    assertThat(bookSearchIndex.search("homo deus", "97")).isEmpty();
+    assertThat(bookSearchIndex.search("homo_deus", null)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Given book title changes, when index, then replaces previous title")
+  void givenBookTitleChanges_whenIndex_thenReplacesPreviousTitle() {
+    bookSearchIndex.index(
+        Book.builder().id(1L).title("Homo Deus").isbn("978-1-3035-0529-4").build());
+
+    assertThat(bookSearchIndex.search("tomorrow", null)).contains(Set.of());
+    assertThat(bookSearchIndex.search("homo deus", null)).contains(Set.of(1L));
+  }
+
+  @Test
+  @DisplayName("Given book changed outside the index, when rebuild, then reflects database")
+  void givenBookChangedOutsideIndex_whenRebuild_thenReflectsDatabase() {
+    when(bookRepository.findTextViewsAfter(anyLong(), any(Pageable.class)))
+        .thenReturn(
+            List.of(
+                textView(2L, "Sapiens: A Brief History of Humankind", "978-9-7389-4434-3"),
+                textView(3L, "The Selfish Gene", "978-0-3064-0615-7")));
+
+    bookSearchIndex.rebuild();
+
+    assertThat(bookSearchIndex.search("homo deus", null)).contains(Set.of());
+    assertThat(bookSearchIndex.search("selfish", null)).contains(Set.of(3L));
+  }
+
+  @Test
+  @DisplayName("Given no text filters, when search, then returns empty optional")
+  void givenNoTextFilters_whenSearch_thenReturnsEmptyOptional() {
+    assertThat(bookSearchIndex.search(null, " ")).isEqualTo(Optional.empty());
+  }
+
+  private static BookTextView textView(Long id, String title, String isbn) {
+    return new BookTextView() {
+      @Override
+      public Long getId() {
+        return id;
+      }
+
+      @Override
+      public String getTitle() {
+        return title;
+      }
+
+      @Override
+      public String getIsbn() {
+        return isbn;
+      }
+    };
+  }
+}
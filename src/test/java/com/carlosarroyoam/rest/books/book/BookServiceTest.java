@@ -5,9 +5,12 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.carlosarroyoam.rest.books.author.AuthorRepository;
 import com.carlosarroyoam.rest.books.author.dto.AuthorResponse;
 import com.carlosarroyoam.rest.books.author.entity.Author;
 import com.carlosarroyoam.rest.books.book.dto.BookResponse;
@@ -15,13 +18,17 @@ import com.carlosarroyoam.rest.books.book.dto.BookSpecs;
 import com.carlosarroyoam.rest.books.book.dto.CreateBookRequest;
 import com.carlosarroyoam.rest.books.book.dto.UpdateBookRequest;
 import com.carlosarroyoam.rest.books.book.entity.Book;
+import com.carlosarroyoam.rest.books.core.cache.ResponseCache;
 import com.carlosarroyoam.rest.books.core.constant.AppMessages;
 import com.carlosarroyoam.rest.books.core.dto.PagedResponse;
 import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -29,7 +36,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -41,6 +50,16 @@ import org.springframework.web.server.ResponseStatusException;
 class BookServiceTest {
   @Mock private BookRepository bookRepository;
 
+  @Mock private AuthorRepository authorRepository;
+
+  @Mock private BookSearchIndex bookSearchIndex;
+
+  @Mock private BookIsbnFilter bookIsbnFilter;
+
+  @Spy
+  private ResponseCache<Long, BookResponse> bookResponseCache =
+      new ResponseCache<>("books", 100, Duration.ofMinutes(10));
+
   @InjectMocks private BookService bookService;
 
   private Book book;
@@ -89,10 +108,45 @@ class BookServiceTest {
     assertThat(response.getPagination().getTotalPages()).isEqualTo(1);
   }
 
+  @Test
+  @DisplayName("Given title matches no indexed book, when find all, then queries the database")
+  void givenTitleMatchesNoIndexedBook_whenFindAll_thenQueriesDatabase() {
+    Pageable pageable = PageRequest.of(0, 25);
+    List<Book> books = List.of(book);
+
+    when(bookSearchIndex.search("homo deus", null)).thenReturn(Optional.of(Set.of()));
+    when(bookRepository.findAll(ArgumentMatchers.<Specification<Book>>any(), any(Pageable.class)))
+        .thenReturn(new PageImpl<>(books, pageable, books.size()));
+
+    PagedResponse<BookResponse> response =
+        bookService.findAll(BookSpecs.builder().title("homo deus").build(), pageable);
+
+    assertThat(response.getItems()).hasSize(1);
+    verify(bookRepository)
+        .findAll(ArgumentMatchers.<Specification<Book>>any(), any(Pageable.class));
+  }
+
+  @Test
+  @DisplayName("Given title matches indexed books, when find all, then returns matching books")
+  void givenTitleMatchesIndexedBooks_whenFindAll_thenReturnsMatchingBooks() {
+    Pageable pageable = PageRequest.of(0, 25);
+    List<Book> books = List.of(book);
+
+    when(bookSearchIndex.search("homo deus", null)).thenReturn(Optional.of(Set.of(1L)));
+    when(bookRepository.findAll(ArgumentMatchers.<Specification<Book>>any(), any(Pageable.class)))
+        .thenReturn(new PageImpl<>(books, pageable, books.size()));
+
+    PagedResponse<BookResponse> response =
+        bookService.findAll(BookSpecs.builder().title("homo deus").build(), pageable);
+
+    assertThat(response.getItems()).hasSize(1);
+    assertThat(response.getItems().get(0).getId()).isEqualTo(1L);
+  }
+
   @Test
   @DisplayName("Given book exists, when find by id, then returns book")
   void givenBookExists_whenFindById_thenReturnsBook() {
-    when(bookRepository.findById(anyLong())).thenReturn(Optional.of(book));
+    when(bookRepository.findWithAuthorsById(anyLong())).thenReturn(Optional.of(book));
 
     BookResponse bookResponse = bookService.findById(1L);
 
@@ -100,10 +154,28 @@ class BookServiceTest {
     assertThat(bookResponse.getId()).isEqualTo(1L);
   }
 
+  @Test
+  @DisplayName("Given book is cached, when update, then next find by id reloads book")
+  void givenBookIsCached_whenUpdate_thenNextFindByIdReloadsBook() {
+    UpdateBookRequest request =
+        UpdateBookRequest.builder().isbn("978-1-3035-0293-1").title("Homo Deus").build();
+
+    when(bookRepository.findWithAuthorsById(anyLong())).thenReturn(Optional.of(book));
+    when(bookRepository.findById(anyLong())).thenReturn(Optional.of(book));
+
+    bookService.findById(1L);
+    bookService.findById(1L);
+    bookService.update(1L, request);
+    BookResponse bookResponse = bookService.findById(1L);
+
+    verify(bookRepository, times(2)).findWithAuthorsById(1L);
+    assertThat(bookResponse.getTitle()).isEqualTo("Homo Deus");
+  }
+
   @Test
   @DisplayName("Given book does not exist, when find by id, then throws not found exception")
   void givenBookDoesNotExist_whenFindById_thenThrowsNotFoundException() {
-    when(bookRepository.findById(anyLong())).thenReturn(Optional.empty());
+    when(bookRepository.findWithAuthorsById(anyLong())).thenReturn(Optional.empty());
 
     assertThatThrownBy(() -> bookService.findById(1L))
         .isInstanceOf(ResponseStatusException.class)
@@ -127,14 +199,53 @@ class BookServiceTest {
             .title("Sapiens: A Brief History of Humankind")
             .build();
 
+    when(bookIsbnFilter.mightContain(anyString())).thenReturn(true);
     when(bookRepository.existsByIsbn(anyString())).thenReturn(false);
-    when(bookRepository.save(any(Book.class))).thenReturn(savedBook);
+    when(bookRepository.saveAndFlush(any(Book.class))).thenReturn(savedBook);
 
     BookResponse bookResponse = bookService.create(request);
 
     assertThat(bookResponse).isNotNull();
     assertThat(bookResponse.getIsbn()).isEqualTo("978-9-7389-4434-3");
     assertThat(bookResponse.getTitle()).isEqualTo("Sapiens: A Brief History of Humankind");
+    verify(bookIsbnFilter).add("978-9-7389-4434-3");
+  }
+
+  @Test
+  @DisplayName("Given isbn is definitely new, when create, then skips isbn query")
+  void givenIsbnIsDefinitelyNew_whenCreate_thenSkipsIsbnQuery() {
+    CreateBookRequest request =
+        CreateBookRequest.builder()
+            .isbn("978-9-7389-4434-3")
+            .title("Sapiens: A Brief History of Humankind")
+            .build();
+
+    when(bookIsbnFilter.mightContain(anyString())).thenReturn(false);
+    when(bookRepository.saveAndFlush(any(Book.class))).thenReturn(book);
+
+    bookService.create(request);
+
+    verify(bookRepository, never()).existsByIsbn(anyString());
+  }
+
+  @Test
+  @DisplayName("Given isbn filter is stale, when create, then throws bad request exception")
+  void givenIsbnFilterIsStale_whenCreate_thenThrowsBadRequestException() {
+    CreateBookRequest request = CreateBookRequest.builder().isbn("978-1-3035-0529-4").build();
+
+    when(bookIsbnFilter.mightContain(anyString())).thenReturn(false);
+    when(bookRepository.saveAndFlush(any(Book.class)))
+        .thenThrow(
+            new DataIntegrityViolationException(
+                "could not execute statement",
+                new SQLException("Unique index or primary key violation: PUBLIC.UK_BOOKS_ISBN")));
+
+    assertThatThrownBy(() -> bookService.create(request))
+        .isInstanceOf(ResponseStatusException.class)
+        .hasMessageContaining(HttpStatus.BAD_REQUEST.toString())
+        .hasMessageContaining(AppMessages.ISBN_ALREADY_EXISTS_EXCEPTION);
+
+    verify(bookIsbnFilter).add("978-1-3035-0529-4");
   }
 
   @Test
@@ -142,6 +253,7 @@ class BookServiceTest {
   void givenBookWithExistingIsbn_whenCreate_thenThrowsBadRequestException() {
     CreateBookRequest request = CreateBookRequest.builder().isbn("978-1-3035-0529-4").build();
 
+    when(bookIsbnFilter.mightContain(anyString())).thenReturn(true);
     when(bookRepository.existsByIsbn(anyString())).thenReturn(true);
 
     assertThatThrownBy(() -> bookService.create(request))
@@ -207,7 +319,8 @@ class BookServiceTest {
   @Test
   @DisplayName("Given book exists, when find authors by book id, then returns authors")
   void givenBookExists_whenFindAuthorsByBookId_thenReturnsAuthors() {
-    when(bookRepository.findById(anyLong())).thenReturn(Optional.of(book));
+    when(bookRepository.existsById(anyLong())).thenReturn(true);
+    when(authorRepository.findByBookId(anyLong())).thenReturn(List.of(author));
 
     List<AuthorResponse> authors = bookService.findAuthorsByBookId(1L);
 
@@ -225,7 +338,7 @@ class BookServiceTest {
   @DisplayName(
       "Given book does not exist, when find authors by book id, then throws not found exception")
   void givenBookDoesNotExist_whenFindAuthorsByBookId_thenThrowsNotFoundException() {
-    when(bookRepository.findById(anyLong())).thenReturn(Optional.empty());
+    when(bookRepository.existsById(anyLong())).thenReturn(false);
 
     assertThatThrownBy(() -> bookService.findAuthorsByBookId(1L))
         .isInstanceOf(ResponseStatusException.class)
@@ -0,0 +1,140 @@
+package com.carlosarroyoam.rest.books.cart;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.carlosarroyoam.rest.books.cart.dto.CheckoutCartRequest;
+import com.carlosarroyoam.rest.books.order.dto.OrderResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.server.ResponseStatusException;
+
+@SpringBootTest(
+    webEnvironment = WebEnvironment.RANDOM_PORT,
+    properties = "spring.datasource.url=jdbc:h2:mem:cart-checkout-it-testdb")
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class CartCheckoutIT {
+  @Autowired private WebApplicationContext webApplicationContext;
+
+  @Autowired private ObjectMapper mapper;
+
+  @Autowired private CartService cartService;
+
+  @Autowired private EntityManager entityManager;
+
+  @Test
+  @DisplayName("POST /carts/checkout - Given cart has items, when checkout, then returns created")
+  void givenCartHasItems_whenCheckout_thenReturnsCreated() throws Exception {
+    MockMvc mockMvc =
+        MockMvcBuilders.webAppContextSetup(webApplicationContext)
+            .apply(SecurityMockMvcConfigurers.springSecurity())
+            .defaultRequest(
+                get("/")
+                    .with(
+                        jwt()
+                            .jwt(
+                                jwt ->
+                                    jwt.claim("preferred_username", "carroyom")
+                                        .claim("customer_id", 1L))
+                            .authorities(new SimpleGrantedAuthority("ROLE_App/Customer"))))
+            .build();
+
+    mockMvc
+        .perform(
+            post("/carts/checkout")
+                .content(mapper.writeValueAsString(checkoutRequest()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isCreated())
+        .andExpect(header().string("Location", matchesPattern(".*/orders/\\d+$")));
+
+    assertThat(countCartItems(1L)).isZero();
+
+    mockMvc
+        .perform(
+            post("/carts/checkout")
+                .content(mapper.writeValueAsString(checkoutRequest()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @DisplayName("Given concurrent checkouts, when checkout, then creates a single order")
+  void givenConcurrentCheckouts_whenCheckout_thenCreatesSingleOrder() throws Exception {
+    long ordersBefore = countOrders(2L);
+    Callable<OrderResponse> checkout = () -> cartService.checkout(2L, checkoutRequest());
+
+    ExecutorService executorService = Executors.newFixedThreadPool(2);
+    List<Future<OrderResponse>> futures;
+    try {
+      futures = executorService.invokeAll(List.of(checkout, checkout));
+    } finally {
+      executorService.shutdown();
+    }
+
+    List<OrderResponse> createdOrders = new ArrayList<>();
+    List<Throwable> failures = new ArrayList<>();
+    for (Future<OrderResponse> future : futures) {
+      try {
+        createdOrders.add(future.get());
+      } catch (ExecutionException ex) {
+        failures.add(ex.getCause());
+      }
+    }
+
+    assertThat(createdOrders).hasSize(1);
+    assertThat(failures).singleElement().isInstanceOf(ResponseStatusException.class);
+    assertThat(countOrders(2L)).isEqualTo(ordersBefore + 1);
+    assertThat(countCartItems(2L)).isZero();
+  }
+
+  private long countOrders(Long customerId) {
+    return entityManager
+        .createQuery("SELECT COUNT(o) FROM Order o WHERE o.customer.id = :customerId", Long.class)
+        .setParameter("customerId", customerId)
+        .getSingleResult();
+  }
+
+  private long countCartItems(Long customerId) {
+    return entityManager
+        .createQuery(
+            "SELECT COUNT(ci) FROM CartItem ci WHERE ci.cart.customer.id = :customerId",
+            Long.class)
+        .setParameter("customerId", customerId)
+        .getSingleResult();
+  }
+
+  private static CheckoutCartRequest checkoutRequest() {
+    return CheckoutCartRequest.builder()
+        .shippingAddress("123 Main Street, Springfield")
+        .billingAddress("123 Main Street, Springfield")
+        .build();
+  }
+}
@@ -9,11 +9,13 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.carlosarroyoam.rest.books.cart.dto.UpdateCartItemRequest;
 import com.carlosarroyoam.rest.books.common.JsonUtils;
+import com.carlosarroyoam.rest.books.common.QueryCountExtension;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
 import org.skyscreamer.jsonassert.JSONAssert;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -38,6 +40,8 @@ class CartControllerIT {
 
   @Autowired private MockMvc mockMvc;
 
+  @RegisterExtension final QueryCountExtension queryCount = new QueryCountExtension();
+
   @BeforeEach
   void setup() {
     mockMvc =
@@ -72,6 +76,13 @@ class CartControllerIT {
     JSONAssert.assertEquals(expectedJson, responseJson, false);
   }
 
+  @Test
+  @DisplayName(
+      "GET /carts - Given cart exists, when find by customer id, then issues at most two queries")
+  void givenCartExists_whenFindCartByCustomerId_thenIssuesAtMostTwoQueries() throws Exception {
+    queryCount.assertAtMost(2, () -> mockMvc.perform(get("/carts")).andExpect(status().isOk()));
+  }
+
   @Test
   @DisplayName(
       "PUT /carts/items - Given valid cart item data, when update, then returns no content")
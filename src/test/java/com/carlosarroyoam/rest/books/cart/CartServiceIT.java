@@ -0,0 +1,180 @@
+package com.carlosarroyoam.rest.books.cart;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.carlosarroyoam.rest.books.book.entity.Book;
+import com.carlosarroyoam.rest.books.book.entity.BookStatus;
+import com.carlosarroyoam.rest.books.cart.dto.CartResponse;
+import com.carlosarroyoam.rest.books.cart.dto.CheckoutCartRequest;
+import com.carlosarroyoam.rest.books.cart.dto.UpdateCartItemRequest;
+import com.carlosarroyoam.rest.books.cart.entity.Cart;
+import com.carlosarroyoam.rest.books.cart.entity.CartItem;
+import com.carlosarroyoam.rest.books.order.dto.OrderResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:cart-service-it-testdb")
+@ActiveProfiles("test")
+@Transactional
+class CartServiceIT {
+  private static final Long CUSTOMER_ID = 1L;
+  private static final int CART_ITEMS = 250;
+
+  @Autowired private CartService cartService;
+
+  @Autowired private EntityManager entityManager;
+
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  private List<Book> books;
+
+  @BeforeEach
+  void setUp() {
+    LocalDateTime now = LocalDateTime.now();
+    Cart cart =
+        entityManager
+            .createQuery("SELECT c FROM Cart c WHERE c.customer.id = :customerId", Cart.class)
+            .setParameter("customerId", CUSTOMER_ID)
+            .getSingleResult();
+
+    books = new ArrayList<>();
+    for (int i = 0; i < CART_ITEMS; i++) {
+      Book book =
+          Book.builder()
+              .isbn(String.format("978-0-0001-%04d-0", i))
+              .title("Book " + i)
+              .coverUrl("https://covers.test/" + i + ".jpg")
+              .price(BigDecimal.TEN)
+              .isAvailableOnline(true)
+              .status(BookStatus.ACTIVE)
+              .publishedAt(LocalDate.of(2020, 1, 1))
+              .createdAt(now)
+              .updatedAt(now)
+              .build();
+      entityManager.persist(book);
+      books.add(book);
+    }
+
+    for (Book book : books.subList(0, CART_ITEMS - 1)) {
+      entityManager.persist(
+          CartItem.builder().book(book).cart(cart).quantity(1).addedAt(now).build());
+    }
+
+    entityManager.flush();
+    entityManager.clear();
+  }
+
+  @Test
+  @DisplayName("Given large cart, when find by customer id, then loads cart in constant statements")
+  void givenLargeCart_whenFindByCustomerId_thenLoadsCartInConstantStatements() {
+    Statistics statistics = clearStatistics();
+
+    CartResponse cartResponse = cartService.findByCustomerId(CUSTOMER_ID);
+
+    assertThat(cartResponse.getItems()).hasSize(CART_ITEMS);
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Given large cart has item, when update cart item, then updates item in place")
+  void givenLargeCartHasItem_whenUpdateCartItem_thenUpdatesItemInPlace() {
+    Long bookId = books.get(CART_ITEMS / 2).getId();
+    Statistics statistics = clearStatistics();
+
+    cartService.updateCartItem(CUSTOMER_ID, updateRequest(bookId, 5));
+    entityManager.flush();
+
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    assertThat(findQuantity(bookId)).isEqualTo(5);
+  }
+
+  @Test
+  @DisplayName("Given large cart has no item, when update cart item, then upserts item")
+  void givenLargeCartHasNoItem_whenUpdateCartItem_thenUpsertsItem() {
+    Long bookId = books.get(CART_ITEMS - 1).getId();
+    Statistics statistics = clearStatistics();
+
+    cartService.updateCartItem(CUSTOMER_ID, updateRequest(bookId, 2));
+    entityManager.flush();
+
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    assertThat(findQuantity(bookId)).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Given large cart, when delete cart item, then deletes item in constant statements")
+  void givenLargeCart_whenDeleteCartItem_thenDeletesItemInConstantStatements() {
+    Long bookId = books.get(0).getId();
+    Long cartItemId =
+        entityManager
+            .createQuery(
+                "SELECT ci.id FROM CartItem ci WHERE ci.book.id = :bookId AND ci.cart.customer.id"
+                    + " = :customerId",
+                Long.class)
+            .setParameter("bookId", bookId)
+            .setParameter("customerId", CUSTOMER_ID)
+            .getSingleResult();
+    Statistics statistics = clearStatistics();
+
+    cartService.deleteCartItem(CUSTOMER_ID, cartItemId);
+    entityManager.flush();
+
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    assertThat(entityManager.find(CartItem.class, cartItemId)).isNull();
+  }
+
+  @Test
+  @DisplayName("Given large cart, when checkout, then batches order item inserts")
+  void givenLargeCart_whenCheckout_thenBatchesOrderItemInserts() {
+    Statistics statistics = clearStatistics();
+
+    OrderResponse orderResponse = cartService.checkout(CUSTOMER_ID, checkoutRequest());
+    entityManager.flush();
+
+    assertThat(orderResponse.getItems()).hasSize(CART_ITEMS);
+    assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(8 + CART_ITEMS / 50);
+  }
+
+  private Statistics clearStatistics() {
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+    return statistics;
+  }
+
+  private int findQuantity(Long bookId) {
+    entityManager.clear();
+    return entityManager
+        .createQuery(
+            "SELECT ci.quantity FROM CartItem ci WHERE ci.book.id = :bookId"
+                + " AND ci.cart.customer.id = :customerId",
+            Integer.class)
+        .setParameter("bookId", bookId)
+        .setParameter("customerId", CUSTOMER_ID)
+        .getSingleResult();
+  }
+
+  private static CheckoutCartRequest checkoutRequest() {
+    return CheckoutCartRequest.builder()
+        .shippingAddress("123 Main Street, Springfield")
+        .billingAddress("123 Main Street, Springfield")
+        .build();
+  }
+
+  private static UpdateCartItemRequest updateRequest(Long bookId, int quantity) {
+    return UpdateCartItemRequest.builder().bookId(bookId).quantity(quantity).build();
+  }
+}
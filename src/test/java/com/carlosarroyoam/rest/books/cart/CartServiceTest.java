@@ -10,14 +10,19 @@ import static org.mockito.Mockito.when;
 import com.carlosarroyoam.rest.books.book.BookRepository;
 import com.carlosarroyoam.rest.books.book.entity.Book;
 import com.carlosarroyoam.rest.books.cart.dto.CartResponse;
+import com.carlosarroyoam.rest.books.cart.dto.CheckoutCartRequest;
 import com.carlosarroyoam.rest.books.cart.dto.UpdateCartItemRequest;
 import com.carlosarroyoam.rest.books.cart.entity.Cart;
 import com.carlosarroyoam.rest.books.cart.entity.CartItem;
 import com.carlosarroyoam.rest.books.core.constant.AppMessages;
 import com.carlosarroyoam.rest.books.customer.entity.Customer;
+import com.carlosarroyoam.rest.books.order.OrderService;
+import com.carlosarroyoam.rest.books.order.dto.CreateOrderRequest;
+import com.carlosarroyoam.rest.books.order.dto.OrderResponse;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -25,6 +30,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -36,6 +42,10 @@ class CartServiceTest {
 
   @Mock private BookRepository bookRepository;
 
+  @Mock private CartStore cartStore;
+
+  @Mock private OrderService orderService;
+
   @InjectMocks private CartService cartService;
 
   private Book book;
@@ -63,7 +73,7 @@ class CartServiceTest {
   @Test
   @DisplayName("Given cart exists, when find by customer id, then returns cart")
   void givenCartExists_whenFindByCustomerId_thenReturnsCart() {
-    when(cartRepository.findByCustomerId(anyLong())).thenReturn(Optional.of(cart));
+    when(cartRepository.findWithItemsByCustomerId(anyLong())).thenReturn(Optional.of(cart));
 
     CartResponse cartResponse = cartService.findByCustomerId(1L);
 
@@ -71,12 +81,13 @@ class CartServiceTest {
     assertThat(cartResponse.getId()).isEqualTo(1L);
     assertThat(cartResponse.getItems()).isNotNull();
     assertThat(cartResponse.getCustomer()).isNotNull();
+    verify(bookRepository).findAllWithAuthorsByIdIn(Set.of(1L));
   }
 
   @Test
   @DisplayName("Given no cart exists, when find by customer id, then throws not found exception")
   void givenNoCartExists_whenFindByCustomerId_thenThrowsNotFoundException() {
-    when(cartRepository.findByCustomerId(anyLong())).thenReturn(Optional.empty());
+    when(cartRepository.findWithItemsByCustomerId(anyLong())).thenReturn(Optional.empty());
 
     assertThatThrownBy(() -> cartService.findByCustomerId(1L))
         .isInstanceOf(ResponseStatusException.class)
@@ -85,76 +96,30 @@ class CartServiceTest {
   }
 
   @Test
-  @DisplayName("Given cart and book exist, when update cart item, then updates cart item")
-  void givenCartAndBookExist_whenUpdateCartItem_thenUpdatesCartItem() {
+  @DisplayName("Given valid request, when update cart item, then delegates to cart store")
+  void givenValidRequest_whenUpdateCartItem_thenDelegatesToCartStore() {
     UpdateCartItemRequest request = UpdateCartItemRequest.builder().quantity(1).bookId(1L).build();
 
-    when(cartRepository.findByCustomerId(anyLong())).thenReturn(Optional.of(cart));
-    when(bookRepository.findById(anyLong())).thenReturn(Optional.of(book));
-    when(cartItemRepository.save(any(CartItem.class))).thenReturn(cartItem);
-
     cartService.updateCartItem(1L, request);
 
-    verify(cartItemRepository).save(any(CartItem.class));
-  }
-
-  @Test
-  @DisplayName("Given cart has no item, when update cart item, then creates cart item")
-  void givenCartHasNoItem_whenUpdateCartItem_thenCreatesCartItem() {
-    UpdateCartItemRequest request = UpdateCartItemRequest.builder().quantity(1).bookId(1L).build();
-
-    Cart cartWithoutItems = Cart.builder().id(1L).build();
-
-    when(cartRepository.findByCustomerId(anyLong())).thenReturn(Optional.of(cartWithoutItems));
-    when(bookRepository.findById(anyLong())).thenReturn(Optional.of(book));
-    when(cartItemRepository.save(any(CartItem.class))).thenReturn(cartItem);
-
-    cartService.updateCartItem(1L, request);
-
-    verify(cartItemRepository).save(any(CartItem.class));
-  }
-
-  @Test
-  @DisplayName("Given cart does not exist, when update cart item, then throws not found exception")
-  void givenCartDoesNotExist_whenUpdateCartItem_thenThrowsNotFoundException() {
-    UpdateCartItemRequest request = UpdateCartItemRequest.builder().build();
-
-    when(cartRepository.findByCustomerId(anyLong())).thenReturn(Optional.empty());
-
-    assertThatThrownBy(() -> cartService.updateCartItem(1L, request))
-        .isInstanceOf(ResponseStatusException.class)
-        .hasMessageContaining(HttpStatus.NOT_FOUND.toString())
-        .hasMessageContaining(AppMessages.CART_NOT_FOUND_EXCEPTION);
-  }
-
-  @Test
-  @DisplayName("Given book does not exist, when update cart item, then throws not found exception")
-  void givenBookDoesNotExist_whenUpdateCartItem_thenThrowsNotFoundException() {
-    UpdateCartItemRequest request = UpdateCartItemRequest.builder().bookId(1L).build();
-
-    when(cartRepository.findByCustomerId(anyLong())).thenReturn(Optional.of(cart));
-    when(bookRepository.findById(anyLong())).thenReturn(Optional.empty());
-
-    assertThatThrownBy(() -> cartService.updateCartItem(1L, request))
-        .isInstanceOf(ResponseStatusException.class)
-        .hasMessageContaining(HttpStatus.NOT_FOUND.toString())
-        .hasMessageContaining(AppMessages.BOOK_NOT_FOUND_EXCEPTION);
+    verify(cartStore).updateCartItem(1L, request);
   }
 
   @Test
   @DisplayName("Given cart item exists, when delete cart item, then deletes cart item")
   void givenCartItemExists_whenDeleteCartItem_thenDeletesCartItem() {
-    when(cartRepository.findByCustomerId(anyLong())).thenReturn(Optional.of(cart));
+    when(cartRepository.findWithItemsByCustomerId(anyLong())).thenReturn(Optional.of(cart));
 
     cartService.deleteCartItem(1L, 1L);
 
+    verify(cartStore).flush(1L);
     verify(cartItemRepository).deleteById(1L);
   }
 
   @Test
   @DisplayName("Given cart does not exist, when delete cart item, then throws not found exception")
   void givenCartDoesNotExist_whenDeleteCartItem_thenThrowsNotFoundException() {
-    when(cartRepository.findByCustomerId(anyLong())).thenReturn(Optional.empty());
+    when(cartRepository.findWithItemsByCustomerId(anyLong())).thenReturn(Optional.empty());
 
     assertThatThrownBy(() -> cartService.deleteCartItem(1L, 1L))
         .isInstanceOf(ResponseStatusException.class)
@@ -168,11 +133,60 @@ class CartServiceTest {
   void givenCartItemDoesNotExist_whenDeleteCartItem_thenThrowsNotFoundException() {
     Cart cartWithoutItems = Cart.builder().id(1L).build();
 
-    when(cartRepository.findByCustomerId(anyLong())).thenReturn(Optional.of(cartWithoutItems));
+    when(cartRepository.findWithItemsByCustomerId(anyLong()))
+        .thenReturn(Optional.of(cartWithoutItems));
 
     assertThatThrownBy(() -> cartService.deleteCartItem(1L, 1L))
         .isInstanceOf(ResponseStatusException.class)
         .hasMessageContaining(HttpStatus.NOT_FOUND.toString())
         .hasMessageContaining(AppMessages.CART_ITEM_NOT_FOUND_EXCEPTION);
   }
+
+  @Test
+  @DisplayName("Given cart has items, when checkout, then creates order and clears cart")
+  void givenCartHasItems_whenCheckout_thenCreatesOrderAndClearsCart() {
+    when(cartRepository.findForUpdateByCustomerId(anyLong())).thenReturn(Optional.of(cart));
+    when(orderService.create(any(CreateOrderRequest.class)))
+        .thenReturn(OrderResponse.builder().id(1L).build());
+
+    OrderResponse orderResponse = cartService.checkout(1L, checkoutRequest());
+
+    assertThat(orderResponse.getId()).isEqualTo(1L);
+    verify(cartStore).flush(1L);
+    verify(orderService).create(any(CreateOrderRequest.class));
+    verify(cartItemRepository).deleteByCartId(1L);
+  }
+
+  @Test
+  @DisplayName("Given cart is empty, when checkout, then throws bad request exception")
+  void givenCartIsEmpty_whenCheckout_thenThrowsBadRequestException() {
+    Cart cartWithoutItems = Cart.builder().id(1L).build();
+
+    when(cartRepository.findForUpdateByCustomerId(anyLong()))
+        .thenReturn(Optional.of(cartWithoutItems));
+
+    assertThatThrownBy(() -> cartService.checkout(1L, checkoutRequest()))
+        .isInstanceOf(ResponseStatusException.class)
+        .hasMessageContaining(HttpStatus.BAD_REQUEST.toString())
+        .hasMessageContaining(AppMessages.CART_EMPTY_EXCEPTION);
+  }
+
+  @Test
+  @DisplayName("Given cart is locked, when checkout, then throws conflict exception")
+  void givenCartIsLocked_whenCheckout_thenThrowsConflictException() {
+    when(cartRepository.findForUpdateByCustomerId(anyLong()))
+        .thenThrow(new PessimisticLockingFailureException("Lock timeout"));
+
+    assertThatThrownBy(() -> cartService.checkout(1L, checkoutRequest()))
+        .isInstanceOf(ResponseStatusException.class)
+        .hasMessageContaining(HttpStatus.CONFLICT.toString())
+        .hasMessageContaining(AppMessages.CART_CHECKOUT_IN_PROGRESS_EXCEPTION);
+  }
+
+  private static CheckoutCartRequest checkoutRequest() {
+    return CheckoutCartRequest.builder()
+        .shippingAddress("123 Main Street, Springfield")
+        .billingAddress("123 Main Street, Springfield")
+        .build();
+  }
 }
@@ -0,0 +1,95 @@
+package com.carlosarroyoam.rest.books.cart;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.carlosarroyoam.rest.books.cart.dto.UpdateCartItemRequest;
+import com.carlosarroyoam.rest.books.core.constant.AppMessages;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.server.ResponseStatusException;
+
+@ExtendWith(MockitoExtension.class)
+class JpaCartStoreTest {
+  @Mock private CartRepository cartRepository;
+
+  @Mock private CartItemRepository cartItemRepository;
+
+  @Mock private PlatformTransactionManager transactionManager;
+
+  @InjectMocks private JpaCartStore jpaCartStore;
+
+  @Test
+  @DisplayName("Given cart exists, when update cart item, then upserts cart item")
+  void givenCartExists_whenUpdateCartItem_thenUpsertsCartItem() {
+    UpdateCartItemRequest request = UpdateCartItemRequest.builder().quantity(3).bookId(2L).build();
+
+    when(cartRepository.findIdByCustomerId(anyLong())).thenReturn(Optional.of(1L));
+    when(cartItemRepository.upsert(anyLong(), anyLong(), anyInt(), any(LocalDateTime.class)))
+        .thenReturn(1);
+
+    jpaCartStore.updateCartItem(1L, request);
+
+    verify(cartItemRepository).upsert(eq(1L), eq(2L), eq(3), any(LocalDateTime.class));
+    verify(cartRepository, never()).findWithItemsByCustomerId(anyLong());
+  }
+
+  @Test
+  @DisplayName("Given concurrent insert, when update cart item, then retries upsert as update")
+  void givenConcurrentInsert_whenUpdateCartItem_thenRetriesUpsertAsUpdate() {
+    UpdateCartItemRequest request = UpdateCartItemRequest.builder().quantity(1).bookId(2L).build();
+
+    when(cartRepository.findIdByCustomerId(anyLong())).thenReturn(Optional.of(1L));
+    when(cartItemRepository.upsert(anyLong(), anyLong(), anyInt(), any(LocalDateTime.class)))
+        .thenThrow(new DataIntegrityViolationException("uk_cart_items_cart_id_book_id"))
+        .thenReturn(1);
+
+    jpaCartStore.updateCartItem(1L, request);
+
+    verify(cartItemRepository, times(2)).upsert(eq(1L), eq(2L), eq(1), any(LocalDateTime.class));
+  }
+
+  @Test
+  @DisplayName("Given cart does not exist, when update cart item, then throws not found exception")
+  void givenCartDoesNotExist_whenUpdateCartItem_thenThrowsNotFoundException() {
+    UpdateCartItemRequest request = UpdateCartItemRequest.builder().build();
+
+    when(cartRepository.findIdByCustomerId(anyLong())).thenReturn(Optional.empty());
+
+    assertThatThrownBy(() -> jpaCartStore.updateCartItem(1L, request))
+        .isInstanceOf(ResponseStatusException.class)
+        .hasMessageContaining(HttpStatus.NOT_FOUND.toString())
+        .hasMessageContaining(AppMessages.CART_NOT_FOUND_EXCEPTION);
+  }
+
+  @Test
+  @DisplayName("Given book does not exist, when update cart item, then throws not found exception")
+  void givenBookDoesNotExist_whenUpdateCartItem_thenThrowsNotFoundException() {
+    UpdateCartItemRequest request = UpdateCartItemRequest.builder().quantity(1).bookId(2L).build();
+
+    when(cartRepository.findIdByCustomerId(anyLong())).thenReturn(Optional.of(1L));
+    when(cartItemRepository.upsert(anyLong(), anyLong(), anyInt(), any(LocalDateTime.class)))
+        .thenReturn(0);
+
+    assertThatThrownBy(() -> jpaCartStore.updateCartItem(1L, request))
+        .isInstanceOf(ResponseStatusException.class)
+        .hasMessageContaining(HttpStatus.NOT_FOUND.toString())
+        .hasMessageContaining(AppMessages.BOOK_NOT_FOUND_EXCEPTION);
+  }
+}
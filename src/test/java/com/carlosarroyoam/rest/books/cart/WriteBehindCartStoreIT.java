@@ -0,0 +1,164 @@
+package com.carlosarroyoam.rest.books.cart;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import com.carlosarroyoam.rest.books.cart.dto.CartItemResponse;
+import com.carlosarroyoam.rest.books.cart.dto.CartResponse;
+import com.carlosarroyoam.rest.books.cart.dto.UpdateCartItemRequest;
+import com.carlosarroyoam.rest.books.core.constant.AppMessages;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+@SpringBootTest(
+    properties = {
+      "spring.datasource.url=jdbc:h2:mem:write-behind-cart-store-it-testdb",
+      "application.cart.store=write-behind",
+      "application.cart.flush-interval=1h"
+    })
+@ActiveProfiles("test")
+class WriteBehindCartStoreIT {
+  @Autowired private WriteBehindCartStore writeBehindCartStore;
+
+  @Autowired private CartService cartService;
+
+  @Autowired private EntityManager entityManager;
+
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  @Autowired private MeterRegistry meterRegistry;
+
+  @Autowired private TransactionTemplate transactionTemplate;
+
+  @Test
+  @DisplayName("Given repeated edits, when flush all, then writes coalesced item once")
+  void givenRepeatedEdits_whenFlushAll_thenWritesCoalescedItemOnce() {
+    cartService.updateCartItem(1L, updateRequest(2L, 1));
+    cartService.updateCartItem(1L, updateRequest(2L, 4));
+
+    assertThat(findQuantity(1L, 2L)).isEmpty();
+
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    writeBehindCartStore.flushAll();
+
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    assertThat(findQuantity(1L, 2L)).contains(4);
+  }
+
+  @Test
+  @DisplayName("Given pending edits, when find by customer id, then returns edited cart")
+  void givenPendingEdits_whenFindByCustomerId_thenReturnsEditedCart() {
+    cartService.updateCartItem(2L, updateRequest(2L, 5));
+
+    CartResponse cartResponse = cartService.findByCustomerId(2L);
+
+    assertThat(cartResponse.getItems())
+        .filteredOn(item -> item.getBook().getId().equals(2L))
+        .extracting(CartItemResponse::getQuantity)
+        .containsExactly(5);
+  }
+
+  @Test
+  @DisplayName("Given another customer is flushing, when flush, then does not wait for it")
+  void givenAnotherCustomerIsFlushing_whenFlush_thenDoesNotWaitForIt() throws Exception {
+    cartService.updateCartItem(1L, updateRequest(1L, 3));
+    cartService.updateCartItem(2L, updateRequest(1L, 3));
+    CountDownLatch rowLocked = new CountDownLatch(1);
+    CountDownLatch releaseRow = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    try {
+      executor.submit(
+          () ->
+              transactionTemplate.executeWithoutResult(
+                  status -> {
+                    entityManager
+                        .createNativeQuery("SELECT id FROM cart_items WHERE id = 1 FOR UPDATE")
+                        .getResultList();
+                    rowLocked.countDown();
+                    awaitQuietly(releaseRow);
+                  }));
+      assertThat(rowLocked.await(5, TimeUnit.SECONDS)).isTrue();
+
+      Future<?> blockedFlush = executor.submit(() -> writeBehindCartStore.flush(1L));
+      await(() -> meterRegistry.get("carts.pending").gauge().value() == 1);
+
+      assertTimeoutPreemptively(Duration.ofSeconds(2), () -> writeBehindCartStore.flush(2L));
+      assertThat(blockedFlush).isNotDone();
+
+      releaseRow.countDown();
+      blockedFlush.get(5, TimeUnit.SECONDS);
+    } finally {
+      releaseRow.countDown();
+      executor.shutdown();
+    }
+
+    assertThat(findQuantity(1L, 1L)).contains(3);
+    assertThat(findQuantity(2L, 1L)).contains(3);
+  }
+
+  @Test
+  @DisplayName("Given book does not exist, when update cart item, then throws not found exception")
+  void givenBookDoesNotExist_whenUpdateCartItem_thenThrowsNotFoundException() {
+    assertThatThrownBy(() -> cartService.updateCartItem(1L, updateRequest(99L, 1)))
+        .isInstanceOf(ResponseStatusException.class)
+        .hasMessageContaining(HttpStatus.NOT_FOUND.toString())
+        .hasMessageContaining(AppMessages.BOOK_NOT_FOUND_EXCEPTION);
+  }
+
+  private Optional<Integer> findQuantity(Long customerId, Long bookId) {
+    return entityManager
+        .createQuery(
+            "SELECT ci.quantity FROM CartItem ci WHERE ci.book.id = :bookId"
+                + " AND ci.cart.customer.id = :customerId",
+            Integer.class)
+        .setParameter("bookId", bookId)
+        .setParameter("customerId", customerId)
+        .getResultList()
+        .stream()
+        .findFirst();
+  }
+
+  private static void await(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+
+    assertThat(condition.getAsBoolean()).isTrue();
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static UpdateCartItemRequest updateRequest(Long bookId, int quantity) {
+    return UpdateCartItemRequest.builder().bookId(bookId).quantity(quantity).build();
+  }
+}
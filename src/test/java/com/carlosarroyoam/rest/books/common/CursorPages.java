@@ -0,0 +1,47 @@
+package com.carlosarroyoam.rest.books.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.carlosarroyoam.rest.books.core.constant.AppMessages;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+public class CursorPages {
+  private CursorPages() {
+    throw new IllegalAccessError(AppMessages.ILLEGAL_ACCESS_EXCEPTION);
+  }
+
+  public static List<JsonNode> followCursors(
+      MockMvc mockMvc, ObjectMapper mapper, Function<String, RequestBuilder> pageRequest)
+      throws Exception {
+    List<JsonNode> items = new ArrayList<>();
+    Set<String> visitedCursors = new HashSet<>();
+    String cursor = "";
+    while (cursor != null) {
+      assertThat(visitedCursors.add(cursor)).as("cursor %s was returned twice", cursor).isTrue();
+
+      JsonNode page =
+          mapper.readTree(
+              mockMvc
+                  .perform(pageRequest.apply(cursor))
+                  .andExpect(status().isOk())
+                  .andReturn()
+                  .getResponse()
+                  .getContentAsString());
+      assertThat(page.get("items")).as("page after cursor %s", cursor).isNotEmpty();
+      page.get("items").forEach(items::add);
+
+      JsonNode nextCursor = page.get("pagination").get("next_cursor");
+      cursor = nextCursor == null || nextCursor.isNull() ? null : nextCursor.asText();
+    }
+    return items;
+  }
+}
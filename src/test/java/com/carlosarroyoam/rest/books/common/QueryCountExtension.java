@@ -0,0 +1,91 @@
+package com.carlosarroyoam.rest.books.common;
+
+import com.carlosarroyoam.rest.books.core.sql.SqlStats;
+import jakarta.persistence.EntityManager;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.opentest4j.AssertionFailedError;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+public class QueryCountExtension implements BeforeEachCallback, AfterEachCallback {
+  private static final Duration SLOW_QUERY_THRESHOLD = Duration.ofDays(1);
+
+  private EntityManager entityManager;
+
+  @Override
+  public void beforeEach(ExtensionContext context) {
+    entityManager = SpringExtension.getApplicationContext(context).getBean(EntityManager.class);
+  }
+
+  @Override
+  public void afterEach(ExtensionContext context) {
+    SqlStats.end();
+  }
+
+  public List<String> statements(ThrowingCallable request) throws Exception {
+    List<String> statements = capture(request);
+    if (statements.isEmpty()) {
+      throw new AssertionFailedError("Expected SQL statements but none were captured");
+    }
+    return statements;
+  }
+
+  public int count(ThrowingCallable request) throws Exception {
+    return statements(request).size();
+  }
+
+  public void assertNone(ThrowingCallable request) throws Exception {
+    List<String> statements = capture(request);
+    if (!statements.isEmpty()) {
+      throw new AssertionFailedError(
+          String.format(
+              "Expected no SQL statements but %d were issued:%n%s",
+              statements.size(), describe(statements)),
+          0,
+          statements.size());
+    }
+  }
+
+  public void assertAtMost(int maxStatements, ThrowingCallable request) throws Exception {
+    List<String> statements = statements(request);
+    if (statements.size() > maxStatements) {
+      throw new AssertionFailedError(
+          String.format(
+              "Expected at most %d SQL statements but %d were issued:%n%s",
+              maxStatements, statements.size(), describe(statements)),
+          maxStatements,
+          statements.size());
+    }
+  }
+
+  private List<String> capture(ThrowingCallable request) throws Exception {
+    if (SqlStats.current() != null) {
+      throw new IllegalStateException("SQL statements are already being captured");
+    }
+
+    entityManager.clear();
+    SqlStats sqlStats = SqlStats.begin(SLOW_QUERY_THRESHOLD);
+    try {
+      request.call();
+    } catch (Exception | Error ex) {
+      throw ex;
+    } catch (Throwable ex) {
+      throw new IllegalStateException(ex);
+    } finally {
+      SqlStats.end();
+    }
+    return List.copyOf(sqlStats.getStatements());
+  }
+
+  private static String describe(List<String> statements) {
+    return IntStream.range(0, statements.size())
+        .mapToObj(i -> String.format("%3d. %s", i + 1, statements.get(i).replaceAll("\\s+", " ")))
+        .collect(Collectors.joining(System.lineSeparator()));
+  }
+}
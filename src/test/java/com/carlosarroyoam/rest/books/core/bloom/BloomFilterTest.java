@@ -0,0 +1,55 @@
+package com.carlosarroyoam.rest.books.core.bloom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+  private static final int EXPECTED_INSERTIONS = 10_000;
+  private static final double FALSE_POSITIVE_RATE = 0.01;
+
+  @Test
+  @DisplayName("Given values were added, when might contain, then never returns false negatives")
+  void givenValuesWereAdded_whenMightContain_thenNeverReturnsFalseNegatives() {
+    BloomFilter bloomFilter = new BloomFilter(EXPECTED_INSERTIONS, FALSE_POSITIVE_RATE);
+
+    IntStream.range(0, EXPECTED_INSERTIONS).forEach(i -> bloomFilter.put("user" + i));
+
+    assertThat(IntStream.range(0, EXPECTED_INSERTIONS))
+        .allMatch(i -> bloomFilter.mightContain("user" + i));
+  }
+
+  @Test
+  @DisplayName(
+      "Given filter is at capacity, when might contain, then stays near false positive rate")
+  void givenFilterIsAtCapacity_whenMightContain_thenStaysNearFalsePositiveRate() {
+    BloomFilter bloomFilter = new BloomFilter(EXPECTED_INSERTIONS, FALSE_POSITIVE_RATE);
+    IntStream.range(0, EXPECTED_INSERTIONS).forEach(i -> bloomFilter.put("user" + i));
+
+    long falsePositives =
+        IntStream.range(0, EXPECTED_INSERTIONS)
+            .filter(i -> bloomFilter.mightContain("new-user" + i))
+            .count();
+
+    assertThat((double) falsePositives / EXPECTED_INSERTIONS).isLessThan(FALSE_POSITIVE_RATE * 2);
+  }
+
+  @Test
+  @DisplayName("Given empty filter, when might contain, then returns false")
+  void givenEmptyFilter_whenMightContain_thenReturnsFalse() {
+    BloomFilter bloomFilter = new BloomFilter(EXPECTED_INSERTIONS, FALSE_POSITIVE_RATE);
+
+    assertThat(bloomFilter.mightContain("carroyom")).isFalse();
+    assertThat(bloomFilter.hashFunctions()).isEqualTo(7);
+  }
+
+  @Test
+  @DisplayName("Given invalid false positive rate, when create, then throws exception")
+  void givenInvalidFalsePositiveRate_whenCreate_thenThrowsException() {
+    assertThatThrownBy(() -> new BloomFilter(EXPECTED_INSERTIONS, 1.0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
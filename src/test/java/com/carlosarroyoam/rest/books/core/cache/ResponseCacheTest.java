@@ -0,0 +1,124 @@
+package com.carlosarroyoam.rest.books.core.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ResponseCacheTest {
+  private MutableClock clock;
+  private ResponseCache<Long, String> responseCache;
+  private AtomicInteger loads;
+
+  @BeforeEach
+  void setUp() {
+    clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+    responseCache = new ResponseCache<>("books", 2, Duration.ofMinutes(10), clock);
+    loads = new AtomicInteger();
+  }
+
+  @Test
+  @DisplayName("Given value is cached, when get, then does not call loader again")
+  void givenValueIsCached_whenGet_thenDoesNotCallLoaderAgain() {
+    responseCache.get(1L, this::load);
+    String value = responseCache.get(1L, this::load);
+
+    assertThat(value).isEqualTo("book-1");
+    assertThat(loads).hasValue(1);
+  }
+
+  @Test
+  @DisplayName("Given value has expired, when get, then reloads value")
+  void givenValueHasExpired_whenGet_thenReloadsValue() {
+    responseCache.get(1L, this::load);
+    clock.advance(Duration.ofMinutes(11));
+    responseCache.get(1L, this::load);
+
+    assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  @DisplayName("Given cache is full, when get new key, then evicts least recently used value")
+  void givenCacheIsFull_whenGetNewKey_thenEvictsLeastRecentlyUsedValue() {
+    responseCache.get(1L, this::load);
+    responseCache.get(2L, this::load);
+    responseCache.get(1L, this::load);
+    responseCache.get(3L, this::load);
+    responseCache.get(1L, this::load);
+    responseCache.get(2L, this::load);
+
+    assertThat(loads).hasValue(4);
+    assertThat(responseCache.size()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Given value is cached, when evict, then reloads value")
+  void givenValueIsCached_whenEvict_thenReloadsValue() {
+    responseCache.get(1L, this::load);
+    responseCache.get(2L, this::load);
+    responseCache.evict(1L);
+    responseCache.get(1L, this::load);
+    responseCache.get(2L, this::load);
+
+    assertThat(loads).hasValue(3);
+  }
+
+  @Test
+  @DisplayName("Given meter registry, when bind, then exposes hits, misses and evictions")
+  void givenMeterRegistry_whenBind_thenExposesHitsMissesAndEvictions() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    responseCache.bindTo(registry);
+
+    responseCache.get(1L, this::load);
+    responseCache.get(1L, this::load);
+    responseCache.get(2L, this::load);
+    responseCache.get(3L, this::load);
+
+    assertThat(registry.get("cache.gets").tag("result", "hit").functionCounter().count())
+        .isEqualTo(1);
+    assertThat(registry.get("cache.gets").tag("result", "miss").functionCounter().count())
+        .isEqualTo(3);
+    assertThat(registry.get("cache.evictions").functionCounter().count()).isEqualTo(1);
+    assertThat(registry.get("cache.size").gauge().value()).isEqualTo(2);
+  }
+
+  private String load(Long key) {
+    loads.incrementAndGet();
+    return "book-" + key;
+  }
+
+  private static class MutableClock extends Clock {
+    private Instant instant;
+
+    MutableClock(Instant instant) {
+      this.instant = instant;
+    }
+
+    void advance(Duration duration) {
+      instant = instant.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return instant;
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package com.carlosarroyoam.rest.books.core.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.carlosarroyoam.rest.books.customer.CustomerService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(
+    properties = {
+      "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+      "application.datasource.read-only.url=" + ReadOnlyRoutingIT.REPLICA_URL,
+      "application.datasource.read-only.username=sa"
+    })
+@ActiveProfiles("test")
+class ReadOnlyRoutingIT {
+  static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+  @Autowired private CustomerService customerService;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  @Autowired private MeterRegistry meterRegistry;
+
+  @BeforeAll
+  static void setupReplica() {
+    DriverManagerDataSource replica = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+    new ResourceDatabasePopulator(
+            new ClassPathResource("schema.sql"), new ClassPathResource("data.sql"))
+        .execute(replica);
+    new JdbcTemplate(replica).update("UPDATE customers SET first_name = 'Replica' WHERE id = 1");
+  }
+
+  @Test
+  @DisplayName("Given read-only transaction, when find customer, then reads from replica")
+  void givenReadOnlyTransaction_whenFindCustomer_thenReadsFromReplica() {
+    assertThat(customerService.findById(1L).getFirstName()).isEqualTo("Replica");
+  }
+
+  @Test
+  @DisplayName("Given read-write transaction, when query, then reads from primary")
+  void givenReadWriteTransaction_whenQuery_thenReadsFromPrimary() {
+    String firstName =
+        new TransactionTemplate(transactionManager)
+            .execute(
+                status ->
+                    jdbcTemplate.queryForObject(
+                        "SELECT first_name FROM customers WHERE id = 1", String.class));
+
+    assertThat(firstName).isNotEqualTo("Replica");
+  }
+
+  @Test
+  @DisplayName("Given pools are started, when read metrics, then exposes saturation per pool")
+  void givenPoolsAreStarted_whenReadMetrics_thenExposesSaturationPerPool() {
+    assertThat(
+            meterRegistry.get("hikaricp.connections.saturation").tag("pool", "read-only").gauge())
+        .isNotNull();
+    assertThat(meterRegistry.get("hikaricp.connections.max").tag("pool", "read-write").gauge())
+        .isNotNull();
+  }
+}
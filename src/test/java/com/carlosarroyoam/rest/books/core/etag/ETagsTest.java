@@ -0,0 +1,85 @@
+package com.carlosarroyoam.rest.books.core.etag;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.carlosarroyoam.rest.books.core.dto.PagedResponse;
+import com.carlosarroyoam.rest.books.core.dto.PaginationResponse;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+class ETagsTest {
+  private static final LocalDateTime UPDATED_AT = LocalDateTime.parse("2025-01-01T10:00:00");
+
+  @Test
+  @DisplayName("Given same id and last modification, when of, then returns same strong etag")
+  void givenSameIdAndLastModification_whenOf_thenReturnsSameStrongETag() {
+    String eTag = ETags.of(1L, UPDATED_AT);
+
+    assertThat(eTag).startsWith("\"1-").endsWith("\"").isEqualTo(ETags.of(1L, UPDATED_AT));
+    assertThat(eTag).isNotEqualTo(ETags.of(1L, UPDATED_AT.plusNanos(1_000)));
+    assertThat(eTag).isNotEqualTo(ETags.of(2L, UPDATED_AT));
+  }
+
+  @Test
+  @DisplayName("Given embedded modifications, when of, then uses latest modification")
+  void givenEmbeddedModifications_whenOf_thenUsesLatestModification() {
+    LocalDateTime embeddedUpdatedAt = UPDATED_AT.plusSeconds(1);
+
+    String eTag = ETags.of(1L, Stream.of(UPDATED_AT, null, embeddedUpdatedAt));
+
+    assertThat(eTag).isEqualTo(ETags.of(1L, embeddedUpdatedAt));
+  }
+
+  @Test
+  @DisplayName("Given item was modified, when of page, then returns different fingerprint")
+  void givenItemWasModified_whenOfPage_thenReturnsDifferentFingerprint() {
+    String eTag = ETags.ofPage(page(UPDATED_AT), ETagsTest::version);
+
+    assertThat(eTag).isEqualTo(ETags.ofPage(page(UPDATED_AT), ETagsTest::version));
+    assertThat(eTag)
+        .isNotEqualTo(ETags.ofPage(page(UPDATED_AT.plusSeconds(1)), ETagsTest::version));
+  }
+
+  @Test
+  @DisplayName("Given if none match header, when matches, then compares every candidate")
+  void givenIfNoneMatchHeader_whenMatches_thenComparesEveryCandidate() {
+    assertThat(ETags.matches("\"a\", W/\"b\"", "\"b\"")).isTrue();
+    assertThat(ETags.matches("*", "\"b\"")).isTrue();
+    assertThat(ETags.matches("\"a\"", "\"b\"")).isFalse();
+    assertThat(ETags.matches(null, "\"b\"")).isFalse();
+  }
+
+  @Test
+  @DisplayName("Given matching etag, when to response, then returns not modified without body")
+  void givenMatchingETag_whenToResponse_thenReturnsNotModifiedWithoutBody() {
+    ResponseEntity<String> response =
+        ETags.toResponse(
+            "\"a\"",
+            "\"a\"",
+            () -> {
+              throw new AssertionError("body must not be loaded");
+            });
+
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    assertThat(response.getHeaders().getFirst(HttpHeaders.ETAG)).isEqualTo("\"a\"");
+    assertThat(response.getBody()).isNull();
+  }
+
+  private static PagedResponse<LocalDateTime> page(LocalDateTime updatedAt) {
+    return PagedResponse.<LocalDateTime>builder()
+        .items(List.of(UPDATED_AT, updatedAt))
+        .pagination(
+            PaginationResponse.builder().page(0).size(2).totalItems(2L).totalPages(1L).build())
+        .build();
+  }
+
+  private static String version(LocalDateTime updatedAt) {
+    return ETags.version(1L, Stream.of(updatedAt));
+  }
+}
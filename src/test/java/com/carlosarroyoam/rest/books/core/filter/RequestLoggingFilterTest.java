@@ -0,0 +1,118 @@
+package com.carlosarroyoam.rest.books.core.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.carlosarroyoam.rest.books.core.property.RequestMetricsProps;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+class RequestLoggingFilterTest {
+  private SimpleMeterRegistry meterRegistry;
+  private RequestLoggingFilter requestLoggingFilter;
+
+  @BeforeEach
+  void setUp() {
+    RequestMetricsProps requestMetricsProps = new RequestMetricsProps();
+    requestMetricsProps.setSlo(List.of(Duration.ofMillis(100), Duration.ofMillis(500)));
+    requestMetricsProps.setAccessLogSampleRate(0.0);
+    requestMetricsProps.setSlowRequestThreshold(Duration.ofSeconds(1));
+    meterRegistry = new SimpleMeterRegistry();
+    requestLoggingFilter = new RequestLoggingFilter(meterRegistry, requestMetricsProps);
+  }
+
+  @Test
+  @DisplayName("Given request matched a route, when filter, then records timer by route template")
+  void givenRequestMatchedRoute_whenFilter_thenRecordsTimerByRouteTemplate() throws Exception {
+    requestLoggingFilter.doFilter(request("/books/1", "/books/{bookId}"), response(200), chain());
+    requestLoggingFilter.doFilter(request("/books/2", "/books/{bookId}"), response(200), chain());
+
+    Timer timer =
+        meterRegistry
+            .get(RequestLoggingFilter.METRIC_NAME)
+            .tags("method", "GET", "uri", "/books/{bookId}", "status", "200")
+            .tag("outcome", "SUCCESSFUL")
+            .timer();
+    assertThat(timer.count()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Given request did not match a route, when filter, then records not found uri")
+  void givenRequestDidNotMatchRoute_whenFilter_thenRecordsNotFoundUri() throws Exception {
+    requestLoggingFilter.doFilter(request("/missing/1", null), response(404), chain());
+
+    Timer timer =
+        meterRegistry
+            .get(RequestLoggingFilter.METRIC_NAME)
+            .tags("uri", "NOT_FOUND", "status", "404", "outcome", "CLIENT_ERROR")
+            .timer();
+    assertThat(timer.count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Given slo buckets are configured, when filter, then timer publishes slo buckets")
+  void givenSloBucketsAreConfigured_whenFilter_thenTimerPublishesSloBuckets() throws Exception {
+    requestLoggingFilter.doFilter(request("/authors", "/authors"), response(200), chain());
+
+    Timer timer = meterRegistry.get(RequestLoggingFilter.METRIC_NAME).timer();
+    List<Double> buckets =
+        Arrays.stream(timer.takeSnapshot().histogramCounts())
+            .map(CountAtBucket::bucket)
+            .toList();
+    assertThat(buckets).contains(100_000_000.0, 500_000_000.0);
+  }
+
+  @Test
+  @DisplayName("Given request started async, when filter, then records once async completes")
+  void givenRequestStartedAsync_whenFilter_thenRecordsOnceAsyncCompletes() throws Exception {
+    MockHttpServletRequest request = request("/orders/export", "/orders/export");
+    request.setAsyncSupported(true);
+    MockHttpServletResponse response = response(200);
+
+    requestLoggingFilter.doFilter(
+        request, response, (servletRequest, servletResponse) -> servletRequest.startAsync());
+
+    assertThat(meterRegistry.find(RequestLoggingFilter.METRIC_NAME).timer()).isNull();
+
+    Thread.sleep(20);
+    ((MockAsyncContext) request.getAsyncContext()).complete();
+
+    Timer timer =
+        meterRegistry
+            .get(RequestLoggingFilter.METRIC_NAME)
+            .tags("uri", "/orders/export", "status", "200")
+            .timer();
+    assertThat(timer.count()).isEqualTo(1);
+    assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(20);
+  }
+
+  private static MockHttpServletRequest request(String uri, String pattern) {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+    if (pattern != null) {
+      request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+    }
+    return request;
+  }
+
+  private static MockHttpServletResponse response(int status) {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    response.setStatus(status);
+    return response;
+  }
+
+  private static MockFilterChain chain() {
+    return new MockFilterChain();
+  }
+}
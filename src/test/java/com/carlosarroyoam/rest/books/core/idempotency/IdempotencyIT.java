@@ -0,0 +1,152 @@
+package com.carlosarroyoam.rest.books.core.idempotency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.carlosarroyoam.rest.books.core.constant.CustomHeaderNames;
+import com.carlosarroyoam.rest.books.order.dto.CreateOrderItemRequest;
+import com.carlosarroyoam.rest.books.order.dto.CreateOrderRequest;
+import com.carlosarroyoam.rest.books.payment.dto.CreatePaymentRequest;
+import com.carlosarroyoam.rest.books.payment.entity.PaymentMethod;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+@SpringBootTest(
+    webEnvironment = WebEnvironment.RANDOM_PORT,
+    properties = "spring.datasource.url=jdbc:h2:mem:idempotency-it-testdb")
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@Transactional
+class IdempotencyIT {
+  @Autowired private WebApplicationContext webApplicationContext;
+
+  @Autowired private ObjectMapper mapper;
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private EntityManager entityManager;
+
+  @BeforeEach
+  void setup() {
+    mockMvc =
+        MockMvcBuilders.webAppContextSetup(webApplicationContext)
+            .apply(SecurityMockMvcConfigurers.springSecurity())
+            .defaultRequest(
+                get("/")
+                    .with(
+                        jwt()
+                            .jwt(jwt -> jwt.claim("preferred_username", "carroyom"))
+                            .authorities(new SimpleGrantedAuthority("ROLE_App/Admin"))))
+            .build();
+  }
+
+  @Test
+  @DisplayName("POST /orders - Given repeated idempotency key, when create, then replays order")
+  void givenRepeatedIdempotencyKey_whenCreateOrder_thenReplaysOrder() throws Exception {
+    String idempotencyKey = UUID.randomUUID().toString();
+    long ordersBefore = count("SELECT COUNT(o) FROM Order o");
+
+    String location = create("/orders", createOrderRequest(), idempotencyKey);
+    String replayedLocation = create("/orders", createOrderRequest(), idempotencyKey);
+
+    assertThat(replayedLocation).isEqualTo(location);
+    assertThat(count("SELECT COUNT(o) FROM Order o")).isEqualTo(ordersBefore + 1);
+  }
+
+  @Test
+  @DisplayName("POST /orders - Given different idempotency keys, when create, then creates orders")
+  void givenDifferentIdempotencyKeys_whenCreateOrder_thenCreatesOrders() throws Exception {
+    String location = create("/orders", createOrderRequest(), UUID.randomUUID().toString());
+    String otherLocation = create("/orders", createOrderRequest(), UUID.randomUUID().toString());
+
+    assertThat(otherLocation).isNotEqualTo(location);
+  }
+
+  @Test
+  @DisplayName(
+      "POST /orders - Given key reused with another body, when create, then returns unprocessable")
+  void givenKeyReusedWithAnotherBody_whenCreateOrder_thenReturnsUnprocessable() throws Exception {
+    String idempotencyKey = UUID.randomUUID().toString();
+    create("/orders", createOrderRequest(), idempotencyKey);
+    CreateOrderRequest otherRequest = createOrderRequest();
+    otherRequest.setNotes("Leave at the back door");
+
+    mockMvc
+        .perform(
+            post("/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(otherRequest))
+                .header(CustomHeaderNames.IDEMPOTENCY_KEY, idempotencyKey))
+        .andExpect(status().isUnprocessableEntity());
+  }
+
+  @Test
+  @DisplayName(
+      "POST /payments - Given repeated idempotency key, when create, then replays payment")
+  void givenRepeatedIdempotencyKey_whenCreatePayment_thenReplaysPayment() throws Exception {
+    String orderLocation = create("/orders", createOrderRequest(), null);
+    Long orderId = Long.valueOf(orderLocation.substring(orderLocation.lastIndexOf('/') + 1));
+    entityManager.flush();
+    entityManager.clear();
+    CreatePaymentRequest request =
+        CreatePaymentRequest.builder().orderId(orderId).method(PaymentMethod.CREDIT_CARD).build();
+    String idempotencyKey = UUID.randomUUID().toString();
+
+    String location = create("/payments", request, idempotencyKey);
+    String replayedLocation = create("/payments", request, idempotencyKey);
+
+    assertThat(replayedLocation).isEqualTo(location);
+  }
+
+  private String create(String path, Object request, String idempotencyKey) throws Exception {
+    MockHttpServletRequestBuilder requestBuilder =
+        post(path)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(mapper.writeValueAsString(request));
+    if (idempotencyKey != null) {
+      requestBuilder.header(CustomHeaderNames.IDEMPOTENCY_KEY, idempotencyKey);
+    }
+
+    return mockMvc
+        .perform(requestBuilder)
+        .andExpect(status().isCreated())
+        .andReturn()
+        .getResponse()
+        .getHeader(HttpHeaders.LOCATION);
+  }
+
+  private long count(String query) {
+    return entityManager.createQuery(query, Long.class).getSingleResult();
+  }
+
+  private static CreateOrderRequest createOrderRequest() {
+    return CreateOrderRequest.builder()
+        .customerId(1L)
+        .shippingAddress("789 New Street, Metropolis")
+        .billingAddress("789 New Street, Metropolis")
+        .items(List.of(CreateOrderItemRequest.builder().bookId(1L).quantity(1).build()))
+        .build();
+  }
+}
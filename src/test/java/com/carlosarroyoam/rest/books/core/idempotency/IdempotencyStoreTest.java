@@ -0,0 +1,262 @@
+package com.carlosarroyoam.rest.books.core.idempotency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.carlosarroyoam.rest.books.core.constant.AppMessages;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+class IdempotencyStoreTest {
+  private static final String PRINCIPAL = "carroyom";
+  private static final Map<String, Object> REQUEST = Map.of("order_id", 1);
+
+  private MutableClock clock;
+  private IdempotencyStore<String> idempotencyStore;
+  private AtomicInteger executions;
+
+  @BeforeEach
+  void setUp() {
+    clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+    idempotencyStore =
+        new IdempotencyStore<>("orders", 2, Duration.ofMinutes(10), Duration.ofSeconds(5), clock);
+    executions = new AtomicInteger();
+  }
+
+  @Test
+  @DisplayName("Given key was executed, when execute, then replays result")
+  void givenKeyWasExecuted_whenExecute_thenReplaysResult() {
+    idempotencyStore.execute("key-1", PRINCIPAL, REQUEST, this::execute);
+    String result = idempotencyStore.execute("key-1", PRINCIPAL, REQUEST, this::execute);
+
+    assertThat(result).isEqualTo("result-1");
+    assertThat(executions).hasValue(1);
+  }
+
+  @Test
+  @DisplayName("Given key was used with another request, when execute, then throws unprocessable")
+  void givenKeyWasUsedWithAnotherRequest_whenExecute_thenThrowsUnprocessable() {
+    idempotencyStore.execute("key-1", PRINCIPAL, REQUEST, this::execute);
+    Map<String, Object> otherRequest = Map.of("order_id", 2);
+
+    assertThatThrownBy(
+            () -> idempotencyStore.execute("key-1", PRINCIPAL, otherRequest, this::execute))
+        .isInstanceOf(ResponseStatusException.class)
+        .hasMessageContaining(HttpStatus.UNPROCESSABLE_ENTITY.toString())
+        .hasMessageContaining(AppMessages.IDEMPOTENCY_KEY_REUSED_EXCEPTION);
+    assertThat(executions).hasValue(1);
+  }
+
+  @Test
+  @DisplayName("Given key was used by another principal, when execute, then throws unprocessable")
+  void givenKeyWasUsedByAnotherPrincipal_whenExecute_thenThrowsUnprocessable() {
+    idempotencyStore.execute("key-1", PRINCIPAL, REQUEST, this::execute);
+
+    assertThatThrownBy(() -> idempotencyStore.execute("key-1", "cguidor", REQUEST, this::execute))
+        .isInstanceOf(ResponseStatusException.class)
+        .hasMessageContaining(HttpStatus.UNPROCESSABLE_ENTITY.toString());
+    assertThat(executions).hasValue(1);
+  }
+
+  @Test
+  @DisplayName("Given no key, when execute, then always executes action")
+  void givenNoKey_whenExecute_thenAlwaysExecutesAction() {
+    idempotencyStore.execute(null, PRINCIPAL, REQUEST, this::execute);
+    idempotencyStore.execute(null, PRINCIPAL, REQUEST, this::execute);
+
+    assertThat(executions).hasValue(2);
+    assertThat(idempotencyStore.size()).isZero();
+  }
+
+  @Test
+  @DisplayName("Given key has expired, when execute, then executes action again")
+  void givenKeyHasExpired_whenExecute_thenExecutesActionAgain() {
+    idempotencyStore.execute("key-1", PRINCIPAL, REQUEST, this::execute);
+    clock.advance(Duration.ofMinutes(11));
+    String result = idempotencyStore.execute("key-1", PRINCIPAL, REQUEST, this::execute);
+
+    assertThat(result).isEqualTo("result-2");
+  }
+
+  @Test
+  @DisplayName("Given store is full, when execute new key, then evicts oldest key")
+  void givenStoreIsFull_whenExecuteNewKey_thenEvictsOldestKey() {
+    idempotencyStore.execute("key-1", PRINCIPAL, REQUEST, this::execute);
+    idempotencyStore.execute("key-2", PRINCIPAL, REQUEST, this::execute);
+    idempotencyStore.execute("key-3", PRINCIPAL, REQUEST, this::execute);
+    idempotencyStore.execute("key-1", PRINCIPAL, REQUEST, this::execute);
+
+    assertThat(executions).hasValue(4);
+    assertThat(idempotencyStore.size()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Given action fails, when execute, then does not store failure")
+  void givenActionFails_whenExecute_thenDoesNotStoreFailure() {
+    assertThatThrownBy(
+            () ->
+                idempotencyStore.execute(
+                    "key-1",
+                    PRINCIPAL,
+                    REQUEST,
+                    () -> {
+                      throw new IllegalStateException("Failed");
+                    }))
+        .isInstanceOf(IllegalStateException.class);
+
+    String result = idempotencyStore.execute("key-1", PRINCIPAL, REQUEST, this::execute);
+
+    assertThat(result).isEqualTo("result-1");
+  }
+
+  @Test
+  @DisplayName("Given execution in flight, when execute same key, then waits for its result")
+  void givenExecutionInFlight_whenExecuteSameKey_thenWaitsForItsResult() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    CompletableFuture<String> first =
+        CompletableFuture.supplyAsync(
+            () ->
+                idempotencyStore.execute(
+                    "key-1",
+                    PRINCIPAL,
+                    REQUEST,
+                    () -> {
+                      started.countDown();
+                      await(release);
+                      return execute();
+                    }));
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+    CompletableFuture<String> second =
+        CompletableFuture.supplyAsync(
+            () -> idempotencyStore.execute("key-1", PRINCIPAL, REQUEST, this::execute));
+    release.countDown();
+
+    assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("result-1");
+    assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("result-1");
+    assertThat(executions).hasValue(1);
+  }
+
+  @Test
+  @DisplayName("Given store is full, when execute new key, then keeps execution in flight")
+  void givenStoreIsFull_whenExecuteNewKey_thenKeepsExecutionInFlight() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    CompletableFuture<String> first =
+        CompletableFuture.supplyAsync(
+            () ->
+                idempotencyStore.execute(
+                    "key-1",
+                    PRINCIPAL,
+                    REQUEST,
+                    () -> {
+                      started.countDown();
+                      await(release);
+                      return execute();
+                    }));
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+    idempotencyStore.execute("key-2", PRINCIPAL, REQUEST, this::execute);
+    idempotencyStore.execute("key-3", PRINCIPAL, REQUEST, this::execute);
+    CompletableFuture<String> duplicate =
+        CompletableFuture.supplyAsync(
+            () -> idempotencyStore.execute("key-1", PRINCIPAL, REQUEST, this::execute));
+    release.countDown();
+
+    assertThat(duplicate.get(5, TimeUnit.SECONDS)).isEqualTo(first.get(5, TimeUnit.SECONDS));
+    assertThat(executions).hasValue(3);
+    assertThat(idempotencyStore.size()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName(
+      "Given execution outlives replay timeout, when execute same key, then throws conflict")
+  void givenExecutionOutlivesReplayTimeout_whenExecuteSameKey_thenThrowsConflict()
+      throws Exception {
+    IdempotencyStore<String> store =
+        new IdempotencyStore<>("orders", 2, Duration.ofMinutes(10), Duration.ofMillis(50), clock);
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    CompletableFuture<String> first =
+        CompletableFuture.supplyAsync(
+            () ->
+                store.execute(
+                    "key-1",
+                    PRINCIPAL,
+                    REQUEST,
+                    () -> {
+                      started.countDown();
+                      await(release);
+                      return execute();
+                    }));
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+    try {
+      assertThatThrownBy(() -> store.execute("key-1", PRINCIPAL, REQUEST, this::execute))
+          .isInstanceOf(ResponseStatusException.class)
+          .hasMessageContaining(HttpStatus.CONFLICT.toString())
+          .hasMessageContaining(AppMessages.IDEMPOTENCY_REQUEST_IN_PROGRESS_EXCEPTION);
+    } finally {
+      release.countDown();
+    }
+
+    assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("result-1");
+    assertThat(executions).hasValue(1);
+  }
+
+  private String execute() {
+    return "result-" + executions.incrementAndGet();
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static class MutableClock extends Clock {
+    private Instant instant;
+
+    MutableClock(Instant instant) {
+      this.instant = instant;
+    }
+
+    void advance(Duration duration) {
+      instant = instant.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return instant;
+    }
+  }
+}
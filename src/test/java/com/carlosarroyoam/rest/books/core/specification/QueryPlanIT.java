@@ -0,0 +1,140 @@
+package com.carlosarroyoam.rest.books.core.specification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+@SpringBootTest(
+    webEnvironment = WebEnvironment.RANDOM_PORT,
+    properties = {
+      "spring.datasource.url=jdbc:h2:mem:query-plan-it-testdb",
+      "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+          + "com.carlosarroyoam.rest.books.core.specification.QueryPlanIT$CapturingInspector"
+    })
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class QueryPlanIT {
+  @Autowired private WebApplicationContext webApplicationContext;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setup() {
+    mockMvc =
+        MockMvcBuilders.webAppContextSetup(webApplicationContext)
+            .apply(SecurityMockMvcConfigurers.springSecurity())
+            .defaultRequest(
+                get("/")
+                    .with(
+                        jwt()
+                            .jwt(jwt -> jwt.claim("preferred_username", "carroyom"))
+                            .authorities(new SimpleGrantedAuthority("ROLE_App/Admin"))))
+            .build();
+  }
+
+  @ParameterizedTest(name = "{0} uses {2}")
+  @MethodSource("filteredListEndpoints")
+  @DisplayName("Given filtered list endpoint, when find all, then uses secondary index")
+  void givenFilteredListEndpoint_whenFindAll_thenUsesSecondaryIndex(
+      String uri, String table, String access) throws Exception {
+    CapturingInspector.STATEMENTS.clear();
+
+    mockMvc.perform(get(uri)).andExpect(status().isOk());
+
+    List<String> plans = explainFilteredSelectsOn(table);
+    assertThat(plans).isNotEmpty();
+    assertThat(plans)
+        .noneSatisfy(
+            plan -> assertThat(plan).contains(table.toUpperCase(Locale.ROOT) + ".tableScan"));
+    assertThat(plans)
+        .anySatisfy(plan -> assertThat(plan).contains(access.toUpperCase(Locale.ROOT)));
+  }
+
+  static Stream<Arguments> filteredListEndpoints() {
+    return Stream.of(
+        Arguments.of("/authors?status=ACTIVE", "authors", "idx_authors_status"),
+        Arguments.of("/books?status=ACTIVE", "books", "idx_books_status_online_price"),
+        Arguments.of("/books?minPrice=10&maxPrice=20", "books", "idx_books_price"),
+        Arguments.of("/books?authorIds=1", "book_authors", "idx_book_authors_author_id"),
+        Arguments.of("/customers?status=ACTIVE", "customers", "idx_customers_status"),
+        Arguments.of("/orders?status=PENDING", "orders", "idx_orders_status_created_at"),
+        Arguments.of("/orders?customerId=1", "orders", "customer_id = ?1"),
+        Arguments.of("/orders?startDate=2025-01-01", "orders", "idx_orders_created_at"),
+        Arguments.of("/payments?status=PENDING", "payments", "idx_payments_status_created_at"),
+        Arguments.of("/payments?method=CREDIT_CARD", "payments", "idx_payments_method_created_at"),
+        Arguments.of("/shipments?status=PENDING", "shipments", "idx_shipments_status_created_at"),
+        Arguments.of("/shipments?startDate=2025-01-01", "shipments", "idx_shipments_created_at"));
+  }
+
+  private List<String> explainFilteredSelectsOn(String table) {
+    Pattern onTable =
+        Pattern.compile(
+            "\\b(from|join)\\s+" + table + "\\s+\\w+\\b.*\\bwhere\\b", Pattern.DOTALL);
+    List<String> plans = new ArrayList<>();
+    for (String sql : CapturingInspector.STATEMENTS) {
+      if (onTable.matcher(sql.toLowerCase(Locale.ROOT)).find()) {
+        plans.add(explain(sql));
+      }
+    }
+    return plans;
+  }
+
+  private String explain(String sql) {
+    return jdbcTemplate.execute(
+        (ConnectionCallback<String>)
+            connection -> {
+              try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                int parameterCount = statement.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameterCount; i++) {
+                  statement.setObject(i, null);
+                }
+
+                try (ResultSet resultSet = statement.executeQuery()) {
+                  resultSet.next();
+                  return resultSet.getString(1);
+                }
+              }
+            });
+  }
+
+  public static class CapturingInspector implements StatementInspector {
+    static final Queue<String> STATEMENTS = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public String inspect(String sql) {
+      STATEMENTS.add(sql);
+      return sql;
+    }
+  }
+}
@@ -0,0 +1,144 @@
+package com.carlosarroyoam.rest.books.core.sql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.carlosarroyoam.rest.books.common.QueryCountExtension;
+import com.carlosarroyoam.rest.books.core.constant.CustomHeaderNames;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+      "application.sql-metrics.slow-query-threshold=0ms",
+      "application.sql-metrics.response-headers=true"
+    })
+@ActiveProfiles("test")
+@ExtendWith(OutputCaptureExtension.class)
+class SqlStatsIT {
+  @RegisterExtension final QueryCountExtension queryCount = new QueryCountExtension();
+
+  @Autowired private WebApplicationContext webApplicationContext;
+
+  @Autowired private SqlStatsFilter sqlStatsFilter;
+
+  @Autowired private MeterRegistry meterRegistry;
+
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setup() {
+    mockMvc =
+        MockMvcBuilders.webAppContextSetup(webApplicationContext)
+            .addFilters(sqlStatsFilter)
+            .apply(SecurityMockMvcConfigurers.springSecurity())
+            .defaultRequest(
+                get("/")
+                    .with(
+                        jwt()
+                            .jwt(jwt -> jwt.claim("preferred_username", "carroyom"))
+                            .authorities(new SimpleGrantedAuthority("ROLE_App/Admin"))))
+            .build();
+  }
+
+  @Test
+  @DisplayName("Given request runs queries, when perform, then returns sql stats headers")
+  void givenRequestRunsQueries_whenPerform_thenReturnsSqlStatsHeaders() throws Exception {
+    MvcResult result =
+        mockMvc
+            .perform(get("/orders").param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(CustomHeaderNames.SQL_EXECUTION_TIME))
+            .andReturn();
+
+    assertThat(
+            Integer.parseInt(result.getResponse().getHeader(CustomHeaderNames.SQL_STATEMENTS)))
+        .isPositive();
+    assertThat(Long.parseLong(result.getResponse().getHeader(CustomHeaderNames.SQL_ROWS)))
+        .isGreaterThanOrEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Given request runs through filter, when count queries, then captures statements")
+  void givenRequestRunsThroughFilter_whenCountQueries_thenCapturesStatements() throws Exception {
+    MvcResult[] result = new MvcResult[1];
+
+    int statements =
+        queryCount.count(
+            () ->
+                result[0] =
+                    mockMvc
+                        .perform(get("/orders").param("size", "2"))
+                        .andExpect(status().isOk())
+                        .andReturn());
+
+    assertThat(statements)
+        .isPositive()
+        .isEqualTo(
+            Integer.parseInt(result[0].getResponse().getHeader(CustomHeaderNames.SQL_STATEMENTS)));
+  }
+
+  @Test
+  @DisplayName("Given request runs queries, when perform, then records metrics by handler")
+  void givenRequestRunsQueries_whenPerform_thenRecordsMetricsByHandler() throws Exception {
+    mockMvc.perform(get("/payments").param("size", "2")).andExpect(status().isOk());
+
+    DistributionSummary statements =
+        meterRegistry
+            .get(SqlStatsFilter.STATEMENTS_METRIC_NAME)
+            .tag("handler", "PaymentController.findAll")
+            .summary();
+    assertThat(statements.count()).isPositive();
+    assertThat(statements.totalAmount()).isPositive();
+    assertThat(
+            meterRegistry
+                .get(SqlStatsFilter.EXECUTION_METRIC_NAME)
+                .tag("handler", "PaymentController.findAll")
+                .timer()
+                .count())
+        .isPositive();
+  }
+
+  @Test
+  @DisplayName("Given query is slow, when perform, then logs query with bound predicates")
+  void givenQueryIsSlow_whenPerform_thenLogsQueryWithBoundPredicates(CapturedOutput output)
+      throws Exception {
+    mockMvc.perform(get("/orders").param("status", "PENDING")).andExpect(status().isOk());
+
+    assertThat(output).contains("Slow query took").contains("[status =]");
+  }
+
+  @Test
+  @DisplayName("Given query is slow, when perform, then does not log bound filter values")
+  void givenQueryIsSlow_whenPerform_thenDoesNotLogBoundFilterValues(CapturedOutput output)
+      throws Exception {
+    mockMvc
+        .perform(get("/customers").param("email", "private.filter@mail.com"))
+        .andExpect(status().isOk());
+
+    assertThat(output)
+        .contains("Slow query took")
+        .contains("[emailLower like]")
+        .doesNotContain("private.filter@mail.com");
+  }
+}
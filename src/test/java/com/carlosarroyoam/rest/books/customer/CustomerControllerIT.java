@@ -1,5 +1,6 @@
 package com.carlosarroyoam.rest.books.customer;
 
+import static org.hamcrest.Matchers.matchesPattern;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -7,12 +8,15 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.carlosarroyoam.rest.books.common.JsonUtils;
+import com.carlosarroyoam.rest.books.core.constant.AppMessages;
 import com.carlosarroyoam.rest.books.customer.dto.CreateCustomerRequest;
 import com.carlosarroyoam.rest.books.customer.dto.UpdateCustomerRequest;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -44,6 +48,8 @@ class CustomerControllerIT {
 
   @Autowired private MockMvc mockMvc;
 
+  @Autowired private EntityManager entityManager;
+
   @BeforeEach
   void setup() {
     mockMvc =
@@ -112,7 +118,57 @@ class CustomerControllerIT {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(mapper.writeValueAsString(request)))
         .andExpect(status().isCreated())
-        .andExpect(header().string("Location", "http://localhost/customers/3"));
+        .andExpect(header().string("Location", matchesPattern("http://localhost/customers/\\d+")));
+  }
+
+  @Test
+  @DisplayName(
+      "POST /customers - Given existing username, when create, then returns bad request")
+  void givenExistingUsername_whenCreateCustomer_thenReturnsBadRequest() throws Exception {
+    CreateCustomerRequest request =
+        CreateCustomerRequest.builder()
+            .firstName("Carlos Alberto")
+            .lastName("Arroyo Martínez")
+            .password("secret123#")
+            .email("carroyom3@mail.com")
+            .username("carroyom")
+            .build();
+
+    mockMvc
+        .perform(
+            post("/customers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(request)))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @DisplayName(
+      "POST /customers - Given email inserted out of band, when create, then returns bad request")
+  void givenEmailInsertedOutOfBand_whenCreateCustomer_thenReturnsBadRequest() throws Exception {
+    entityManager
+        .createNativeQuery(
+            "INSERT INTO customers(id, first_name, last_name, email, username, status, created_at,"
+                + " updated_at) VALUES (100, 'Carlos Alberto', 'Arroyo Martínez',"
+                + " 'outofband@mail.com', 'outofband', 'ACTIVE', CURRENT_TIMESTAMP,"
+                + " CURRENT_TIMESTAMP)")
+        .executeUpdate();
+    CreateCustomerRequest request =
+        CreateCustomerRequest.builder()
+            .firstName("Carlos Alberto")
+            .lastName("Arroyo Martínez")
+            .password("secret123#")
+            .email("outofband@mail.com")
+            .username("outofband2")
+            .build();
+
+    mockMvc
+        .perform(
+            post("/customers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(request)))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message").value(AppMessages.EMAIL_ALREADY_EXISTS_EXCEPTION));
   }
 
   @Test
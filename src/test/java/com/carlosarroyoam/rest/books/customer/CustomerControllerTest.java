@@ -63,7 +63,12 @@ class CustomerControllerTest {
         PagedResponse.<CustomerResponse>builder()
             .items(List.of(CustomerResponse.builder().id(1L).build()))
             .pagination(
-                PaginationResponse.builder().page(0).size(25).totalItems(1).totalPages(1).build())
+                PaginationResponse.builder()
+                    .page(0)
+                    .size(25)
+                    .totalItems(1L)
+                    .totalPages(1L)
+                    .build())
             .build();
 
     when(customerService.findAll(any(CustomerSpecs.class), any(Pageable.class)))
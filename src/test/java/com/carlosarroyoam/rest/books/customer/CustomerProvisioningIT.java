@@ -0,0 +1,198 @@
+package com.carlosarroyoam.rest.books.customer;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.matchingJsonPath;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.carlosarroyoam.rest.books.core.constant.AppMessages;
+import com.carlosarroyoam.rest.books.customer.dto.CreateCustomerRequest;
+import com.carlosarroyoam.rest.books.customer.dto.CustomerResponse;
+import com.carlosarroyoam.rest.books.customer.entity.CustomerProvisioning;
+import com.carlosarroyoam.rest.books.customer.entity.ProvisioningStatus;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.wiremock.spring.ConfigureWireMock;
+import org.wiremock.spring.EnableWireMock;
+import org.wiremock.spring.InjectWireMock;
+
+@SpringBootTest(
+    properties = {
+      "spring.datasource.url=jdbc:h2:mem:customer-provisioning-it-testdb",
+      "application.provisioning.max-attempts=2",
+      "application.provisioning.initial-backoff=0s"
+    })
+@ActiveProfiles("test")
+@EnableWireMock({@ConfigureWireMock(baseUrlProperties = "keycloak.admin.server-url")})
+class CustomerProvisioningIT {
+  private static final String USERS_URL = "/admin/realms/fake-realm/users";
+
+  @InjectWireMock private WireMockServer wireMockServer;
+
+  @Autowired private CustomerService customerService;
+
+  @Autowired private CustomerProvisioningWorker customerProvisioningWorker;
+
+  @Autowired private CustomerProvisioningRepository customerProvisioningRepository;
+
+  @Test
+  @DisplayName("Given customer was created, when provision pending, then creates keycloak user")
+  void givenCustomerWasCreated_whenProvisionPending_thenCreatesKeycloakUser() {
+    CustomerResponse customer = customerService.create(createRequest("provisioned"));
+
+    CustomerProvisioning pendingProvisioning = findProvisioning(customer.getId());
+    assertThat(pendingProvisioning.getStatus()).isEqualTo(ProvisioningStatus.PENDING);
+    assertThat(pendingProvisioning.getEncryptedPassword()).isNotNull().isNotEqualTo("secret123#");
+
+    customerProvisioningWorker.provisionPending();
+
+    CustomerProvisioning provisioning = findProvisioning(customer.getId());
+    assertThat(provisioning.getStatus()).isEqualTo(ProvisioningStatus.COMPLETED);
+    assertThat(provisioning.getAttempts()).isEqualTo(1);
+    assertThat(provisioning.getEncryptedPassword()).isNull();
+    wireMockServer.verify(
+        1,
+        postRequestedFor(urlEqualTo(USERS_URL))
+            .withRequestBody(matchingJsonPath("$.credentials[0].value", equalTo("secret123#"))));
+    wireMockServer.verify(
+        1, postRequestedFor(urlPathMatching(USERS_URL + "/.*/role-mappings/realm")));
+  }
+
+  @Test
+  @DisplayName("Given keycloak fails, when provision pending, then retries until failed")
+  void givenKeycloakFails_whenProvisionPending_thenRetriesUntilFailed() {
+    wireMockServer.stubFor(
+        post(urlEqualTo(USERS_URL)).atPriority(1).willReturn(aResponse().withStatus(503)));
+    CustomerResponse customer = customerService.create(createRequest("unavailable"));
+
+    customerProvisioningWorker.provisionPending();
+
+    CustomerProvisioning provisioning = findProvisioning(customer.getId());
+    assertThat(provisioning.getStatus()).isEqualTo(ProvisioningStatus.PENDING);
+    assertThat(provisioning.getAttempts()).isEqualTo(1);
+    assertThat(provisioning.getLastError()).isNotNull();
+    assertThat(provisioning.getNextAttemptAt()).isBeforeOrEqualTo(LocalDateTime.now());
+
+    customerProvisioningWorker.provisionPending();
+
+    provisioning = findProvisioning(customer.getId());
+    assertThat(provisioning.getStatus()).isEqualTo(ProvisioningStatus.FAILED);
+    assertThat(provisioning.getAttempts()).isEqualTo(2);
+    assertThat(provisioning.getEncryptedPassword()).isNull();
+  }
+
+  @Test
+  @DisplayName("Given credential ttl elapsed, when provision pending, then expires provisioning")
+  void givenCredentialTtlElapsed_whenProvisionPending_thenExpiresProvisioning() {
+    CustomerResponse customer = customerService.create(createRequest("expired"));
+    CustomerProvisioning stale = findProvisioning(customer.getId());
+    stale.setCreatedAt(LocalDateTime.now().minusDays(2));
+    customerProvisioningRepository.save(stale);
+
+    customerProvisioningWorker.provisionPending();
+
+    CustomerProvisioning provisioning = findProvisioning(customer.getId());
+    assertThat(provisioning.getStatus()).isEqualTo(ProvisioningStatus.FAILED);
+    assertThat(provisioning.getAttempts()).isZero();
+    assertThat(provisioning.getEncryptedPassword()).isNull();
+    assertThat(provisioning.getLastError())
+        .isEqualTo(AppMessages.PROVISIONING_CREDENTIAL_EXPIRED_EXCEPTION);
+    wireMockServer.verify(
+        0,
+        postRequestedFor(urlEqualTo(USERS_URL))
+            .withRequestBody(matchingJsonPath("$.username", equalTo("expired"))));
+  }
+
+  @Test
+  @DisplayName("Given role assignment failed, when provision pending, then reuses created user")
+  void givenRoleAssignmentFailed_whenProvisionPending_thenReusesCreatedUser() {
+    StubMapping roleAssignmentFailure =
+        wireMockServer.stubFor(
+            post(urlPathMatching(USERS_URL + "/.*/role-mappings/realm"))
+                .atPriority(1)
+                .willReturn(aResponse().withStatus(503)));
+    CustomerResponse customer = customerService.create(createRequest("retried"));
+
+    customerProvisioningWorker.provisionPending();
+
+    assertThat(findProvisioning(customer.getId()).getStatus())
+        .isEqualTo(ProvisioningStatus.PENDING);
+
+    wireMockServer.removeStub(roleAssignmentFailure);
+    wireMockServer.stubFor(
+        get(urlPathEqualTo(USERS_URL))
+            .withQueryParam("username", equalTo("retried"))
+            .atPriority(1)
+            .willReturn(
+                okJson(
+                    "[{\"id\": \"418f2517-f9e5-4e4c-8387-69b231969314\","
+                        + " \"username\": \"retried\","
+                        + " \"attributes\": {\"customerId\": [\""
+                        + customer.getId()
+                        + "\"]}}]")));
+
+    customerProvisioningWorker.provisionPending();
+
+    CustomerProvisioning provisioning = findProvisioning(customer.getId());
+    assertThat(provisioning.getStatus()).isEqualTo(ProvisioningStatus.COMPLETED);
+    assertThat(provisioning.getAttempts()).isEqualTo(2);
+    wireMockServer.verify(1, postRequestedFor(urlEqualTo(USERS_URL)));
+    wireMockServer.verify(
+        2, postRequestedFor(urlPathMatching(USERS_URL + "/.*/role-mappings/realm")));
+  }
+
+  @Test
+  @DisplayName("Given keycloak user belongs to another customer, when provision, then fails")
+  void givenKeycloakUserBelongsToAnotherCustomer_whenProvisionPending_thenFails() {
+    wireMockServer.stubFor(
+        get(urlPathEqualTo(USERS_URL))
+            .withQueryParam("username", equalTo("taken"))
+            .atPriority(1)
+            .willReturn(
+                okJson(
+                    "[{\"id\": \"418f2517-f9e5-4e4c-8387-69b231969314\","
+                        + " \"username\": \"taken\","
+                        + " \"attributes\": {\"customerId\": [\"999\"]}}]")));
+    CustomerResponse customer = customerService.create(createRequest("taken"));
+
+    customerProvisioningWorker.provisionPending();
+
+    CustomerProvisioning provisioning = findProvisioning(customer.getId());
+    assertThat(provisioning.getStatus()).isEqualTo(ProvisioningStatus.FAILED);
+    assertThat(provisioning.getAttempts()).isEqualTo(1);
+    assertThat(provisioning.getLastError())
+        .contains(AppMessages.USER_BELONGS_TO_ANOTHER_CUSTOMER_EXCEPTION);
+    wireMockServer.verify(
+        0, postRequestedFor(urlPathMatching(USERS_URL + "/.*/role-mappings/realm")));
+  }
+
+  private CustomerProvisioning findProvisioning(Long customerId) {
+    return customerProvisioningRepository.findAll().stream()
+        .filter(provisioning -> provisioning.getCustomer().getId().equals(customerId))
+        .findFirst()
+        .orElseThrow();
+  }
+
+  private static CreateCustomerRequest createRequest(String username) {
+    return CreateCustomerRequest.builder()
+        .firstName("Carlos Alberto")
+        .lastName("Arroyo Martínez")
+        .password("secret123#")
+        .email(username + "@mail.com")
+        .username(username)
+        .build();
+  }
+}
@@ -5,16 +5,21 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.carlosarroyoam.rest.books.core.constant.AppMessages;
 import com.carlosarroyoam.rest.books.core.dto.PagedResponse;
+import com.carlosarroyoam.rest.books.customer.CustomerRepository.CustomerIdentityView;
 import com.carlosarroyoam.rest.books.customer.dto.CreateCustomerRequest;
 import com.carlosarroyoam.rest.books.customer.dto.CustomerResponse;
 import com.carlosarroyoam.rest.books.customer.dto.CustomerSpecs;
 import com.carlosarroyoam.rest.books.customer.dto.UpdateCustomerRequest;
 import com.carlosarroyoam.rest.books.customer.entity.Customer;
+import com.carlosarroyoam.rest.books.customer.entity.CustomerProvisioning;
+import com.carlosarroyoam.rest.books.customer.entity.ProvisioningStatus;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -22,10 +27,12 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -37,7 +44,11 @@ import org.springframework.web.server.ResponseStatusException;
 class CustomerServiceTest {
   @Mock private CustomerRepository customerRepository;
 
-  @Mock private KeycloakService keycloakService;
+  @Mock private CustomerProvisioningRepository customerProvisioningRepository;
+
+  @Mock private CustomerIdentityFilter customerIdentityFilter;
+
+  @Mock private ProvisioningCredentialCipher provisioningCredentialCipher;
 
   @InjectMocks private CustomerService customerService;
 
@@ -110,6 +121,7 @@ class CustomerServiceTest {
         CreateCustomerRequest.builder()
             .firstName("Cathy Stefania")
             .lastName("Guido Rojas")
+            .password("secret123#")
             .email("cguidor@mail.com")
             .username("cguidor")
             .build();
@@ -117,24 +129,74 @@ class CustomerServiceTest {
     Customer savedCustomer =
         Customer.builder().firstName("Cathy Stefania").lastName("Guido Rojas").build();
 
-    when(customerRepository.existsByUsername(anyString())).thenReturn(false);
-    when(customerRepository.existsByEmail(anyString())).thenReturn(false);
-    when(customerRepository.save(any(Customer.class))).thenReturn(savedCustomer);
+    when(customerIdentityFilter.mightExist(anyString(), anyString())).thenReturn(true);
+    when(customerRepository.findIdentitiesByUsernameOrEmail(anyString(), anyString()))
+        .thenReturn(List.of());
+    when(customerRepository.saveAndFlush(any(Customer.class))).thenReturn(savedCustomer);
+    when(provisioningCredentialCipher.encrypt(any(), anyString())).thenReturn("ciphertext");
 
     CustomerResponse customerResponse = customerService.create(request);
 
     assertThat(customerResponse).isNotNull();
     assertThat(customerResponse.getFirstName()).isEqualTo("Cathy Stefania");
     assertThat(customerResponse.getLastName()).isEqualTo("Guido Rojas");
+
+    ArgumentCaptor<CustomerProvisioning> provisioningCaptor =
+        ArgumentCaptor.forClass(CustomerProvisioning.class);
+    verify(customerProvisioningRepository).save(provisioningCaptor.capture());
+    assertThat(provisioningCaptor.getValue().getCustomer()).isSameAs(savedCustomer);
+    assertThat(provisioningCaptor.getValue().getStatus()).isEqualTo(ProvisioningStatus.PENDING);
+    assertThat(provisioningCaptor.getValue().getEncryptedPassword()).isEqualTo("ciphertext");
+  }
+
+  @Test
+  @DisplayName("Given username and email are definitely new, when create, then skips query")
+  void givenUsernameAndEmailAreDefinitelyNew_whenCreate_thenSkipsQuery() {
+    CreateCustomerRequest request =
+        CreateCustomerRequest.builder().username("cguidor2").email("cguidor2@mail.com").build();
+
+    when(customerIdentityFilter.mightExist(anyString(), anyString())).thenReturn(false);
+    when(customerRepository.saveAndFlush(any(Customer.class))).thenReturn(customer);
+
+    customerService.create(request);
+
+    verify(customerRepository, never()).findIdentitiesByUsernameOrEmail(anyString(), anyString());
+    verify(customerIdentityFilter).add("carroyom", "carroyom@mail.com");
+  }
+
+  @Test
+  @DisplayName("Given identity filter is stale, when create, then throws bad request exception")
+  void givenIdentityFilterIsStale_whenCreate_thenThrowsBadRequestException() {
+    CreateCustomerRequest request =
+        CreateCustomerRequest.builder().username("cguidor2").email("cguidor@mail.com").build();
+
+    when(customerIdentityFilter.mightExist(anyString(), anyString())).thenReturn(false);
+    when(customerRepository.saveAndFlush(any(Customer.class)))
+        .thenThrow(
+            new DataIntegrityViolationException(
+                "could not execute statement",
+                new SQLException(
+                    "Unique index or primary key violation: PUBLIC.UK_CUSTOMERS_EMAIL")));
+
+    assertThatThrownBy(() -> customerService.create(request))
+        .isInstanceOf(ResponseStatusException.class)
+        .hasMessageContaining(HttpStatus.BAD_REQUEST.toString())
+        .hasMessageContaining(AppMessages.EMAIL_ALREADY_EXISTS_EXCEPTION);
+
+    verify(customerIdentityFilter).add("cguidor2", "cguidor@mail.com");
+    verify(customerProvisioningRepository, never()).save(any(CustomerProvisioning.class));
   }
 
   @Test
   @DisplayName(
       "Given customer with existing username, when create, then throws bad request exception")
   void givenCustomerWithExistingUsername_whenCreate_thenThrowsBadRequestException() {
-    CreateCustomerRequest request = CreateCustomerRequest.builder().build();
+    CreateCustomerRequest request =
+        CreateCustomerRequest.builder().username("carroyom").email("carroyom2@mail.com").build();
 
-    when(customerRepository.existsByUsername(any())).thenReturn(true);
+    when(customerIdentityFilter.mightExist(anyString(), anyString())).thenReturn(true);
+    when(customerRepository.findIdentitiesByUsernameOrEmail(anyString(), anyString()))
+        .thenReturn(List.of(identity("carroyom", "carroyom@mail.com")));
 
     assertThatThrownBy(() -> customerService.create(request))
         .isInstanceOf(ResponseStatusException.class)
@@ -145,9 +207,12 @@ class CustomerServiceTest {
   @Test
   @DisplayName("Given customer with existing email, when create, then throws bad request exception")
   void givenCustomerWithExistingEmail_whenCreate_thenThrowsBadRequestException() {
-    CreateCustomerRequest request = CreateCustomerRequest.builder().build();
+    CreateCustomerRequest request =
+        CreateCustomerRequest.builder().username("carroyom2").email("carroyom@mail.com").build();
 
-    when(customerRepository.existsByEmail(any())).thenReturn(true);
+    when(customerIdentityFilter.mightExist(anyString(), anyString())).thenReturn(true);
+    when(customerRepository.findIdentitiesByUsernameOrEmail(anyString(), anyString()))
+        .thenReturn(List.of(identity("carroyom", "carroyom@mail.com")));
 
     assertThatThrownBy(() -> customerService.create(request))
         .isInstanceOf(ResponseStatusException.class)
@@ -206,4 +271,23 @@ class CustomerServiceTest {
         .hasMessageContaining(HttpStatus.NOT_FOUND.toString())
         .hasMessageContaining(AppMessages.CUSTOMER_NOT_FOUND_EXCEPTION);
   }
+
+  private static CustomerIdentityView identity(String username, String email) {
+    return new CustomerIdentityView() {
+      @Override
+      public Long getId() {
+        return 1L;
+      }
+
+      @Override
+      public String getUsername() {
+        return username;
+      }
+
+      @Override
+      public String getEmail() {
+        return email;
+      }
+    };
+  }
 }
@@ -0,0 +1,214 @@
+package com.carlosarroyoam.rest.books.customer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.carlosarroyoam.rest.books.core.constant.AppMessages;
+import com.carlosarroyoam.rest.books.core.property.KeycloakAdminProps;
+import com.carlosarroyoam.rest.books.customer.entity.Customer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.core.Response;
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.keycloak.admin.client.Keycloak;
+import org.keycloak.admin.client.resource.RealmResource;
+import org.keycloak.admin.client.resource.RoleResource;
+import org.keycloak.admin.client.resource.RolesResource;
+import org.keycloak.admin.client.resource.UserResource;
+import org.keycloak.admin.client.resource.UsersResource;
+import org.keycloak.representations.idm.RoleRepresentation;
+import org.keycloak.representations.idm.UserRepresentation;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+@ExtendWith(MockitoExtension.class)
+class KeycloakServiceTest {
+  @Mock private Keycloak keycloak;
+
+  @Mock private RealmResource realmResource;
+
+  @Mock private UsersResource usersResource;
+
+  @Mock private RolesResource rolesResource;
+
+  @Mock private RoleResource roleResource;
+
+  @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+  private UserResource userResource;
+
+  @Mock private Response response;
+
+  private SimpleMeterRegistry meterRegistry;
+
+  private KeycloakService keycloakService;
+
+  private Customer customer;
+
+  private RoleRepresentation role;
+
+  @BeforeEach
+  void setUp() {
+    KeycloakAdminProps keycloakAdminProps = new KeycloakAdminProps();
+    keycloakAdminProps.setRealm("fake-realm");
+
+    when(keycloak.realm("fake-realm")).thenReturn(realmResource);
+    when(realmResource.users()).thenReturn(usersResource);
+
+    meterRegistry = new SimpleMeterRegistry();
+    keycloakService = new KeycloakService(keycloak, keycloakAdminProps, meterRegistry);
+
+    customer =
+        Customer.builder()
+            .id(1L)
+            .firstName("Carlos Alberto")
+            .lastName("Arroyo Martínez")
+            .email("carroyom@mail.com")
+            .username("carroyom")
+            .build();
+
+    role = new RoleRepresentation();
+    role.setName("App/Customer");
+  }
+
+  @Test
+  @DisplayName("Given role was fetched, when create user, then reuses cached role")
+  void givenRoleWasFetched_whenCreateUser_thenReusesCachedRole() {
+    givenKeycloakCreatesUsers();
+    when(roleResource.toRepresentation()).thenReturn(role);
+
+    keycloakService.createUser(customer, "secret123#");
+    keycloakService.createUser(customer, "secret123#");
+
+    verify(roleResource, times(1)).toRepresentation();
+    verify(userResource.roles().realmLevel(), times(2)).add(List.of(role));
+  }
+
+  @Test
+  @DisplayName("Given refresh fails, when create user, then reuses last known role")
+  void givenRefreshFails_whenCreateUser_thenReusesLastKnownRole() {
+    givenKeycloakCreatesUsers();
+    when(roleResource.toRepresentation())
+        .thenReturn(role)
+        .thenThrow(new ProcessingException("Keycloak unavailable"));
+
+    keycloakService.createUser(customer, "secret123#");
+    keycloakService.refreshRealmRoles();
+    keycloakService.createUser(customer, "secret123#");
+
+    verify(userResource.roles().realmLevel(), times(2)).add(List.of(role));
+    assertThat(
+            meterRegistry
+                .get("keycloak.admin.requests")
+                .tag("operation", "get_realm_role")
+                .tag("outcome", "error")
+                .timer()
+                .count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Given user is created, when create user, then records call latency per operation")
+  void givenUserIsCreated_whenCreateUser_thenRecordsCallLatencyPerOperation() {
+    givenKeycloakCreatesUsers();
+    when(roleResource.toRepresentation()).thenReturn(role);
+
+    keycloakService.createUser(customer, "secret123#");
+
+    assertThat(meterRegistry.get("keycloak.admin.requests").timers())
+        .extracting(timer -> timer.getId().getTag("operation"))
+        .containsExactlyInAnyOrder(
+            "search_by_username",
+            "search_by_email",
+            "create_user",
+            "get_realm_role",
+            "assign_realm_role");
+  }
+
+  @Test
+  @DisplayName("Given user was created on earlier attempt, when create user, then assigns role")
+  void givenUserWasCreatedOnEarlierAttempt_whenCreateUser_thenAssignsRole() {
+    UserRepresentation existingUser = keycloakUser("user-id", "1");
+    when(usersResource.searchByUsername(anyString(), anyBoolean()))
+        .thenReturn(List.of(existingUser));
+    when(usersResource.searchByEmail(anyString(), anyBoolean())).thenReturn(List.of(existingUser));
+    when(usersResource.get("user-id")).thenReturn(userResource);
+    when(realmResource.roles()).thenReturn(rolesResource);
+    when(rolesResource.get("App/Customer")).thenReturn(roleResource);
+    when(roleResource.toRepresentation()).thenReturn(role);
+
+    keycloakService.createUser(customer, "secret123#");
+
+    verify(usersResource, never()).create(any());
+    verify(userResource.roles().realmLevel()).add(List.of(role));
+  }
+
+  @Test
+  @DisplayName("Given user belongs to another customer, when create user, then throws conflict")
+  void givenUserBelongsToAnotherCustomer_whenCreateUser_thenThrowsConflict() {
+    when(usersResource.searchByUsername(anyString(), anyBoolean()))
+        .thenReturn(List.of(keycloakUser("user-id", "2")));
+    when(usersResource.searchByEmail(anyString(), anyBoolean()))
+        .thenReturn(Collections.emptyList());
+
+    assertThatThrownBy(() -> keycloakService.createUser(customer, "secret123#"))
+        .isInstanceOf(ResponseStatusException.class)
+        .hasMessageContaining(HttpStatus.CONFLICT.toString())
+        .hasMessageContaining(AppMessages.USER_BELONGS_TO_ANOTHER_CUSTOMER_EXCEPTION);
+
+    verify(usersResource, never()).create(any());
+    verify(usersResource, never()).get(anyString());
+  }
+
+  @Test
+  @DisplayName("Given username and email match different users, when create user, then conflict")
+  void givenUsernameAndEmailMatchDifferentUsers_whenCreateUser_thenThrowsConflict() {
+    when(usersResource.searchByUsername(anyString(), anyBoolean()))
+        .thenReturn(List.of(keycloakUser("user-id", "1")));
+    when(usersResource.searchByEmail(anyString(), anyBoolean()))
+        .thenReturn(List.of(keycloakUser("other-user-id", "1")));
+
+    assertThatThrownBy(() -> keycloakService.createUser(customer, "secret123#"))
+        .isInstanceOf(ResponseStatusException.class)
+        .hasMessageContaining(HttpStatus.CONFLICT.toString());
+
+    verify(usersResource, never()).get(anyString());
+  }
+
+  private static UserRepresentation keycloakUser(String id, String customerId) {
+    UserRepresentation user = new UserRepresentation();
+    user.setId(id);
+    user.setAttributes(Map.of("customerId", List.of(customerId)));
+    return user;
+  }
+
+  private void givenKeycloakCreatesUsers() {
+    when(usersResource.searchByUsername(anyString(), anyBoolean()))
+        .thenReturn(Collections.emptyList());
+    when(usersResource.searchByEmail(anyString(), anyBoolean()))
+        .thenReturn(Collections.emptyList());
+    when(usersResource.create(any())).thenReturn(response);
+    when(response.getStatus()).thenReturn(201);
+    when(response.getLocation())
+        .thenReturn(URI.create("http://localhost:8089/admin/realms/fake-realm/users/user-id"));
+    when(usersResource.get("user-id")).thenReturn(userResource);
+    when(realmResource.roles()).thenReturn(rolesResource);
+    when(rolesResource.get("App/Customer")).thenReturn(roleResource);
+  }
+}
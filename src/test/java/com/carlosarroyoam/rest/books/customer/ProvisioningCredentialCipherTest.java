@@ -0,0 +1,60 @@
+package com.carlosarroyoam.rest.books.customer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.carlosarroyoam.rest.books.core.property.ProvisioningProps;
+import java.util.Base64;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ProvisioningCredentialCipherTest {
+  private ProvisioningCredentialCipher provisioningCredentialCipher;
+
+  @BeforeEach
+  void setUp() {
+    provisioningCredentialCipher = new ProvisioningCredentialCipher(props(new byte[32]));
+  }
+
+  @Test
+  @DisplayName("Given password was encrypted, when decrypt, then returns password")
+  void givenPasswordWasEncrypted_whenDecrypt_thenReturnsPassword() {
+    String encryptedPassword = provisioningCredentialCipher.encrypt(1L, "secret123#");
+
+    assertThat(encryptedPassword).doesNotContain("secret123#");
+    assertThat(provisioningCredentialCipher.decrypt(1L, encryptedPassword))
+        .isEqualTo("secret123#");
+  }
+
+  @Test
+  @DisplayName("Given same password, when encrypt twice, then returns different ciphertexts")
+  void givenSamePassword_whenEncryptTwice_thenReturnsDifferentCiphertexts() {
+    assertThat(provisioningCredentialCipher.encrypt(1L, "secret123#"))
+        .isNotEqualTo(provisioningCredentialCipher.encrypt(1L, "secret123#"));
+  }
+
+  @Test
+  @DisplayName("Given password of another customer, when decrypt, then throws exception")
+  void givenPasswordOfAnotherCustomer_whenDecrypt_thenThrowsException() {
+    String encryptedPassword = provisioningCredentialCipher.encrypt(1L, "secret123#");
+
+    assertThatThrownBy(() -> provisioningCredentialCipher.decrypt(2L, encryptedPassword))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  @DisplayName("Given key is not 256 bits, when create cipher, then throws exception")
+  void givenKeyIsNot256Bits_whenCreateCipher_thenThrowsException() {
+    ProvisioningProps provisioningProps = props(new byte[16]);
+
+    assertThatThrownBy(() -> new ProvisioningCredentialCipher(provisioningProps))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static ProvisioningProps props(byte[] key) {
+    ProvisioningProps provisioningProps = new ProvisioningProps();
+    provisioningProps.setCredentialKey(Base64.getEncoder().encodeToString(key));
+    return provisioningProps;
+  }
+}
@@ -1,23 +1,33 @@
 package com.carlosarroyoam.rest.books.order;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.carlosarroyoam.rest.books.common.CursorPages;
 import com.carlosarroyoam.rest.books.common.JsonUtils;
+import com.carlosarroyoam.rest.books.common.QueryCountExtension;
 import com.carlosarroyoam.rest.books.order.dto.CreateOrderItemRequest;
 import com.carlosarroyoam.rest.books.order.dto.CreateOrderRequest;
 import com.carlosarroyoam.rest.books.order.dto.UpdateOrderRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import java.util.List;
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
 import org.skyscreamer.jsonassert.JSONAssert;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -28,6 +38,8 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
@@ -43,6 +55,10 @@ class OrderControllerIT {
 
   @Autowired private MockMvc mockMvc;
 
+  @Autowired private EntityManager entityManager;
+
+  @RegisterExtension final QueryCountExtension queryCount = new QueryCountExtension();
+
   @BeforeEach
   void setup() {
     mockMvc =
@@ -74,6 +90,47 @@ class OrderControllerIT {
     JSONAssert.assertEquals(expectedJson, responseJson, false);
   }
 
+  @Test
+  @DisplayName("GET /orders/export - Given orders exist, when export, then streams ndjson")
+  void givenOrdersExist_whenExportOrders_thenStreamsNdjson() throws Exception {
+    MvcResult asyncResult =
+        mockMvc
+            .perform(get("/orders/export").param("customerId", "1"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    String ndjson =
+        mockMvc
+            .perform(asyncDispatch(asyncResult))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+    List<JsonNode> orders = ndjson.lines().map(this::readTree).toList();
+    assertThat(orders).hasSize(1);
+    assertThat(orders.get(0).get("order_number").asText()).isEqualTo("ORD-20250001");
+    assertThat(orders.get(0).get("items")).hasSize(1);
+  }
+
+  @Test
+  @DisplayName(
+      "GET /orders - Given orders exist, when find all, then query count is page size independent")
+  void givenOrdersExist_whenFindAllOrders_thenQueryCountIsPageSizeIndependent() throws Exception {
+    int singleOrderPageStatements = queryCount.count(performOk(get("/orders").param("size", "1")));
+    int twoOrdersPageStatements = queryCount.count(performOk(get("/orders").param("size", "2")));
+
+    assertThat(singleOrderPageStatements).isEqualTo(4);
+    assertThat(twoOrdersPageStatements).isEqualTo(singleOrderPageStatements);
+  }
+
+  @Test
+  @DisplayName("GET /orders - Given large page, when find all, then issues at most four queries")
+  void givenLargePage_whenFindAllOrders_thenIssuesAtMostFourQueries() throws Exception {
+    queryCount.assertAtMost(4, performOk(get("/orders").param("size", "50")));
+  }
+
   @Test
   @DisplayName("GET /orders/{id} - Given order exists, when find by id, then returns order")
   void givenOrderExists_whenFindOrderById_thenReturnsOrder() throws Exception {
@@ -91,6 +148,44 @@ class OrderControllerIT {
     JSONAssert.assertEquals(expectedJson, responseJson, false);
   }
 
+  @Test
+  @DisplayName("GET /orders/{id} - Given order exists, when find by id, then loads aggregate")
+  void givenOrderExists_whenFindOrderById_thenLoadsAggregate() throws Exception {
+    assertThat(queryCount.count(performOk(get("/orders/{orderId}", 2L)))).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName(
+      "GET /orders - Given tied creation dates, when follow cursors, then visits every order once")
+  void givenTiedCreationDates_whenFollowCursors_thenVisitsEveryOrderOnce() throws Exception {
+    entityManager
+        .createNativeQuery(
+            "INSERT INTO orders(id, order_number, status, customer_id, subtotal, tax_amount,"
+                + " shipping_amount, total, shipping_address, billing_address, created_at,"
+                + " updated_at) VALUES"
+                + " (100, 'ORD-20250100', 'PENDING', 1, 22.99, 3.68, 0.00, 26.67,"
+                + " '123 Main Street, Springfield', '123 Main Street, Springfield',"
+                + " '2025-01-04 11:15:00', '2025-01-04 11:15:00'),"
+                + " (101, 'ORD-20250101', 'PENDING', 2, 20.79, 3.33, 0.00, 24.12,"
+                + " '456 Oak Avenue, Shelbyville', '456 Oak Avenue, Shelbyville',"
+                + " '2025-01-04 11:15:00', '2025-01-04 11:15:00')")
+        .executeUpdate();
+
+    List<JsonNode> orders =
+        CursorPages.followCursors(
+            mockMvc,
+            mapper,
+            cursor ->
+                get("/orders")
+                    .param("sort", "createdAt")
+                    .param("size", "1")
+                    .param("cursor", cursor));
+
+    assertThat(orders)
+        .extracting(order -> order.get("id").asLong())
+        .containsExactly(1L, 2L, 100L, 101L);
+  }
+
   @Test
   @DisplayName("POST /orders - Given valid order data, when create, then returns created")
   void givenValidOrderData_whenCreateOrder_thenReturnsCreated() throws Exception {
@@ -137,4 +232,16 @@ class OrderControllerIT {
   void givenOrderExists_whenDeleteOrder_thenReturnsNoContent() throws Exception {
     mockMvc.perform(delete("/orders/{orderId}", 1L)).andExpect(status().isNoContent());
   }
+
+  private ThrowingCallable performOk(RequestBuilder request) {
+    return () -> mockMvc.perform(request).andExpect(status().isOk());
+  }
+
+  private JsonNode readTree(String json) {
+    try {
+      return mapper.readTree(json);
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
 }
@@ -15,6 +15,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.carlosarroyoam.rest.books.core.dto.PagedResponse;
 import com.carlosarroyoam.rest.books.core.dto.PaginationResponse;
 import com.carlosarroyoam.rest.books.core.exception.GlobalExceptionHandler;
+import com.carlosarroyoam.rest.books.core.idempotency.IdempotencyStore;
 import com.carlosarroyoam.rest.books.order.dto.CreateOrderItemRequest;
 import com.carlosarroyoam.rest.books.order.dto.CreateOrderRequest;
 import com.carlosarroyoam.rest.books.order.dto.OrderResponse;
@@ -23,6 +24,8 @@ import com.carlosarroyoam.rest.books.order.dto.UpdateOrderRequest;
 import com.carlosarroyoam.rest.books.order.entity.OrderStatus;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.math.BigDecimal;
+import java.net.URI;
+import java.time.Duration;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -30,6 +33,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
@@ -44,6 +48,10 @@ class OrderControllerTest {
 
   @Mock private OrderService orderService;
 
+  @Spy
+  private IdempotencyStore<URI> orderIdempotencyStore =
+      new IdempotencyStore<>("orders", 10, Duration.ofMinutes(1), Duration.ofSeconds(5));
+
   @InjectMocks private OrderController orderController;
 
   @BeforeEach
@@ -65,7 +73,12 @@ class OrderControllerTest {
         PagedResponse.<OrderResponse>builder()
             .items(List.of(OrderResponse.builder().id(1L).status(OrderStatus.PENDING).build()))
             .pagination(
-                PaginationResponse.builder().page(0).size(25).totalItems(1).totalPages(1).build())
+                PaginationResponse.builder()
+                    .page(0)
+                    .size(25)
+                    .totalItems(1L)
+                    .totalPages(1L)
+                    .build())
             .build();
 
     when(orderService.findAll(any(OrderSpecs.class), any(Pageable.class)))
@@ -0,0 +1,63 @@
+package com.carlosarroyoam.rest.books.order;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.carlosarroyoam.rest.books.order.dto.CreateOrderItemRequest;
+import com.carlosarroyoam.rest.books.order.dto.CreateOrderRequest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:order-service-it-testdb")
+@ActiveProfiles("test")
+@Transactional
+class OrderServiceIT {
+  @Autowired private OrderService orderService;
+
+  @Autowired private EntityManager entityManager;
+
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  @Test
+  @DisplayName("Given several items, when create, then batches item inserts")
+  void givenSeveralItems_whenCreate_thenBatchesItemInserts() {
+    countCreateStatements(1L);
+
+    long singleItemStatements = countCreateStatements(1L);
+    long twoItemsStatements = countCreateStatements(1L, 2L);
+
+    assertThat(twoItemsStatements).isEqualTo(singleItemStatements);
+  }
+
+  private long countCreateStatements(Long... bookIds) {
+    List<CreateOrderItemRequest> items =
+        Arrays.stream(bookIds)
+            .map(bookId -> CreateOrderItemRequest.builder().bookId(bookId).quantity(1).build())
+            .toList();
+    CreateOrderRequest request =
+        CreateOrderRequest.builder()
+            .customerId(1L)
+            .shippingAddress("789 New Street, Metropolis")
+            .billingAddress("789 New Street, Metropolis")
+            .items(items)
+            .build();
+
+    entityManager.clear();
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    orderService.create(request);
+    entityManager.flush();
+
+    return statistics.getPrepareStatementCount();
+  }
+}
@@ -4,6 +4,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -11,6 +13,7 @@ import com.carlosarroyoam.rest.books.book.BookRepository;
 import com.carlosarroyoam.rest.books.book.entity.Book;
 import com.carlosarroyoam.rest.books.core.constant.AppMessages;
 import com.carlosarroyoam.rest.books.core.dto.PagedResponse;
+import com.carlosarroyoam.rest.books.core.etag.ETags;
 import com.carlosarroyoam.rest.books.customer.CustomerRepository;
 import com.carlosarroyoam.rest.books.customer.entity.Customer;
 import com.carlosarroyoam.rest.books.order.dto.CreateOrderItemRequest;
@@ -25,6 +28,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -36,6 +40,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
@@ -133,10 +138,43 @@ class OrderServiceTest {
     assertThat(response.getPagination().getTotalPages()).isEqualTo(1);
   }
 
+  @Test
+  @DisplayName(
+      "Given more orders than page size, when find all by cursor, then returns next cursor")
+  void givenMoreOrdersThanPageSize_whenFindAllByCursor_thenReturnsNextCursor() {
+    Pageable pageable = PageRequest.of(0, 1, Sort.by("id"));
+
+    when(orderRepository.<Order, Object>findBy(
+            ArgumentMatchers.<Specification<Order>>any(), any()))
+        .thenReturn(List.of(order, order));
+
+    PagedResponse<OrderResponse> response =
+        orderService.findAllByCursor(OrderSpecs.builder().build(), pageable, null);
+
+    assertThat(response.getItems()).hasSize(1);
+    assertThat(response.getPagination().getSize()).isEqualTo(1);
+    assertThat(response.getPagination().getNextCursor()).isNotBlank();
+    assertThat(response.getPagination().getTotalItems()).isNull();
+    verify(orderRepository, never())
+        .findAll(ArgumentMatchers.<Specification<Order>>any(), any(Pageable.class));
+  }
+
+  @Test
+  @DisplayName("Given malformed cursor, when find all by cursor, then throws bad request exception")
+  void givenMalformedCursor_whenFindAllByCursor_thenThrowsBadRequestException() {
+    Pageable pageable = PageRequest.of(0, 25, Sort.by("id"));
+    OrderSpecs orderSpecs = OrderSpecs.builder().build();
+
+    assertThatThrownBy(() -> orderService.findAllByCursor(orderSpecs, pageable, "not-a-cursor"))
+        .isInstanceOf(ResponseStatusException.class)
+        .hasMessageContaining(HttpStatus.BAD_REQUEST.toString())
+        .hasMessageContaining(AppMessages.INVALID_CURSOR_EXCEPTION);
+  }
+
   @Test
   @DisplayName("Given order exists, when find by id, then returns order")
   void givenOrderExists_whenFindById_thenReturnsOrder() {
-    when(orderRepository.findById(anyLong())).thenReturn(Optional.of(order));
+    when(orderRepository.findWithDetailsById(anyLong())).thenReturn(Optional.of(order));
 
     OrderResponse orderResponse = orderService.findById(1L);
 
@@ -148,7 +186,7 @@ class OrderServiceTest {
   @Test
   @DisplayName("Given order does not exist, when find by id, then throws not found exception")
   void givenOrderDoesNotExist_whenFindById_thenThrowsNotFoundException() {
-    when(orderRepository.findById(anyLong())).thenReturn(Optional.empty());
+    when(orderRepository.findWithDetailsById(anyLong())).thenReturn(Optional.empty());
 
     assertThatThrownBy(() -> orderService.findById(1L))
         .isInstanceOf(ResponseStatusException.class)
@@ -156,6 +194,29 @@ class OrderServiceTest {
         .hasMessageContaining(AppMessages.ORDER_NOT_FOUND_EXCEPTION);
   }
 
+  @Test
+  @DisplayName("Given order exists, when find etag by id, then returns etag from last modification")
+  void givenOrderExists_whenFindETagById_thenReturnsETagFromLastModification() {
+    LocalDateTime lastModifiedAt = LocalDateTime.parse("2025-01-01T00:00:00.000001");
+    when(orderRepository.findLastModifiedAtById(1L)).thenReturn(Optional.of(lastModifiedAt));
+
+    String eTag = orderService.findETagById(1L);
+
+    assertThat(eTag).isEqualTo(ETags.of(1L, lastModifiedAt));
+    verify(orderRepository, never()).findWithDetailsById(anyLong());
+  }
+
+  @Test
+  @DisplayName("Given order does not exist, when find etag by id, then throws not found exception")
+  void givenOrderDoesNotExist_whenFindETagById_thenThrowsNotFoundException() {
+    when(orderRepository.findLastModifiedAtById(1L)).thenReturn(Optional.empty());
+
+    assertThatThrownBy(() -> orderService.findETagById(1L))
+        .isInstanceOf(ResponseStatusException.class)
+        .hasMessageContaining(HttpStatus.NOT_FOUND.toString())
+        .hasMessageContaining(AppMessages.ORDER_NOT_FOUND_EXCEPTION);
+  }
+
   @Test
   @DisplayName("Given valid order data, when create, then returns created order")
   void givenValidOrderData_whenCreate_thenReturnsCreatedOrder() {
@@ -169,7 +230,7 @@ class OrderServiceTest {
             .build();
 
     when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
-    when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+    when(bookRepository.findAllWithAuthorsByIdIn(Set.of(1L))).thenReturn(List.of(book));
     when(orderRepository.save(any(Order.class)))
         .thenAnswer(
             invocation -> {
@@ -223,7 +284,7 @@ class OrderServiceTest {
             .build();
 
     when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
-    when(bookRepository.findById(99L)).thenReturn(Optional.empty());
+    when(bookRepository.findAllWithAuthorsByIdIn(Set.of(99L))).thenReturn(List.of());
 
     assertThatThrownBy(() -> orderService.create(request))
         .isInstanceOf(ResponseStatusException.class)
@@ -231,6 +292,60 @@ class OrderServiceTest {
         .hasMessageContaining(AppMessages.BOOK_NOT_FOUND_EXCEPTION);
   }
 
+  @Test
+  @DisplayName("Given several books do not exist, when create, then reports every missing book")
+  void givenSeveralBooksDoNotExist_whenCreate_thenReportsEveryMissingBook() {
+    CreateOrderRequest request =
+        CreateOrderRequest.builder()
+            .customerId(1L)
+            .shippingAddress("123 Main Street, Springfield")
+            .billingAddress("123 Main Street, Springfield")
+            .items(
+                List.of(
+                    CreateOrderItemRequest.builder().bookId(1L).quantity(1).build(),
+                    CreateOrderItemRequest.builder().bookId(98L).quantity(1).build(),
+                    CreateOrderItemRequest.builder().bookId(99L).quantity(1).build()))
+            .build();
+
+    when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+    when(bookRepository.findAllWithAuthorsByIdIn(Set.of(1L, 98L, 99L))).thenReturn(List.of(book));
+
+    assertThatThrownBy(() -> orderService.create(request))
+        .isInstanceOf(ResponseStatusException.class)
+        .hasMessageContaining(HttpStatus.NOT_FOUND.toString())
+        .hasMessageContaining("[98, 99]");
+
+    verify(bookRepository, never()).findById(anyLong());
+  }
+
+  @Test
+  @DisplayName("Given repeated book ids, when create, then folds them into a single order item")
+  void givenRepeatedBookIds_whenCreate_thenFoldsThemIntoSingleOrderItem() {
+    CreateOrderRequest request =
+        CreateOrderRequest.builder()
+            .customerId(1L)
+            .shippingAddress("123 Main Street, Springfield")
+            .billingAddress("123 Main Street, Springfield")
+            .items(
+                List.of(
+                    CreateOrderItemRequest.builder().bookId(1L).quantity(1).build(),
+                    CreateOrderItemRequest.builder().bookId(1L).quantity(1).build()))
+            .build();
+
+    when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+    when(bookRepository.findAllWithAuthorsByIdIn(Set.of(1L))).thenReturn(List.of(book));
+    when(orderRepository.save(any(Order.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+
+    OrderResponse orderResponse = orderService.create(request);
+
+    assertThat(orderResponse.getItems()).hasSize(1);
+    assertThat(orderResponse.getItems().get(0).getQuantity()).isEqualTo(2);
+    assertThat(orderResponse.getItems().get(0).getTotalPrice()).isEqualByComparingTo("45.98");
+    assertThat(orderResponse.getTotal()).isEqualByComparingTo("53.34");
+    verify(bookRepository, times(1)).findAllWithAuthorsByIdIn(Set.of(1L));
+  }
+
   @Test
   @DisplayName("Given order exists, when update with valid data, then updates order")
   void givenOrderExists_whenUpdateWithValidData_thenUpdatesOrder() {
@@ -1,10 +1,13 @@
 package com.carlosarroyoam.rest.books.payment;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.carlosarroyoam.rest.books.common.JsonUtils;
@@ -12,7 +15,10 @@ import com.carlosarroyoam.rest.books.payment.dto.CreatePaymentRequest;
 import com.carlosarroyoam.rest.books.payment.dto.UpdatePaymentStatusRequest;
 import com.carlosarroyoam.rest.books.payment.entity.PaymentMethod;
 import com.carlosarroyoam.rest.books.payment.entity.PaymentStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -26,6 +32,7 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
@@ -72,6 +79,29 @@ class PaymentControllerIT {
     JSONAssert.assertEquals(expectedJson, responseJson, false);
   }
 
+  @Test
+  @DisplayName("GET /payments/export - Given payments exist, when export, then streams ndjson")
+  void givenPaymentsExist_whenExportPayments_thenStreamsNdjson() throws Exception {
+    MvcResult asyncResult =
+        mockMvc
+            .perform(get("/payments/export").param("method", "PAYPAL"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    String ndjson =
+        mockMvc
+            .perform(asyncDispatch(asyncResult))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+    List<JsonNode> payments = ndjson.lines().map(this::readTree).toList();
+    assertThat(payments).hasSize(1);
+    assertThat(payments.get(0).get("transaction_id").asText()).isEqualTo("PAY-SEED-000002");
+  }
+
   @Test
   @DisplayName("GET /payments/{id} - Given payment exists, when find by id, then returns payment")
   void givenPaymentExists_whenFindPaymentById_thenReturnsPayment() throws Exception {
@@ -118,4 +148,12 @@ class PaymentControllerIT {
                 .content(mapper.writeValueAsString(request)))
         .andExpect(status().isNoContent());
   }
+
+  private JsonNode readTree(String json) {
+    try {
+      return mapper.readTree(json);
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
 }
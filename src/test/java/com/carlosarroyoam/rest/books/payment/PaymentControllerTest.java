@@ -14,6 +14,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.carlosarroyoam.rest.books.core.dto.PagedResponse;
 import com.carlosarroyoam.rest.books.core.dto.PaginationResponse;
 import com.carlosarroyoam.rest.books.core.exception.GlobalExceptionHandler;
+import com.carlosarroyoam.rest.books.core.idempotency.IdempotencyStore;
 import com.carlosarroyoam.rest.books.payment.dto.CreatePaymentRequest;
 import com.carlosarroyoam.rest.books.payment.dto.PaymentResponse;
 import com.carlosarroyoam.rest.books.payment.dto.PaymentSpecs;
@@ -22,6 +23,8 @@ import com.carlosarroyoam.rest.books.payment.entity.PaymentMethod;
 import com.carlosarroyoam.rest.books.payment.entity.PaymentStatus;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.math.BigDecimal;
+import java.net.URI;
+import java.time.Duration;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -29,6 +32,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
@@ -43,6 +47,10 @@ class PaymentControllerTest {
 
   @Mock private PaymentService paymentService;
 
+  @Spy
+  private IdempotencyStore<URI> paymentIdempotencyStore =
+      new IdempotencyStore<>("payments", 10, Duration.ofMinutes(1), Duration.ofSeconds(5));
+
   @InjectMocks private PaymentController paymentController;
 
   @BeforeEach
@@ -65,7 +73,12 @@ class PaymentControllerTest {
             .items(
                 List.of(PaymentResponse.builder().id(1L).status(PaymentStatus.COMPLETED).build()))
             .pagination(
-                PaginationResponse.builder().page(0).size(25).totalItems(1).totalPages(1).build())
+                PaginationResponse.builder()
+                    .page(0)
+                    .size(25)
+                    .totalItems(1L)
+                    .totalPages(1L)
+                    .build())
             .build();
 
     when(paymentService.findAll(any(PaymentSpecs.class), any(Pageable.class)))
@@ -1,15 +1,21 @@
 package com.carlosarroyoam.rest.books.shipment;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.carlosarroyoam.rest.books.common.JsonUtils;
 import com.carlosarroyoam.rest.books.shipment.dto.UpdateShipmentStatusRequest;
 import com.carlosarroyoam.rest.books.shipment.entity.ShipmentStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -23,6 +29,7 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
@@ -70,6 +77,30 @@ class ShipmentControllerIT {
     JSONAssert.assertEquals(expectedJson, responseJson, false);
   }
 
+  @Test
+  @DisplayName("GET /shipments/export - Given shipments exist, when export, then streams ndjson")
+  void givenShipmentsExist_whenExportShipments_thenStreamsNdjson() throws Exception {
+    MvcResult asyncResult =
+        mockMvc
+            .perform(get("/shipments/export"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    String ndjson =
+        mockMvc
+            .perform(asyncDispatch(asyncResult))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+    List<JsonNode> shipments = ndjson.lines().map(this::readTree).toList();
+    assertThat(shipments)
+        .extracting(shipment -> shipment.get("id").asLong())
+        .containsExactly(1L, 2L);
+  }
+
   @Test
   @DisplayName(
       "GET /shipments/{id} - Given shipment exists, when find by id, then returns shipment")
@@ -102,4 +133,12 @@ class ShipmentControllerIT {
                 .content(mapper.writeValueAsString(request)))
         .andExpect(status().isNoContent());
   }
+
+  private JsonNode readTree(String json) {
+    try {
+      return mapper.readTree(json);
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
 }
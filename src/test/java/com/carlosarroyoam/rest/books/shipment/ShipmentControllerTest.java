@@ -61,7 +61,12 @@ class ShipmentControllerTest {
             .items(
                 List.of(ShipmentResponse.builder().id(1L).status(ShipmentStatus.PENDING).build()))
             .pagination(
-                PaginationResponse.builder().page(0).size(25).totalItems(1).totalPages(1).build())
+                PaginationResponse.builder()
+                    .page(0)
+                    .size(25)
+                    .totalItems(1L)
+                    .totalPages(1L)
+                    .build())
             .build();
 
     when(shipmentService.findAll(any(ShipmentSpecs.class), any(Pageable.class)))